@@ -0,0 +1,15 @@
+package com.example.registrarusuario.loadtest;
+
+import java.util.Map;
+
+// Promedios de las rondas por variante (milisegundos); requests agrupa las primeras solicitudes de todas
+record ColdStartReport(
+        String startedAt,
+        String javaVersion,
+        int requestsPerRound,
+        int rounds,
+        Map<String, Variant> variants
+) {
+
+    record Variant(double readyMs, double firstRequestMs, LoadTestReport.ScenarioResult requests) {}
+}
@@ -0,0 +1,167 @@
+package com.example.registrarusuario.loadtest;
+
+import com.example.registrarusuario.RegistrarusuarioApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Latencia de las primeras solicitudes tras un despliegue, con y sin app.warmup. Cada ronda arranca
+// la aplicación en una JVM nueva (el JIT y las clases cargadas no se comparten entre variantes),
+// espera a que /actuator/health/readiness responda 200 y mide las primeras --requests solicitudes
+public final class ColdStartRunner {
+
+    private static final String REGISTER_PATH = "/api/users/register";
+    private static final String READINESS_PATH = "/actuator/health/readiness";
+    private static final long READY_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(120);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (arg.startsWith("--") && separator > 0) {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        int requests = Integer.parseInt(options.getOrDefault("requests", "200"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "3"));
+        Path reportPath = Path.of(options.getOrDefault("report", "build/reports/load-test/cold-start.json"));
+        new ColdStartRunner().run(requests, rounds, reportPath);
+    }
+
+    private void run(int requests, int rounds, Path reportPath) throws Exception {
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Instant startedAt = Instant.now();
+        Map<String, ColdStartReport.Variant> variants = new LinkedHashMap<>();
+        for (boolean warmup : new boolean[]{false, true}) {
+            String name = warmup ? "warmup" : "sin-warmup";
+            LatencyRecorder recorder = new LatencyRecorder();
+            long readyNanos = 0;
+            long firstRequestNanos = 0;
+            long measuredNanos = 0;
+            for (int round = 0; round < rounds; round++) {
+                Path log = reportPath.resolveSibling("cold-start-" + name + "-" + round + ".log");
+                Round result = round(warmup, requests, log);
+                recorder.merge(result.recorder());
+                readyNanos += result.readyNanos();
+                firstRequestNanos += result.firstRequestNanos();
+                measuredNanos += result.measuredNanos();
+            }
+            ColdStartReport.Variant variant = new ColdStartReport.Variant(
+                    readyNanos / 1_000_000.0 / rounds,
+                    firstRequestNanos / 1_000_000.0 / rounds,
+                    recorder.summarize(measuredNanos / 1e9));
+            variants.put(name, variant);
+            System.out.printf("%-10s listo en %.0f ms, primera solicitud %.2f ms, p50 %.2f ms, p99 %.2f ms, máx %.2f ms%n",
+                    name, variant.readyMs(), variant.firstRequestMs(), variant.requests().latencyMs().p50(),
+                    variant.requests().latencyMs().p99(), variant.requests().latencyMs().max());
+        }
+
+        ColdStartReport report = new ColdStartReport(startedAt.toString(), System.getProperty("java.version"),
+                requests, rounds, variants);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportPath.toFile(), report);
+        System.out.printf("Reporte: %s%n", reportPath.toAbsolutePath());
+    }
+
+    private Round round(boolean warmup, int requests, Path log) throws Exception {
+        int port = freePort();
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                RegistrarusuarioApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.jpa.show-sql=false",
+                // Todo el tráfico sale de 127.0.0.1
+                "--app.rate-limit.enabled=false",
+                "--app.warmup.enabled=" + warmup);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            String target = "http://localhost:" + port;
+            long readyNanos = awaitReady(URI.create(target + READINESS_PATH), process, start) - start;
+
+            URI registerUri = URI.create(target + REGISTER_PATH);
+            Random random = new Random(42);
+            AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1_000);
+            LatencyRecorder recorder = new LatencyRecorder();
+            long firstRequestNanos = 0;
+            long measureStart = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                long requestStart = System.nanoTime();
+                int status = send(registerUri, Scenario.NEW_USER.body(random, sequence));
+                long latency = System.nanoTime() - requestStart;
+                recorder.record(latency, status, Scenario.NEW_USER.expectedStatus());
+                if (i == 0) {
+                    firstRequestNanos = latency;
+                }
+            }
+            return new Round(readyNanos, firstRequestNanos, System.nanoTime() - measureStart, recorder);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private long awaitReady(URI readinessUri, Process process, long start) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(readinessUri).timeout(Duration.ofSeconds(5)).GET().build();
+        while (System.nanoTime() - start < READY_TIMEOUT_NANOS) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("La aplicación terminó antes de estar lista (ver el log de la ronda)");
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return System.nanoTime();
+                }
+            } catch (IOException notListeningYet) {
+                // El servidor todavía no abrió el puerto
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("La aplicación no estuvo lista en " + READY_TIMEOUT_NANOS / 1_000_000_000 + " s");
+    }
+
+    private int send(URI registerUri, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(registerUri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Round(long readyNanos, long firstRequestNanos, long measuredNanos, LatencyRecorder recorder) {}
+}
@@ -0,0 +1,67 @@
+package com.example.registrarusuario.loadtest;
+
+import java.util.Arrays;
+
+// Un recorder por usuario virtual (cada uno en su propio hilo del pool): sin sincronización durante la
+// medición, se combinan al final
+final class LatencyRecorder {
+
+    private long[] latenciesNanos = new long[4096];
+    private int count;
+    private long errors;
+    private long shed;
+
+    void record(long latencyNanos, int status, int expectedStatus) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (status == 429 || status == 503) {
+            shed++;
+        } else if (status != expectedStatus) {
+            errors++;
+        }
+    }
+
+    void recordFailure(long latencyNanos) {
+        record(latencyNanos, -1, 0);
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count + other.count);
+        }
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        shed += other.shed;
+    }
+
+    LoadTestReport.ScenarioResult summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        double mean = count == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / 1_000_000.0;
+        return new LoadTestReport.ScenarioResult(
+                count,
+                seconds > 0 ? count / seconds : 0,
+                errors,
+                count == 0 ? 0 : (double) errors / count,
+                shed,
+                new LoadTestReport.Latency(
+                        mean,
+                        percentile(sorted, 50),
+                        percentile(sorted, 90),
+                        percentile(sorted, 95),
+                        percentile(sorted, 99),
+                        percentile(sorted, 99.9),
+                        count == 0 ? 0 : sorted[count - 1] / 1_000_000.0));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.registrarusuario.loadtest;
+
+import java.util.Map;
+
+// Reporte legible por máquina para comparar entre builds (latencias en milisegundos)
+record LoadTestReport(
+        String startedAt,
+        String javaVersion,
+        Config config,
+        ScenarioResult total,
+        Map<String, ScenarioResult> scenarios
+) {
+
+    record Config(String target, int users, int durationSeconds, int warmupSeconds, long seed,
+                  boolean transport, String prefer) {}
+
+    record ScenarioResult(
+            long requests,
+            double throughputPerSecond,
+            long errors,
+            double errorRate,
+            long shed,
+            Latency latencyMs
+    ) {}
+
+    record Latency(double mean, double p50, double p90, double p95, double p99, double p999, double max) {}
+}
@@ -0,0 +1,215 @@
+package com.example.registrarusuario.loadtest;
+
+import com.example.registrarusuario.RegistrarusuarioApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Driver de carga en modelo cerrado: N usuarios virtuales enviando solicitudes sin pausa,
+// con una fase de calentamiento que no se mide. Si no se indica --target arranca la
+// aplicación en un puerto aleatorio contra H2 en memoria
+public final class LoadTestRunner {
+
+    private static final String REGISTER_PATH = "/api/users/register";
+
+    private final Map<String, String> options;
+    // --transport=true: perfil "transport" en la aplicación, HTTP/2 (h2c) y Accept-Encoding: gzip
+    private final boolean transport;
+    // --prefer=minimal: envía Prefer: return=minimal
+    private final String prefer;
+    private final HttpClient httpClient;
+
+    private LoadTestRunner(Map<String, String> options) {
+        this.options = options;
+        this.transport = Boolean.parseBoolean(options.getOrDefault("transport", "false"));
+        this.prefer = options.get("prefer");
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(transport ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestRunner(parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        int users = intOption("users", 16);
+        int durationSeconds = intOption("duration", 30);
+        int warmupSeconds = intOption("warmup", 5);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Path reportPath = Path.of(options.getOrDefault("report", "build/reports/load-test/report.json"));
+
+        ConfigurableApplicationContext context = null;
+        String target = options.get("target");
+        if (target == null) {
+            // El rate limiting por IP se desactiva: todo el tráfico sale de 127.0.0.1
+            List<String> arguments = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--spring.jpa.show-sql=false",
+                    "--app.rate-limit.enabled=false"));
+            if (transport) {
+                arguments.add("--spring.profiles.active=transport");
+            }
+            context = SpringApplication.run(RegistrarusuarioApplication.class, arguments.toArray(String[]::new));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            target = "http://localhost:" + port;
+        }
+        URI registerUri = URI.create(target + REGISTER_PATH);
+
+        try {
+            send(registerUri, Scenario.user(Scenario.DUPLICATE_EMAIL_ADDRESS, "Hunter22",
+                    "[{\"number\":\"1234567\",\"citycode\":\"1\",\"contrycode\":\"57\"}]"));
+
+            Instant startedAt = Instant.now();
+            Map<Scenario, LatencyRecorder> results = execute(registerUri, users, warmupSeconds, durationSeconds, seed);
+
+            LoadTestReport report = buildReport(startedAt, target, users, durationSeconds, warmupSeconds, seed, results);
+            writeReport(report, reportPath);
+            System.out.printf("Total: %d solicitudes, %.1f req/s, p99 %.2f ms, errores %.2f%% -> %s%n",
+                    report.total().requests(),
+                    report.total().throughputPerSecond(),
+                    report.total().latencyMs().p99(),
+                    report.total().errorRate() * 100,
+                    reportPath.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private Map<Scenario, LatencyRecorder> execute(URI registerUri, int users, int warmupSeconds,
+                                                   int durationSeconds, long seed) throws Exception {
+        AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1_000);
+        long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureEnd = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        List<Future<Map<Scenario, LatencyRecorder>>> futures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Random random = new Random(seed + i);
+            futures.add(executor.submit(() -> virtualUser(registerUri, random, sequence, measureStart, measureEnd)));
+        }
+
+        Map<Scenario, LatencyRecorder> merged = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            merged.put(scenario, new LatencyRecorder());
+        }
+        for (Future<Map<Scenario, LatencyRecorder>> future : futures) {
+            future.get().forEach((scenario, recorder) -> merged.get(scenario).merge(recorder));
+        }
+        executor.shutdown();
+        return merged;
+    }
+
+    private Map<Scenario, LatencyRecorder> virtualUser(URI registerUri, Random random, AtomicLong sequence,
+                                                       long measureStart, long measureEnd) {
+        Map<Scenario, LatencyRecorder> recorders = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            recorders.put(scenario, new LatencyRecorder());
+        }
+
+        while (true) {
+            Scenario scenario = Scenario.pick(random);
+            String body = scenario.body(random, sequence);
+            long start = System.nanoTime();
+            if (start >= measureEnd) {
+                return recorders;
+            }
+            try {
+                int status = send(registerUri, body);
+                if (start >= measureStart) {
+                    recorders.get(scenario).record(System.nanoTime() - start, status, scenario.expectedStatus());
+                }
+            } catch (IOException e) {
+                if (start >= measureStart) {
+                    recorders.get(scenario).recordFailure(System.nanoTime() - start);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return recorders;
+            }
+        }
+    }
+
+    private int send(URI registerUri, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(registerUri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (transport) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        if (prefer != null) {
+            request.header("Prefer", "return=" + prefer);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private LoadTestReport buildReport(Instant startedAt, String target, int users, int durationSeconds,
+                                       int warmupSeconds, long seed, Map<Scenario, LatencyRecorder> results) {
+        LatencyRecorder total = new LatencyRecorder();
+        Map<String, LoadTestReport.ScenarioResult> scenarios = new LinkedHashMap<>();
+        results.forEach((scenario, recorder) -> {
+            scenarios.put(scenario.name(), recorder.summarize(durationSeconds));
+            total.merge(recorder);
+        });
+
+        return new LoadTestReport(
+                startedAt.toString(),
+                System.getProperty("java.version"),
+                new LoadTestReport.Config(target, users, durationSeconds, warmupSeconds, seed, transport, prefer),
+                total.summarize(durationSeconds),
+                scenarios);
+    }
+
+    private void writeReport(LoadTestReport report, Path reportPath) throws IOException {
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportPath.toFile(), report);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, Integer.toString(defaultValue)));
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.registrarusuario.loadtest;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+public enum Scenario {
+
+    NEW_USER(70, 201) {
+        @Override
+        String body(Random random, AtomicLong sequence) {
+            return user("usuario-" + sequence.incrementAndGet() + "@carga.org", "Hunter22", phones(random, 1));
+        }
+    },
+    DUPLICATE_EMAIL(10, 409) {
+        @Override
+        String body(Random random, AtomicLong sequence) {
+            return user(DUPLICATE_EMAIL_ADDRESS, "Hunter22", phones(random, 1));
+        }
+    },
+    INVALID_FORMAT(10, 400) {
+        @Override
+        String body(Random random, AtomicLong sequence) {
+            // Alterna correo mal formado y contraseña sin mayúsculas/dígitos
+            return random.nextBoolean()
+                    ? user("correo-invalido-" + sequence.incrementAndGet(), "Hunter22", phones(random, 1))
+                    : user("invalido-" + sequence.incrementAndGet() + "@carga.org", "hunter", phones(random, 1));
+        }
+    },
+    BULK_PHONES(10, 201) {
+        @Override
+        String body(Random random, AtomicLong sequence) {
+            return user("masivo-" + sequence.incrementAndGet() + "@carga.org", "Hunter22", phones(random, 25));
+        }
+    };
+
+    static final String DUPLICATE_EMAIL_ADDRESS = "duplicado@carga.org";
+
+    private static final int TOTAL_WEIGHT = 100;
+
+    private final int weight;
+    private final int expectedStatus;
+
+    Scenario(int weight, int expectedStatus) {
+        this.weight = weight;
+        this.expectedStatus = expectedStatus;
+    }
+
+    abstract String body(Random random, AtomicLong sequence);
+
+    int expectedStatus() {
+        return expectedStatus;
+    }
+
+    static Scenario pick(Random random) {
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        for (Scenario scenario : values()) {
+            roll -= scenario.weight;
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return NEW_USER;
+    }
+
+    static String user(String email, String password, String phones) {
+        return "{\"name\":\"Usuario Carga\",\"email\":\"" + email + "\",\"password\":\"" + password
+                + "\",\"phones\":" + phones + "}";
+    }
+
+    private static String phones(Random random, int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"number\":\"").append(1_000_000 + random.nextInt(9_000_000))
+                    .append("\",\"citycode\":\"").append(1 + random.nextInt(9))
+                    .append("\",\"contrycode\":\"57\"}");
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,31 @@
+-- =====================================================
+-- Migración: unicidad de email sin distinguir mayúsculas
+-- Agrega users.email_normalized (LOWER(TRIM(email))), mueve la restricción única a esa columna
+-- y elimina la de users.email. El formato de email aceptado es ASCII, así que LOWER coincide
+-- con EmailNormalizer (toLowerCase(Locale.ROOT)).
+-- =====================================================
+
+-- 1. Columna nueva, nullable mientras se rellena
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_normalized VARCHAR(255);
+
+-- 2. Relleno de filas existentes (en tablas grandes, repetir por lotes de ids)
+UPDATE users SET email_normalized = LOWER(TRIM(email)) WHERE email_normalized IS NULL;
+
+-- 3. Duplicados que la normalización hace visibles: deben resolverse (fusionar o desactivar)
+--    antes del paso 5. La consulta debe volver vacía.
+SELECT email_normalized, COUNT(*) AS registros
+FROM users
+GROUP BY email_normalized
+HAVING COUNT(*) > 1;
+
+-- 4. Obligatoria desde ahora
+ALTER TABLE users ALTER COLUMN email_normalized SET NOT NULL;
+
+-- 5. Restricción única (y su índice) sobre la forma canónica
+ALTER TABLE users ADD CONSTRAINT uk_users_email_normalized UNIQUE (email_normalized);
+
+-- 6. La restricción única sobre users.email ya no aplica. En H2 su nombre es generado:
+--    SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS
+--    WHERE TABLE_NAME = 'USERS' AND CONSTRAINT_TYPE = 'UNIQUE';
+--    ALTER TABLE users DROP CONSTRAINT <nombre>;
+DROP INDEX IF EXISTS idx_users_email;
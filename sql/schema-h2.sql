@@ -4,8 +4,9 @@
 -- Arquitectura: Hexagonal + DDD
 -- =====================================================
 
--- H2 crea la base de datos automáticamente cuando se conecta
--- Este script solo crea las tablas
+-- Referencia del esquema completo. La aplicación NO ejecuta este script: el esquema lo crean
+-- las migraciones versionadas de Flyway en src/main/resources/db/migration (V1..V3), y
+-- Hibernate solo lo valida (ddl-auto=validate).
 
 -- =====================================================
 -- Tabla: USERS
@@ -14,13 +15,15 @@
 CREATE TABLE IF NOT EXISTS users (
     id VARCHAR(36) PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(254) NOT NULL,
+    email_normalized VARCHAR(254) NOT NULL,
     password VARCHAR(255) NOT NULL,
     created TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     modified TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     last_login TIMESTAMP NOT NULL,
     token VARCHAR(500) NOT NULL,
-    isactive BOOLEAN NOT NULL DEFAULT TRUE
+    isactive BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_users_email_normalized UNIQUE (email_normalized)
 );
 
 -- =====================================================
@@ -30,28 +33,56 @@ CREATE TABLE IF NOT EXISTS users (
 -- =====================================================
 CREATE TABLE IF NOT EXISTS phones (
     id VARCHAR(36) PRIMARY KEY,
-    number VARCHAR(255) NOT NULL,
-    citycode VARCHAR(255) NOT NULL,
-    contrycode VARCHAR(255) NOT NULL,
+    number VARCHAR(20) NOT NULL,
+    citycode VARCHAR(10) NOT NULL,
+    contrycode VARCHAR(10) NOT NULL,
+    phone_key VARCHAR(41) NOT NULL,
     user_id VARCHAR(36) NOT NULL,
     CONSTRAINT fk_phone_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
 -- =====================================================
--- Índices para mejorar el rendimiento
+-- Tabla: OUTBOX
+-- Descripción: Eventos pendientes de publicar, escritos en la misma transacción que el usuario
 -- =====================================================
-CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
-CREATE INDEX IF NOT EXISTS idx_phones_user_id ON phones(user_id);
+CREATE TABLE IF NOT EXISTS outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- =====================================================
+-- Tabla: REPLICATION_HEARTBEAT
+-- Descripción: Marca de tiempo para medir el retraso de las réplicas de lectura
+-- =====================================================
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat TIMESTAMP NOT NULL
+);
+
+-- =====================================================
+-- Índices
+-- users.email_normalized ya tiene el índice de su restricción UNIQUE (no se duplica).
+-- El índice de phones cubre la carga de teléfonos por usuario y sirve a la FK.
+-- idx_phones_phone_key resuelve la búsqueda por teléfono sin leer la tabla.
+-- =====================================================
+CREATE INDEX IF NOT EXISTS idx_phones_user_covering ON phones(user_id, number, citycode, contrycode);
+CREATE INDEX IF NOT EXISTS idx_phones_phone_key ON phones(phone_key, user_id);
 
 -- =====================================================
 -- Comentarios en las tablas (H2 soporta comentarios)
 -- =====================================================
 COMMENT ON TABLE users IS 'Tabla principal de usuarios del sistema';
 COMMENT ON TABLE phones IS 'Tabla de teléfonos asociados a usuarios';
+COMMENT ON TABLE outbox IS 'Eventos de usuario pendientes de publicar por el relay';
 
 COMMENT ON COLUMN users.id IS 'Identificador único UUID del usuario';
-COMMENT ON COLUMN users.email IS 'Email único del usuario (usado para login)';
+COMMENT ON COLUMN users.email IS 'Email tal como lo ingresó el usuario';
+COMMENT ON COLUMN users.email_normalized IS 'Email en minúsculas y sin espacios: único, usado para login y búsquedas';
 COMMENT ON COLUMN users.token IS 'Token JWT para autenticación';
 COMMENT ON COLUMN users.isactive IS 'Indica si el usuario está activo en el sistema';
+COMMENT ON COLUMN phones.phone_key IS 'Clave canónica tipo E.164 (+país ciudad número, solo dígitos)';
 COMMENT ON COLUMN phones.user_id IS 'Referencia al usuario propietario del teléfono';
 
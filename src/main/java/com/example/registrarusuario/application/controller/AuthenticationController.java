@@ -0,0 +1,63 @@
+package com.example.registrarusuario.application.controller;
+
+import com.example.registrarusuario.application.dto.ErrorResponse;
+import com.example.registrarusuario.application.dto.LoginRequest;
+import com.example.registrarusuario.application.dto.UserRegistrationResponse;
+import com.example.registrarusuario.application.mapper.UserDtoMapper;
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.domain.port.in.LoginUserUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Tag(name = "Autenticación", description = "Inicio de sesión y emisión de tokens")
+public class AuthenticationController {
+
+    private final LoginUserUseCase loginUserUseCase;
+    private final UserDtoMapper userDtoMapper;
+
+    @Operation(
+            summary = "Iniciar sesión",
+            description = "Valida las credenciales, actualiza last_login y retorna un token JWT nuevo."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Inicio de sesión exitoso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UserRegistrationResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Credenciales inválidas",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping(
+            value = "/login",
+            consumes = "application/json",
+            produces = "application/json"
+    )
+    public ResponseEntity<UserRegistrationResponse> login(@Valid @RequestBody LoginRequest request) {
+        User user = loginUserUseCase.login(request.email(), request.password());
+        return ResponseEntity.ok(userDtoMapper.toResponse(user));
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.registrarusuario.application.controller;
 
 import com.example.registrarusuario.application.dto.ErrorResponse;
+import com.example.registrarusuario.application.dto.UserRegistrationMinimalResponse;
 import com.example.registrarusuario.application.dto.UserRegistrationRequest;
 import com.example.registrarusuario.application.dto.UserRegistrationResponse;
 import com.example.registrarusuario.application.mapper.UserDtoMapper;
 import com.example.registrarusuario.domain.model.User;
 import com.example.registrarusuario.domain.port.in.RegisterUserUseCase;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,10 +17,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -28,6 +32,10 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Usuarios", description = "API para gestión de usuarios")
 public class UserController {
 
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RETURN_MINIMAL = "return=minimal";
+
     private final RegisterUserUseCase registerUserUseCase;
     private final UserDtoMapper userDtoMapper;
 
@@ -38,7 +46,7 @@ public class UserController {
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "201",
-                    description = "Usuario registrado exitosamente",
+                    description = "Usuario registrado exitosamente (solo id y token con Prefer: return=minimal)",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = UserRegistrationResponse.class),
@@ -96,19 +104,46 @@ public class UserController {
                     )
             )
     })
+    // application/cbor (mismo esquema que el JSON) para clientes internos; la respuesta sigue al Accept.
+    // Con ResponseEntity<?> el AOT no infiere los tipos del cuerpo para la imagen nativa
+    @RegisterReflectionForBinding({UserRegistrationResponse.class, UserRegistrationMinimalResponse.class})
     @PostMapping(
             value = "/register",
-            consumes = "application/json",
-            produces = "application/json"
+            consumes = {"application/json", "application/cbor"},
+            produces = {"application/json", "application/cbor"}
     )
-    public ResponseEntity<UserRegistrationResponse> registerUser(
-            @Valid @RequestBody UserRegistrationRequest request) {
+    public ResponseEntity<?> registerUser(
+            @Valid @RequestBody UserRegistrationRequest request,
+            @Parameter(description = "return=minimal para recibir solo id y token")
+            @RequestHeader(value = PREFER, required = false) String prefer) {
 
         User user = userDtoMapper.toDomain(request);
         User registeredUser = registerUserUseCase.registerUser(user);
+
+        // Clientes de alto volumen: solo id y token, sin teléfonos ni fechas
+        if (prefersMinimal(prefer)) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(PREFERENCE_APPLIED, RETURN_MINIMAL)
+                    .body(userDtoMapper.toMinimalResponse(registeredUser));
+        }
         UserRegistrationResponse response = userDtoMapper.toResponse(registeredUser);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    // RFC 7240: varias preferencias separadas por coma, cada una con parámetros opcionales tras ';'
+    static boolean prefersMinimal(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            int parameters = preference.indexOf(';');
+            String token = (parameters < 0 ? preference : preference.substring(0, parameters)).trim();
+            if (token.replace("\"", "").equalsIgnoreCase(RETURN_MINIMAL)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
 
@@ -0,0 +1,103 @@
+package com.example.registrarusuario.application.controller;
+
+import com.example.registrarusuario.application.dto.ErrorResponse;
+import com.example.registrarusuario.application.dto.UserLookupResponse;
+import com.example.registrarusuario.application.dto.UserRegistrationResponse;
+import com.example.registrarusuario.application.mapper.UserDtoMapper;
+import com.example.registrarusuario.application.security.TokenVerificationFilter;
+import com.example.registrarusuario.domain.port.in.FindUserUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Tag(name = "Usuarios", description = "API para gestión de usuarios")
+public class UserQueryController {
+
+    private final FindUserUseCase findUserUseCase;
+    private final UserDtoMapper userDtoMapper;
+
+    @Operation(
+            summary = "Usuario autenticado",
+            description = "Retorna el usuario dueño del token enviado en el header Authorization: Bearer."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Usuario encontrado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UserRegistrationResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Token inválido o ausente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping(value = "/me", produces = "application/json")
+    public ResponseEntity<UserRegistrationResponse> currentUser(
+            @RequestAttribute(TokenVerificationFilter.AUTHENTICATED_EMAIL) String email) {
+        return findUserUseCase.findByEmail(email)
+                .map(userDtoMapper::toResponse)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(
+            summary = "Buscar usuarios por teléfono",
+            description = "Normaliza el número internacional recibido (+57 1 2345678, 0057-1-2345678...) "
+                    + "y retorna id y nombre de los usuarios que lo registraron. Requiere token."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Usuarios con ese teléfono (lista vacía si no hay)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = UserLookupResponse.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Teléfono sin dígitos o demasiado largo",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Token inválido o ausente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping(params = "phone", produces = "application/json")
+    public ResponseEntity<List<UserLookupResponse>> findByPhone(@RequestParam("phone") String phone) {
+        return ResponseEntity.ok(findUserUseCase.findByPhone(phone).stream()
+                .map(userDtoMapper::toLookupResponse)
+                .toList());
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.registrarusuario.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+
+public record LoginRequest(
+        @NotBlank(message = "El correo es obligatorio")
+        @JsonProperty("email")
+        String email,
+
+        @NotBlank(message = "La contraseña es obligatoria")
+        @JsonProperty("password")
+        String password
+) {}
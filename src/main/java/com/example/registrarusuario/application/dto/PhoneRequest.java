@@ -2,17 +2,21 @@ package com.example.registrarusuario.application.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public record PhoneRequest(
         @NotBlank(message = "El número de teléfono es obligatorio")
+        @Size(max = 20, message = "El número de teléfono admite hasta 20 caracteres")
         @JsonProperty("number")
         String number,
 
         @NotBlank(message = "El código de ciudad es obligatorio")
+        @Size(max = 10, message = "El código de ciudad admite hasta 10 caracteres")
         @JsonProperty("citycode")
         String citycode,
 
         @NotBlank(message = "El código de país es obligatorio")
+        @Size(max = 10, message = "El código de país admite hasta 10 caracteres")
         @JsonProperty("contrycode")
         String contrycode
 ) {}
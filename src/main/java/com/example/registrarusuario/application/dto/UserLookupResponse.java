@@ -0,0 +1,13 @@
+package com.example.registrarusuario.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Resultado de la búsqueda por teléfono: cualquier usuario autenticado puede consultarla,
+// así que no lleva token, email ni teléfonos del usuario encontrado
+public record UserLookupResponse(
+        @JsonProperty("id")
+        String id,
+
+        @JsonProperty("name")
+        String name
+) {}
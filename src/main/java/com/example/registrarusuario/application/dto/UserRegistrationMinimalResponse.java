@@ -0,0 +1,12 @@
+package com.example.registrarusuario.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Respuesta del registro con Prefer: return=minimal
+public record UserRegistrationMinimalResponse(
+        @JsonProperty("id")
+        String id,
+
+        @JsonProperty("token")
+        String token
+) {}
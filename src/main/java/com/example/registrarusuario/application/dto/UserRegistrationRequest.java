@@ -4,19 +4,23 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 
 import java.util.List;
 
 public record UserRegistrationRequest(
         @NotBlank(message = "El nombre es obligatorio")
+        @Size(max = 255, message = "El nombre admite hasta 255 caracteres")
         @JsonProperty("name")
         String name,
 
         @NotBlank(message = "El correo es obligatorio")
+        @Size(max = 254, message = "El correo admite hasta 254 caracteres")
         @JsonProperty("email")
         String email,
 
         @NotBlank(message = "La contraseña es obligatoria")
+        @Size(max = 255, message = "La contraseña admite hasta 255 caracteres")
         @JsonProperty("password")
         String password,
 
@@ -2,70 +2,255 @@ package com.example.registrarusuario.application.exception;
 
 import com.example.registrarusuario.application.dto.ErrorResponse;
 import com.example.registrarusuario.domain.exception.EmailAlreadyExistsException;
+import com.example.registrarusuario.domain.exception.InvalidCredentialsException;
 import com.example.registrarusuario.domain.exception.InvalidFormatException;
+import com.example.registrarusuario.domain.exception.ServiceOverloadedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Cuerpos ya serializados por formato y mensaje: los rechazos de negocio usan un conjunto fijo de textos,
+    // así un 400/409 no vuelve a pasar por Jackson ni crea un ErrorResponse
+    private static final int MAX_CACHED_BODIES = 256;
+    private static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email_normalized";
+    private static final String EMAIL_ALREADY_EXISTS = "El correo ya registrado";
+    private static final String INTERNAL_ERROR = "Error interno del servidor";
+    private static final List<MediaType> DEFAULT_MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
+    private final ObjectMapper objectMapper;
+    // El converter que escribe ErrorResponse en CBOR; null con app.cbor.enabled=false
+    private final HttpMessageConverter<Object> cborConverter;
+    private final Cache<ErrorBody, byte[]> errorBodies = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_BODIES)
+            .build();
+
+    @SuppressWarnings("unchecked")
+    public GlobalExceptionHandler(ObjectMapper objectMapper, List<HttpMessageConverter<?>> messageConverters) {
+        this.objectMapper = objectMapper;
+        this.cborConverter = (HttpMessageConverter<Object>) messageConverters.stream()
+                .filter(converter -> converter.canWrite(ErrorResponse.class, MediaType.APPLICATION_CBOR))
+                .findFirst()
+                .orElse(null);
+    }
+
     @ExceptionHandler(EmailAlreadyExistsException.class)
-    public ResponseEntity<ErrorResponse> handleEmailAlreadyExists(EmailAlreadyExistsException ex) {
-        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage());
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    public ResponseEntity<byte[]> handleEmailAlreadyExists(EmailAlreadyExistsException ex) {
+        return cachedError(HttpStatus.CONFLICT, ex.getMessage());
     }
 
     @ExceptionHandler(InvalidFormatException.class)
-    public ResponseEntity<ErrorResponse> handleInvalidFormat(InvalidFormatException ex) {
-        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    public ResponseEntity<byte[]> handleInvalidFormat(InvalidFormatException ex) {
+        return cachedError(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<byte[]> handleInvalidCredentials(InvalidCredentialsException ex) {
+        return cachedError(HttpStatus.UNAUTHORIZED, ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<byte[]> handleServiceOverloaded(ServiceOverloadedException ex) {
+        MediaType mediaType = errorMediaType();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .contentType(mediaType)
+                .body(errorBody(mediaType, ex.getMessage()));
+    }
+
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<byte[]> handlePayloadTooLarge(PayloadTooLargeException ex) {
+        return cachedError(HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage());
+    }
+
+    // Solo el máximo de conexiones del tenant (llega como causa de la falla al pedir la conexión) es
+    // reintentable; el resto de fallas de acceso a datos (base caída, credenciales) son un 500
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<byte[]> handleConnectionUnavailable(RuntimeException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ServiceOverloadedException overloaded) {
+                return handleServiceOverloaded(overloaded);
+            }
+        }
+        return handleGenericException(ex);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex) {
+    public ResponseEntity<byte[]> handleValidationErrors(MethodArgumentNotValidException ex) {
+        // Los mensajes de las anotaciones son fijos: sus combinaciones también se repiten
         String errors = ex.getBindingResult().getFieldErrors()
                 .stream()
                 .map(FieldError::getDefaultMessage)
                 .collect(Collectors.joining(", "));
 
-        ErrorResponse errorResponse = new ErrorResponse(errors);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return cachedError(HttpStatus.BAD_REQUEST, errors);
     }
 
     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
     public ResponseEntity<ErrorResponse> handleUnsupportedMediaType(HttpMediaTypeNotSupportedException ex) {
-        String message = String.format("Content-Type '%s' no está soportado. Solo se acepta 'application/json'",
-                ex.getContentType());
+        String message = String.format("Content-Type '%s' no está soportado. Solo se acepta %s",
+                ex.getContentType(), describe(ex.getSupportedMediaTypes()));
         ErrorResponse errorResponse = new ErrorResponse(message);
         return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(errorResponse);
     }
 
     @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
-    public ResponseEntity<ErrorResponse> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex) {
-        ErrorResponse errorResponse = new ErrorResponse("Solo se puede retornar 'application/json'");
-        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(errorResponse);
+    public ResponseEntity<byte[]> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex) {
+        return cachedError(HttpStatus.NOT_ACCEPTABLE, "Solo se puede retornar " + describe(ex.getSupportedMediaTypes()));
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorResponse> handleInvalidJson(HttpMessageNotReadableException ex) {
-        String message = "El formato JSON es inválido: " + ex.getMostSpecificCause().getMessage();
+        HttpInputMessage input = ex.getHttpInputMessage();
+        String format = input != null && MediaType.APPLICATION_CBOR.isCompatibleWith(input.getHeaders().getContentType())
+                ? "CBOR" : "JSON";
+        String message = "El formato " + format + " es inválido: " + ex.getMostSpecificCause().getMessage();
         ErrorResponse errorResponse = new ErrorResponse(message);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    // Dos registros concurrentes del mismo email pasan ambos la comprobación previa: el índice único
+    // rechaza el segundo y el cliente recibe el mismo 409 que en el camino normal
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<byte[]> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (violates(ex, EMAIL_UNIQUE_CONSTRAINT)) {
+            return cachedError(HttpStatus.CONFLICT, EMAIL_ALREADY_EXISTS);
+        }
+        return handleGenericException(ex);
+    }
+
+    // El detalle solo va al log: el mensaje de la excepción puede llevar SQL, datos o rutas internas
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
-        ErrorResponse errorResponse = new ErrorResponse("Error interno del servidor: " + ex.getMessage());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    public ResponseEntity<byte[]> handleGenericException(Exception ex) {
+        log.error("Error no controlado", ex);
+        return cachedError(HttpStatus.INTERNAL_SERVER_ERROR, INTERNAL_ERROR);
+    }
+
+    // Los tipos que declara el endpoint: 'application/json' o 'application/cbor' en el registro
+    private static String describe(List<MediaType> supported) {
+        List<String> types = (supported.isEmpty() ? DEFAULT_MEDIA_TYPES : supported).stream()
+                .map(type -> "'" + type + "'")
+                .toList();
+        return types.size() == 1 ? types.get(0)
+                : String.join(", ", types.subList(0, types.size() - 1)) + " o " + types.get(types.size() - 1);
+    }
+
+    private static boolean violates(DataIntegrityViolationException ex, String constraint) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<byte[]> cachedError(HttpStatus status, String message) {
+        MediaType mediaType = errorMediaType();
+        return ResponseEntity.status(status)
+                .contentType(mediaType)
+                .body(errorBody(mediaType, message));
+    }
+
+    // El cuerpo byte[] fija el Content-Type y saltea la negociación de Spring, así que se elige aquí:
+    // el primer formato que prefiere Accept y, sin preferencia entre JSON y CBOR, el del cuerpo recibido
+    private MediaType errorMediaType() {
+        if (cborConverter == null
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return MediaType.APPLICATION_JSON;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        try {
+            List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)));
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType type : accepted) {
+                boolean json = type.isCompatibleWith(MediaType.APPLICATION_JSON);
+                boolean cbor = type.isCompatibleWith(MediaType.APPLICATION_CBOR);
+                if (json != cbor) {
+                    return cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON;
+                }
+                if (json) {
+                    break;
+                }
+            }
+            String contentType = request.getContentType();
+            if (contentType != null && MediaType.APPLICATION_CBOR.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+                return MediaType.APPLICATION_CBOR;
+            }
+        } catch (InvalidMediaTypeException ignored) {
+            // Un Accept o Content-Type inválido deja el error en JSON
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private byte[] errorBody(MediaType mediaType, String message) {
+        return errorBodies.get(new ErrorBody(mediaType, message), this::serialize);
     }
-}
 
+    private byte[] serialize(ErrorBody key) {
+        try {
+            if (MediaType.APPLICATION_CBOR.equals(key.mediaType())) {
+                BufferedOutputMessage output = new BufferedOutputMessage();
+                cborConverter.write(new ErrorResponse(key.message()), MediaType.APPLICATION_CBOR, output);
+                return output.body.toByteArray();
+            }
+            return objectMapper.writeValueAsBytes(new ErrorResponse(key.message()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record ErrorBody(MediaType mediaType, String message) {
+    }
+
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(64);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.registrarusuario.application.exception;
+
+// Cuerpo por encima del tope de un converter (CBOR): 413 como el de la prevalidación de JSON.
+// Sin stack trace, así el converter puede relanzar una instancia precreada
+public class PayloadTooLargeException extends RuntimeException {
+
+    public PayloadTooLargeException(String message) {
+        super(message, null, false, false);
+    }
+}
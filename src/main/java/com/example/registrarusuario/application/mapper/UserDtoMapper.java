@@ -2,6 +2,8 @@ package com.example.registrarusuario.application.mapper;
 
 import com.example.registrarusuario.application.dto.PhoneRequest;
 import com.example.registrarusuario.application.dto.PhoneResponse;
+import com.example.registrarusuario.application.dto.UserLookupResponse;
+import com.example.registrarusuario.application.dto.UserRegistrationMinimalResponse;
 import com.example.registrarusuario.application.dto.UserRegistrationRequest;
 import com.example.registrarusuario.application.dto.UserRegistrationResponse;
 import com.example.registrarusuario.domain.model.Phone;
@@ -45,6 +47,14 @@ public class UserDtoMapper {
         );
     }
 
+    public UserRegistrationMinimalResponse toMinimalResponse(User user) {
+        return new UserRegistrationMinimalResponse(user.getId(), user.getToken());
+    }
+
+    public UserLookupResponse toLookupResponse(User user) {
+        return new UserLookupResponse(user.getId(), user.getName());
+    }
+
     private Phone toPhoneDomain(PhoneRequest phoneRequest) {
         return Phone.builder()
                 .number(phoneRequest.number())
@@ -0,0 +1,59 @@
+package com.example.registrarusuario.application.security;
+
+import com.example.registrarusuario.domain.port.out.TokenVerifierPort;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class TokenVerificationFilter extends OncePerRequestFilter {
+
+    public static final String AUTHENTICATED_EMAIL = "authenticatedEmail";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final byte[] UNAUTHORIZED_BODY =
+            "{\"mensaje\":\"Token inválido o ausente\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final TokenVerifierPort tokenVerifierPort;
+    private final List<String> protectedPaths;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return protectedPaths.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        Optional<String> email = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? tokenVerifierPort.verifyToken(authorization.substring(BEARER_PREFIX.length()).trim())
+                : Optional.empty();
+
+        if (email.isEmpty()) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(UNAUTHORIZED_BODY.length);
+            response.getOutputStream().write(UNAUTHORIZED_BODY);
+            return;
+        }
+
+        request.setAttribute(AUTHENTICATED_EMAIL, email.get());
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.registrarusuario.domain.exception;
+
+// Rechazos esperados del dominio (formato inválido, email duplicado, credenciales). No capturan stack trace
+// ni admiten supresión: son flujo normal del negocio y una instancia precreada se puede relanzar sin costo
+public abstract class DomainRejectionException extends RuntimeException {
+
+    protected DomainRejectionException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.registrarusuario.domain.exception;
 
-public class EmailAlreadyExistsException extends RuntimeException {
+public class EmailAlreadyExistsException extends DomainRejectionException {
     public EmailAlreadyExistsException(String message) {
         super(message);
     }
@@ -0,0 +1,7 @@
+package com.example.registrarusuario.domain.exception;
+
+public class InvalidCredentialsException extends DomainRejectionException {
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+}
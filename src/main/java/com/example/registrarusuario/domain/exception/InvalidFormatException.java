@@ -1,6 +1,6 @@
 package com.example.registrarusuario.domain.exception;
 
-public class InvalidFormatException extends RuntimeException {
+public class InvalidFormatException extends DomainRejectionException {
     public InvalidFormatException(String message) {
         super(message);
     }
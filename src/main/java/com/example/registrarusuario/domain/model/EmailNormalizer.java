@@ -0,0 +1,15 @@
+package com.example.registrarusuario.domain.model;
+
+import java.util.Locale;
+
+// Forma canónica del email para unicidad y búsquedas: sin espacios al borde y en minúsculas.
+// El email tal como lo escribió el usuario se conserva para mostrarlo y emitir el token
+public final class EmailNormalizer {
+
+    private EmailNormalizer() {
+    }
+
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
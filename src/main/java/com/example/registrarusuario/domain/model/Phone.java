@@ -6,11 +6,13 @@ import lombok.Getter;
 
 @Getter
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Phone {
     private String id;
     private String number;
     private String citycode;
     private String contrycode;
+    // Clave de PhoneNormalizer, la que indexa la búsqueda por teléfono
+    private String phoneKey;
 }
 
@@ -0,0 +1,93 @@
+package com.example.registrarusuario.domain.model;
+
+import com.example.registrarusuario.domain.exception.InvalidFormatException;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Clave canónica tipo E.164 de un teléfono: '+' seguido de los dígitos de contrycode, citycode y number.
+// Se descarta todo lo que no es dígito y los ceros iniciales de contrycode ("0057") y citycode (prefijo troncal "01").
+// Recorre los caracteres a mano (sin regex) porque también se usa en importaciones masivas
+public final class PhoneNormalizer {
+
+    // '+' y los dígitos de contrycode (10), citycode (10) y number (20)
+    public static final int MAX_KEY_LENGTH = 41;
+
+    private static final InvalidFormatException NO_DIGITS = new InvalidFormatException("El teléfono no contiene dígitos");
+    private static final InvalidFormatException TOO_LONG = new InvalidFormatException("El teléfono es demasiado largo");
+
+    private PhoneNormalizer() {
+    }
+
+    public static String key(Phone phone) {
+        return key(phone.getContrycode(), phone.getCitycode(), phone.getNumber());
+    }
+
+    public static String key(String contrycode, String citycode, String number) {
+        StringBuilder key = new StringBuilder(MAX_KEY_LENGTH).append('+');
+        appendDigits(key, contrycode, true);
+        appendDigits(key, citycode, true);
+        appendDigits(key, number, false);
+        return checked(key);
+    }
+
+    // Copia cada teléfono con su clave, en el mismo orden. En paralelo reparte la lista en el pool común
+    // de fork/join: solo compensa en listas largas, con pocas entradas repartir cuesta más que normalizar
+    public static List<Phone> withKeys(List<Phone> phones, boolean parallel) {
+        Stream<Phone> stream = parallel ? phones.parallelStream() : phones.stream();
+        return stream.map(phone -> phone.toBuilder().phoneKey(key(phone)).build()).toList();
+    }
+
+    // El parámetro de búsqueda es el número internacional completo: "+57 (1) 234-5678", "0057 01 2345678"...
+    // Con las reglas de key(): el primer grupo de dígitos es el contrycode y el segundo el citycode, ambos
+    // sin ceros iniciales; el resto es el número. Sin separadores ("+5712345678") solo se quitan los ceros
+    // del comienzo, así que un citycode con prefijo troncal tiene que ir separado
+    public static String normalizeQuery(String phone) {
+        StringBuilder key = new StringBuilder(MAX_KEY_LENGTH).append('+');
+        int group = 0;
+        boolean inGroup = false;
+        boolean leading = false;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                inGroup = false;
+                continue;
+            }
+            if (!inGroup) {
+                inGroup = true;
+                leading = group++ < 2;
+            }
+            if (leading && c == '0') {
+                continue;
+            }
+            leading = false;
+            key.append(c);
+        }
+        return checked(key);
+    }
+
+    private static void appendDigits(StringBuilder key, String value, boolean skipLeadingZeros) {
+        if (value == null) {
+            return;
+        }
+        boolean leading = skipLeadingZeros;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9' || (leading && c == '0')) {
+                continue;
+            }
+            leading = false;
+            key.append(c);
+        }
+    }
+
+    private static String checked(StringBuilder key) {
+        if (key.length() == 1) {
+            throw NO_DIGITS;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw TOO_LONG;
+        }
+        return key.toString();
+    }
+}
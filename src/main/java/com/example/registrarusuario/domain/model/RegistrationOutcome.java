@@ -0,0 +1,11 @@
+package com.example.registrarusuario.domain.model;
+
+// Resultado de un intento de registro para la auditoría. El log binario guarda el ordinal: solo agregar al final
+public enum RegistrationOutcome {
+    CREATED,
+    INVALID_EMAIL,
+    INVALID_PASSWORD,
+    EMAIL_ALREADY_EXISTS,
+    INVALID_PHONE,
+    ERROR
+}
@@ -9,11 +9,12 @@ import java.util.List;
 
 @Getter
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class User {
     private String id;
     private String name;
     private String email;
+    private String normalizedEmail;
     private String password;
     private List<Phone> phones;
     private LocalDateTime created;
@@ -0,0 +1,11 @@
+package com.example.registrarusuario.domain.port.in;
+
+import com.example.registrarusuario.domain.model.User;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface FindUserUseCase {
+    Optional<User> findByEmail(String email);
+    List<User> findByPhone(String phone);
+}
@@ -0,0 +1,7 @@
+package com.example.registrarusuario.domain.port.in;
+
+import com.example.registrarusuario.domain.model.User;
+
+public interface LoginUserUseCase {
+    User login(String email, String password);
+}
@@ -0,0 +1,9 @@
+package com.example.registrarusuario.domain.port.out;
+
+import com.example.registrarusuario.domain.model.RegistrationOutcome;
+
+// Registro de cada intento de registro, incluidos los rechazos. Las implementaciones no deben bloquear
+// ni lanzar: se invoca en el camino de la solicitud, también mientras se propaga un rechazo
+public interface RegistrationAuditPort {
+    void record(String email, RegistrationOutcome outcome, String userId);
+}
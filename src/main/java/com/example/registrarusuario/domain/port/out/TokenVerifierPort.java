@@ -0,0 +1,7 @@
+package com.example.registrarusuario.domain.port.out;
+
+import java.util.Optional;
+
+public interface TokenVerifierPort {
+    Optional<String> verifyToken(String token);
+}
@@ -2,10 +2,15 @@ package com.example.registrarusuario.domain.port.out;
 
 import com.example.registrarusuario.domain.model.User;
 
+import java.util.List;
 import java.util.Optional;
 
+// Las búsquedas por email reciben la forma de EmailNormalizer y las de teléfono la clave de PhoneNormalizer.
+// findByPhoneKey retorna solo id, nombre y fecha de creación: es una búsqueda, no carga teléfonos ni credenciales
 public interface UserRepositoryPort {
     User save(User user);
-    boolean existsByEmail(String email);
+    boolean existsByEmail(String normalizedEmail);
+    Optional<User> findByEmail(String normalizedEmail);
+    List<User> findByPhoneKey(String phoneKey);
+    void recordLogin(User user);
 }
-
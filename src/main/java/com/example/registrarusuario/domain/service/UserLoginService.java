@@ -0,0 +1,53 @@
+package com.example.registrarusuario.domain.service;
+
+import com.example.registrarusuario.domain.exception.InvalidCredentialsException;
+import com.example.registrarusuario.domain.model.EmailNormalizer;
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.domain.port.in.LoginUserUseCase;
+import com.example.registrarusuario.domain.port.out.TokenGeneratorPort;
+import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class UserLoginService implements LoginUserUseCase {
+
+    private static final InvalidCredentialsException INVALID_CREDENTIALS =
+            new InvalidCredentialsException("Usuario o contraseña incorrectos");
+
+    private final UserRepositoryPort userRepositoryPort;
+    private final TokenGeneratorPort tokenGeneratorPort;
+
+    @Override
+    public User login(String email, String password) {
+        // Mismo mensaje para usuario inexistente, inactivo o contraseña incorrecta
+        User user = userRepositoryPort.findByEmail(EmailNormalizer.normalize(email))
+                .filter(candidate -> Boolean.TRUE.equals(candidate.getIsactive()))
+                .filter(candidate -> passwordMatches(candidate.getPassword(), password))
+                .orElseThrow(() -> INVALID_CREDENTIALS);
+
+        String token = tokenGeneratorPort.generateToken(user.getEmail());
+
+        LocalDateTime now = LocalDateTime.now();
+        User loggedInUser = user.toBuilder()
+                .token(token)
+                .lastLogin(now)
+                .modified(now)
+                .build();
+
+        userRepositoryPort.recordLogin(loggedInUser);
+        return loggedInUser;
+    }
+
+    private boolean passwordMatches(String stored, String provided) {
+        if (stored == null || provided == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                stored.getBytes(StandardCharsets.UTF_8),
+                provided.getBytes(StandardCharsets.UTF_8));
+    }
+}
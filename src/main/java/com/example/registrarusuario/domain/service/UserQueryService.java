@@ -0,0 +1,27 @@
+package com.example.registrarusuario.domain.service;
+
+import com.example.registrarusuario.domain.model.EmailNormalizer;
+import com.example.registrarusuario.domain.model.PhoneNormalizer;
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.domain.port.in.FindUserUseCase;
+import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class UserQueryService implements FindUserUseCase {
+
+    private final UserRepositoryPort userRepositoryPort;
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return userRepositoryPort.findByEmail(EmailNormalizer.normalize(email));
+    }
+
+    @Override
+    public List<User> findByPhone(String phone) {
+        return userRepositoryPort.findByPhoneKey(PhoneNormalizer.normalizeQuery(phone));
+    }
+}
@@ -2,39 +2,93 @@ package com.example.registrarusuario.domain.service;
 
 import com.example.registrarusuario.domain.exception.EmailAlreadyExistsException;
 import com.example.registrarusuario.domain.exception.InvalidFormatException;
+import com.example.registrarusuario.domain.model.EmailNormalizer;
+import com.example.registrarusuario.domain.model.Phone;
+import com.example.registrarusuario.domain.model.PhoneNormalizer;
+import com.example.registrarusuario.domain.model.RegistrationOutcome;
 import com.example.registrarusuario.domain.model.User;
 import com.example.registrarusuario.domain.port.in.RegisterUserUseCase;
+import com.example.registrarusuario.domain.port.out.RegistrationAuditPort;
 import com.example.registrarusuario.domain.port.out.TokenGeneratorPort;
 import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
 import com.example.registrarusuario.domain.port.out.ValidationPort;
-import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
-@RequiredArgsConstructor
 public class UserRegistrationService implements RegisterUserUseCase {
 
+    // Rechazos precreados: el camino de error no asigna nada por solicitud
+    private static final InvalidFormatException INVALID_EMAIL =
+            new InvalidFormatException("El formato del correo es inválido");
+    private static final InvalidFormatException INVALID_PASSWORD =
+            new InvalidFormatException("El formato de la contraseña es inválido");
+    private static final EmailAlreadyExistsException EMAIL_ALREADY_EXISTS =
+            new EmailAlreadyExistsException("El correo ya registrado");
+
     private final UserRepositoryPort userRepositoryPort;
     private final ValidationPort validationPort;
     private final TokenGeneratorPort tokenGeneratorPort;
+    private final RegistrationAuditPort registrationAuditPort;
+    private final int maxPhones;
+    // Desde cuántos teléfonos la normalización se reparte entre varios hilos
+    private final int parallelPhoneThreshold;
+    private final InvalidFormatException tooManyPhones;
+
+    public UserRegistrationService(UserRepositoryPort userRepositoryPort,
+                                   ValidationPort validationPort,
+                                   TokenGeneratorPort tokenGeneratorPort,
+                                   RegistrationAuditPort registrationAuditPort,
+                                   int maxPhones,
+                                   int parallelPhoneThreshold) {
+        this.userRepositoryPort = userRepositoryPort;
+        this.validationPort = validationPort;
+        this.tokenGeneratorPort = tokenGeneratorPort;
+        this.registrationAuditPort = registrationAuditPort;
+        this.maxPhones = maxPhones;
+        this.parallelPhoneThreshold = parallelPhoneThreshold;
+        this.tooManyPhones = new InvalidFormatException("Se admiten hasta " + maxPhones + " teléfonos");
+    }
 
     @Override
     public User registerUser(User user) {
+        // Todo intento queda auditado, también los rechazos y los errores inesperados
+        try {
+            User registered = register(user);
+            registrationAuditPort.record(user.getEmail(), RegistrationOutcome.CREATED, registered.getId());
+            return registered;
+        } catch (RuntimeException e) {
+            registrationAuditPort.record(user.getEmail(), outcomeOf(e), null);
+            throw e;
+        }
+    }
+
+    private User register(User user) {
         // Validar formato de email
         if (!validationPort.isValidEmail(user.getEmail())) {
-            throw new InvalidFormatException("El formato del correo es inválido");
+            throw INVALID_EMAIL;
         }
 
         // Validar formato de contraseña
         if (!validationPort.isValidPassword(user.getPassword())) {
-            throw new InvalidFormatException("El formato de la contraseña es inválido");
+            throw INVALID_PASSWORD;
+        }
+
+        // Tope de teléfonos: también cubre las entradas que no pasan por la prevalidación (CBOR)
+        if (user.getPhones() != null && user.getPhones().size() > maxPhones) {
+            throw tooManyPhones;
         }
 
-        // Verificar si el email ya existe
-        if (userRepositoryPort.existsByEmail(user.getEmail())) {
-            throw new EmailAlreadyExistsException("El correo ya registrado");
+        // Verificar si el email ya existe (sin distinguir mayúsculas)
+        String normalizedEmail = EmailNormalizer.normalize(user.getEmail());
+        if (userRepositoryPort.existsByEmail(normalizedEmail)) {
+            throw EMAIL_ALREADY_EXISTS;
         }
 
+        // Normalizar teléfonos: la clave se persiste para la búsqueda por teléfono
+        List<Phone> phones = user.getPhones() == null ? null
+                : PhoneNormalizer.withKeys(user.getPhones(), user.getPhones().size() >= parallelPhoneThreshold);
+
         // Generar token
         String token = tokenGeneratorPort.generateToken(user.getEmail());
 
@@ -43,8 +97,9 @@ public class UserRegistrationService implements RegisterUserUseCase {
         User newUser = User.builder()
                 .name(user.getName())
                 .email(user.getEmail())
+                .normalizedEmail(normalizedEmail)
                 .password(user.getPassword())
-                .phones(user.getPhones())
+                .phones(phones)
                 .created(now)
                 .modified(now)
                 .lastLogin(now)
@@ -54,5 +109,18 @@ public class UserRegistrationService implements RegisterUserUseCase {
 
         return userRepositoryPort.save(newUser);
     }
-}
 
+    private static RegistrationOutcome outcomeOf(RuntimeException e) {
+        if (e == INVALID_EMAIL) {
+            return RegistrationOutcome.INVALID_EMAIL;
+        }
+        if (e == INVALID_PASSWORD) {
+            return RegistrationOutcome.INVALID_PASSWORD;
+        }
+        if (e instanceof EmailAlreadyExistsException) {
+            return RegistrationOutcome.EMAIL_ALREADY_EXISTS;
+        }
+        // El resto de los formatos inválidos provienen de la normalización de teléfonos
+        return e instanceof InvalidFormatException ? RegistrationOutcome.INVALID_PHONE : RegistrationOutcome.ERROR;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.registrarusuario.infrastructure.adapter;
 
 import com.example.registrarusuario.domain.port.out.TokenGeneratorPort;
+import com.example.registrarusuario.infrastructure.tenant.Tenant;
+import com.example.registrarusuario.infrastructure.tenant.TenantContext;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,29 +13,64 @@ import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtTokenGeneratorAdapter implements TokenGeneratorPort {
 
+    // Tenant emisor: el verificador rechaza el token en solicitudes de otro tenant
+    public static final String TENANT_CLAIM = "tid";
+
     @Value("${app.jwt.secret}")
     private String secret;
 
     @Value("${app.jwt.expiration}")
     private Long expiration;
 
+    // Modo compacto: solo "sub" y "exp" (sin "iat"), lo que acorta cada token emitido
+    @Value("${app.jwt.compact:false}")
+    private boolean compact;
+
+    private volatile Key signingKey;
+
+    private final Map<String, Key> tenantKeys = new ConcurrentHashMap<>();
+
     @Override
     public String generateToken(String email) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiration);
-
-        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        long now = System.currentTimeMillis();
+        Date expiryDate = new Date(now + expiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(email)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS256)
+                .setExpiration(expiryDate);
+        if (!compact) {
+            builder.setIssuedAt(new Date(now));
+        }
+        Tenant tenant = TenantContext.current();
+        if (tenant != null) {
+            builder.claim(TENANT_CLAIM, tenant.id());
+        }
+
+        return builder
+                .signWith(signingKey(tenant), SignatureAlgorithm.HS256)
                 .compact();
     }
-}
 
+    private Key signingKey(Tenant tenant) {
+        if (tenant == null || tenant.jwtSecret() == null) {
+            return signingKey();
+        }
+        return tenantKeys.computeIfAbsent(tenant.id(),
+                id -> Keys.hmacShaKeyFor(tenant.jwtSecret().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Key signingKey() {
+        Key key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
+    }
+}
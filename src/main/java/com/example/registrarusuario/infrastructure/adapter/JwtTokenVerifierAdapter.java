@@ -0,0 +1,123 @@
+package com.example.registrarusuario.infrastructure.adapter;
+
+import com.example.registrarusuario.domain.port.out.TokenVerifierPort;
+import com.example.registrarusuario.infrastructure.tenant.Tenant;
+import com.example.registrarusuario.infrastructure.tenant.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class JwtTokenVerifierAdapter implements TokenVerifierPort {
+
+    private final JwtParser jwtParser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Timer verificationTimer;
+    private final long tenantCacheMaxSize;
+    private final Duration cacheTtl;
+    // Cada tenant tiene su caché acotada: una firma verificada para un tenant no vale para otro,
+    // y un tenant con mucho tráfico no desaloja los tokens de los demás
+    private final Map<String, TenantVerifier> tenantVerifiers = new ConcurrentHashMap<>();
+
+    public JwtTokenVerifierAdapter(
+            @Value("${app.jwt.secret}") String secret,
+            @Value("${app.jwt.verification-cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.jwt.verification-cache.ttl:5m}") Duration cacheTtl,
+            @Value("${app.tenancy.cache-size-per-tenant:1000}") long tenantCacheMaxSize,
+            MeterRegistry meterRegistry) {
+        this.jwtParser = parser(secret);
+        this.verifiedTokens = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfterWrite(cacheTtl)
+                        .recordStats()
+                        .<String, VerifiedToken>build(),
+                "jwt.verification");
+        this.verificationTimer = Timer.builder("app.jwt.verification")
+                .description("Verificación completa de firma HMAC y claims (fallos de caché)")
+                .register(meterRegistry);
+        this.tenantCacheMaxSize = tenantCacheMaxSize;
+        this.cacheTtl = cacheTtl;
+    }
+
+    @Override
+    public Optional<String> verifyToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < 0) {
+            return Optional.empty();
+        }
+
+        Tenant tenant = TenantContext.current();
+        JwtParser parser = jwtParser;
+        Cache<String, VerifiedToken> cache = verifiedTokens;
+        if (tenant != null) {
+            TenantVerifier tenantVerifier = tenantVerifiers.computeIfAbsent(tenant.id(), id -> tenantVerifier(tenant));
+            parser = tenantVerifier.parser();
+            cache = tenantVerifier.verifiedTokens();
+        }
+
+        // La firma ya es un HMAC del header y el payload: sirve como clave de la caché.
+        // Se compara el token completo para que un payload alterado con una firma conocida no acierte
+        String signature = token.substring(signatureStart + 1);
+        VerifiedToken cached = cache.getIfPresent(signature);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.token().equals(token) && cached.expiresAtMillis() > now) {
+            return Optional.of(cached.subject());
+        }
+
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            // Un token emitido para otro tenant (o sin tenant) no se acepta aunque compartan el secreto
+            String issuedFor = claims.get(JwtTokenGeneratorAdapter.TENANT_CLAIM, String.class);
+            if (!Objects.equals(issuedFor, tenant == null ? null : tenant.id())) {
+                return Optional.empty();
+            }
+            long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+            cache.put(signature, new VerifiedToken(token, claims.getSubject(), expiresAt));
+            return Optional.ofNullable(claims.getSubject());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        } finally {
+            verificationTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private TenantVerifier tenantVerifier(Tenant tenant) {
+        return new TenantVerifier(
+                tenant.jwtSecret() == null ? jwtParser : parser(tenant.jwtSecret()),
+                Caffeine.newBuilder()
+                        .maximumSize(tenantCacheMaxSize)
+                        .expireAfterWrite(cacheTtl)
+                        .build());
+    }
+
+    private static JwtParser parser(String secret) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    private record VerifiedToken(String token, String subject, long expiresAtMillis) {}
+
+    private record TenantVerifier(JwtParser parser, Cache<String, VerifiedToken> verifiedTokens) {}
+}
@@ -1,10 +1,14 @@
 package com.example.registrarusuario.infrastructure.adapter;
 
 import com.example.registrarusuario.domain.port.out.ValidationPort;
+import com.example.registrarusuario.infrastructure.tenant.Tenant;
+import com.example.registrarusuario.infrastructure.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 @Component
@@ -17,13 +21,17 @@ public class RegexValidationAdapter implements ValidationPort {
     @Value("${app.validation.password.regex}")
     private String passwordRegex;
 
+    // Un Pattern compilado por expresión distinta: los tenants que no la personalizan comparten la global
+    private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
     @Override
     public boolean isValidEmail(String email) {
         if (email == null || email.isEmpty()) {
             return false;
         }
-        Pattern pattern = Pattern.compile(emailRegex);
-        return pattern.matcher(email).matches();
+        Tenant tenant = TenantContext.current();
+        String regex = tenant != null && tenant.emailRegex() != null ? tenant.emailRegex() : emailRegex;
+        return pattern(regex).matcher(email).matches();
     }
 
     @Override
@@ -31,8 +39,12 @@ public class RegexValidationAdapter implements ValidationPort {
         if (password == null || password.isEmpty()) {
             return false;
         }
-        Pattern pattern = Pattern.compile(passwordRegex);
-        return pattern.matcher(password).matches();
+        Tenant tenant = TenantContext.current();
+        String regex = tenant != null && tenant.passwordRegex() != null ? tenant.passwordRegex() : passwordRegex;
+        return pattern(regex).matcher(password).matches();
     }
-}
 
+    private Pattern pattern(String regex) {
+        return patterns.computeIfAbsent(regex, Pattern::compile);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.registrarusuario.infrastructure.audit;
+
+import com.example.registrarusuario.domain.model.RegistrationOutcome;
+import com.example.registrarusuario.domain.port.out.RegistrationAuditPort;
+import com.example.registrarusuario.infrastructure.tenant.TenantContext;
+import com.example.registrarusuario.infrastructure.warmup.WarmupContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// La solicitud solo copia el intento a un slot del buffer; un hilo escritor vacía el buffer por lotes
+// a los segmentos y hace un único fsync por lote (group commit): con más carga, lotes más grandes
+@Slf4j
+public class AsyncFileAuditAdapter implements RegistrationAuditPort, AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    private final AuditRingBuffer ringBuffer;
+    private final AuditSegmentWriter segmentWriter;
+    private final AuditFormat format;
+    private final int maxBatch;
+    private final long maxPublishWaitNanos;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncFileAuditAdapter(AuditProperties properties, MeterRegistry meterRegistry) {
+        this.ringBuffer = new AuditRingBuffer(properties.ringSize());
+        this.segmentWriter = new AuditSegmentWriter(
+                properties.directory(), properties.format(), properties.segmentSize().toBytes());
+        this.format = properties.format();
+        this.maxBatch = properties.maxBatch();
+        this.maxPublishWaitNanos = properties.maxPublishWait().toNanos();
+
+        this.writtenCounter = Counter.builder("app.audit.written")
+                .description("Intentos de registro escritos en el log de auditoría")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("app.audit.dropped")
+                .description("Intentos de registro descartados con el buffer de auditoría lleno")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("app.audit.failed")
+                .description("Intentos de registro que no se pudieron escribir en el log de auditoría")
+                .register(meterRegistry);
+        Gauge.builder("app.audit.backlog", ringBuffer, AuditRingBuffer::backlog)
+                .description("Intentos de registro pendientes de escribir")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void record(String email, RegistrationOutcome outcome, String userId) {
+        // Los registros sintéticos del calentamiento se deshacen: no son intentos reales
+        if (WarmupContext.isActive()) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        String tenant = TenantContext.currentId();
+        if (ringBuffer.tryPublish(timestamp, email, outcome, userId, tenant)) {
+            return;
+        }
+        long deadline = System.nanoTime() + maxPublishWaitNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+            if (ringBuffer.tryPublish(timestamp, email, outcome, userId, tenant)) {
+                return;
+            }
+        }
+        droppedCounter.increment();
+    }
+
+    private void writeLoop() {
+        while (running || ringBuffer.backlog() > 0) {
+            int drained;
+            try {
+                drained = ringBuffer.drain(maxBatch, this::write);
+                segmentWriter.sync();
+                writtenCounter.increment(drained);
+            } catch (RuntimeException e) {
+                // El registro fallido ya se dio por consumido: se sigue con el resto
+                failedCounter.increment();
+                log.error("No se pudo escribir un registro de auditoría", e);
+                continue;
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void write(long timestamp, String email, RegistrationOutcome outcome, String userId, String tenant) {
+        try {
+            segmentWriter.append(format.encode(new AuditRecord(timestamp, email, outcome, userId, tenant)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Vacía lo pendiente antes de cerrar el segmento actual
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("El escritor de auditoría no terminó a tiempo; quedan {} registros sin escribir",
+                    ringBuffer.backlog());
+            return;
+        }
+        segmentWriter.close();
+    }
+}
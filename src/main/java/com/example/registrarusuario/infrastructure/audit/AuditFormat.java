@@ -0,0 +1,188 @@
+package com.example.registrarusuario.infrastructure.audit;
+
+import com.example.registrarusuario.domain.model.RegistrationOutcome;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// Formatos de los segmentos. En ambos el primer byte 0 marca el final de lo escrito: el resto del
+// segmento mapeado está en cero y un registro incompleto por un cierre abrupto se descarta
+public enum AuditFormat {
+
+    // largo (int) | timestamp (long) | resultado (byte, ordinal) | email | userId | tenant; cadenas como
+    // largo (unsigned short, 0xFFFF = null) + UTF-8. El largo se escribe al final (ver encode).
+    // Los registros previos a multi-tenancy terminan en userId y se leen con tenant null
+    BINARY(".bin") {
+        @Override
+        byte[] encode(AuditRecord record) {
+            byte[] email = utf8(record.email());
+            byte[] userId = utf8(record.userId());
+            byte[] tenant = utf8(record.tenant());
+            int length = Long.BYTES + 1 + stringSize(email) + stringSize(userId) + stringSize(tenant);
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length);
+            buffer.position(Integer.BYTES);
+            buffer.putLong(record.timestamp());
+            buffer.put((byte) record.outcome().ordinal());
+            putString(buffer, email);
+            putString(buffer, userId);
+            putString(buffer, tenant);
+            buffer.putInt(0, length);
+            return buffer.array();
+        }
+
+        @Override
+        void decode(ByteBuffer segment, Consumer<AuditRecord> sink) {
+            while (segment.remaining() >= Integer.BYTES) {
+                int length = segment.getInt();
+                if (length <= 0 || length > segment.remaining()) {
+                    return;
+                }
+                ByteBuffer record = segment.slice(segment.position(), length);
+                segment.position(segment.position() + length);
+                long timestamp = record.getLong();
+                RegistrationOutcome outcome = OUTCOMES[record.get()];
+                String email = getString(record);
+                String userId = getString(record);
+                String tenant = record.hasRemaining() ? getString(record) : null;
+                sink.accept(new AuditRecord(timestamp, email, outcome, userId, tenant));
+            }
+        }
+    },
+
+    // Una línea JSON por intento, legible con grep/jq
+    NDJSON(".ndjson") {
+        @Override
+        byte[] encode(AuditRecord record) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+            try (JsonGenerator generator = JSON.createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeStringField("timestamp", Instant.ofEpochMilli(record.timestamp()).toString());
+                generator.writeStringField("email", record.email());
+                generator.writeStringField("outcome", record.outcome().name());
+                if (record.userId() != null) {
+                    generator.writeStringField("userId", record.userId());
+                }
+                if (record.tenant() != null) {
+                    generator.writeStringField("tenant", record.tenant());
+                }
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            out.write('\n');
+            return out.toByteArray();
+        }
+
+        @Override
+        void decode(ByteBuffer segment, Consumer<AuditRecord> sink) {
+            int start = segment.position();
+            for (int i = start; i < segment.limit(); i++) {
+                byte current = segment.get(i);
+                if (current == 0) {
+                    return;
+                }
+                if (current == '\n') {
+                    byte[] line = new byte[i - start];
+                    segment.get(start, line);
+                    sink.accept(parse(line));
+                    start = i + 1;
+                }
+            }
+        }
+    };
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final RegistrationOutcome[] OUTCOMES = RegistrationOutcome.values();
+    private static final int NULL_STRING = 0xFFFF;
+
+    private final String extension;
+
+    AuditFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    abstract byte[] encode(AuditRecord record);
+
+    abstract void decode(ByteBuffer segment, Consumer<AuditRecord> sink);
+
+    static AuditFormat forFile(String fileName) {
+        for (AuditFormat format : values()) {
+            if (fileName.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // Los emails llegan acotados por la validación; el tope solo protege el formato
+        return bytes.length < NULL_STRING ? bytes : Arrays.copyOf(bytes, NULL_STRING - 1);
+    }
+
+    private static int stringSize(byte[] value) {
+        return Short.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_STRING);
+            return;
+        }
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static AuditRecord parse(byte[] line) {
+        long timestamp = 0;
+        String email = null;
+        RegistrationOutcome outcome = RegistrationOutcome.ERROR;
+        String userId = null;
+        String tenant = null;
+        try (JsonParser parser = JSON.createParser(line)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "timestamp" -> timestamp = Instant.parse(parser.getText()).toEpochMilli();
+                    case "email" -> email = parser.getValueAsString();
+                    case "outcome" -> outcome = RegistrationOutcome.valueOf(parser.getText());
+                    case "userId" -> userId = parser.getValueAsString();
+                    case "tenant" -> tenant = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new AuditRecord(timestamp, email, outcome, userId, tenant);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.registrarusuario.infrastructure.audit;
+
+import com.example.registrarusuario.domain.model.EmailNormalizer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Consulta offline del log de auditoría (./gradlew queryAudit -Pemail=... -Pfrom=... -Pto=... -Ptenant=...).
+// Imprime los intentos como NDJSON, sin importar el formato de los segmentos
+public class AuditLogReader {
+
+    private final Path directory;
+
+    public AuditLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: AuditLogReader <directorio> [--email=...] [--from=...] [--to=...] [--tenant=...] "
+                    + "(fechas ISO-8601: 2025-01-31 o 2025-01-31T10:00:00Z)");
+            System.exit(2);
+        }
+        String email = null;
+        String tenant = null;
+        Instant from = Instant.MIN;
+        Instant to = Instant.MAX;
+        for (int i = 1; i < args.length; i++) {
+            String[] option = args[i].split("=", 2);
+            String value = option.length == 2 ? option[1] : "";
+            if (value.isBlank()) {
+                continue;
+            }
+            switch (option[0]) {
+                case "--email" -> email = value;
+                case "--tenant" -> tenant = value;
+                case "--from" -> from = parseInstant(value, false);
+                case "--to" -> to = parseInstant(value, true);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + option[0]);
+            }
+        }
+
+        PrintStream out = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        long[] matches = {0};
+        String tenantFilter = tenant;
+        new AuditLogReader(Path.of(args[0])).query(email, from, to, record -> {
+            if (tenantFilter != null && !tenantFilter.equals(record.tenant())) {
+                return;
+            }
+            byte[] line = AuditFormat.NDJSON.encode(record);
+            out.write(line, 0, line.length);
+            matches[0]++;
+        });
+        out.flush();
+        System.err.printf("%d intentos%n", matches[0]);
+    }
+
+    // Intentos con ese email (sin distinguir mayúsculas; null = todos) en [from, to)
+    public void query(String email, Instant from, Instant to, Consumer<AuditRecord> sink) throws IOException {
+        String normalized = email == null ? null : EmailNormalizer.normalize(email);
+        long fromMillis = from.equals(Instant.MIN) ? Long.MIN_VALUE : from.toEpochMilli();
+        long toMillis = to.equals(Instant.MAX) ? Long.MAX_VALUE : to.toEpochMilli();
+
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            // Ningún registro de un segmento es posterior a la apertura del siguiente
+            if (i + 1 < segments.size() && openedAt(segments.get(i + 1)) < fromMillis) {
+                continue;
+            }
+            Path segment = segments.get(i);
+            AuditFormat format = AuditFormat.forFile(segment.getFileName().toString());
+            try (FileChannel channel = FileChannel.open(segment)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                format.decode(buffer, record -> {
+                    if (record.timestamp() >= fromMillis && record.timestamp() < toMillis
+                            && (normalized == null || (record.email() != null
+                            && EmailNormalizer.normalize(record.email()).equals(normalized)))) {
+                        sink.accept(record);
+                    }
+                });
+            }
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(AuditSegmentWriter.PREFIX) && AuditFormat.forFile(name) != null;
+                    })
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .toList());
+        }
+    }
+
+    private static long openedAt(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(AuditSegmentWriter.PREFIX.length(), name.indexOf('.')));
+    }
+
+    // Una fecha sola abarca el día completo en UTC
+    private static Instant parseInstant(String value, boolean end) {
+        if (value.length() == 10) {
+            LocalDate date = LocalDate.parse(value);
+            return (end ? date.plusDays(1) : date).atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+        return Instant.parse(value);
+    }
+}
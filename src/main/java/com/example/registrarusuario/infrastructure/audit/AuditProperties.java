@@ -0,0 +1,35 @@
+package com.example.registrarusuario.infrastructure.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.audit")
+public record AuditProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("./data/audit")
+        Path directory,
+
+        @DefaultValue("BINARY")
+        AuditFormat format,
+
+        // Potencia de 2: intentos en vuelo entre las solicitudes y el escritor
+        @DefaultValue("8192")
+        int ringSize,
+
+        @DefaultValue("64MB")
+        DataSize segmentSize,
+
+        // Registros por fsync como máximo; con carga baja cada lote es lo que haya pendiente
+        @DefaultValue("1024")
+        int maxBatch,
+
+        // Con el buffer lleno la solicitud espera hasta esto y luego descarta el registro (app.audit.dropped)
+        @DefaultValue("5ms")
+        Duration maxPublishWait
+) {}
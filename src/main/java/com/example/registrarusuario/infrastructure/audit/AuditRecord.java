@@ -0,0 +1,5 @@
+package com.example.registrarusuario.infrastructure.audit;
+
+import com.example.registrarusuario.domain.model.RegistrationOutcome;
+
+public record AuditRecord(long timestamp, String email, RegistrationOutcome outcome, String userId, String tenant) {}
@@ -0,0 +1,94 @@
+package com.example.registrarusuario.infrastructure.audit;
+
+import com.example.registrarusuario.domain.model.RegistrationOutcome;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Buffer circular de varios productores y un consumidor, al estilo Disruptor: los slots se crean
+// una vez y se reutilizan. Un productor reserva una secuencia con CAS, completa su slot y la publica
+// con release; el consumidor avanza mientras el slot siguiente tenga publicada su secuencia.
+// Nada bloquea: con el buffer lleno tryPublish devuelve false
+class AuditRingBuffer {
+
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final Slot[] slots;
+    private final long[] published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private volatile long consumed = -1;
+
+    AuditRingBuffer(int size) {
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("El tamaño del buffer de auditoría debe ser potencia de 2");
+        }
+        this.mask = size - 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.published = new long[size];
+        Arrays.fill(published, -1);
+    }
+
+    boolean tryPublish(long timestamp, String email, RegistrationOutcome outcome, String userId, String tenant) {
+        long sequence;
+        do {
+            sequence = claimed.get() + 1;
+            // El slot todavía guarda un registro que el consumidor no leyó
+            if (sequence - slots.length > consumed) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence - 1, sequence));
+
+        int index = (int) (sequence & mask);
+        Slot slot = slots[index];
+        slot.timestamp = timestamp;
+        slot.email = email;
+        slot.outcome = outcome;
+        slot.userId = userId;
+        slot.tenant = tenant;
+        PUBLISHED.setRelease(published, index, sequence);
+        return true;
+    }
+
+    // Solo desde el hilo consumidor. El handler no debe retener el slot: se libera al volver.
+    // Si el handler falla, ese registro se da por consumido y la excepción se propaga
+    int drain(int max, SlotHandler handler) {
+        long next = consumed + 1;
+        int count = 0;
+        try {
+            while (count < max && (long) PUBLISHED.getAcquire(published, (int) (next & mask)) == next) {
+                Slot slot = slots[(int) (next & mask)];
+                next++;
+                count++;
+                handler.handle(slot.timestamp, slot.email, slot.outcome, slot.userId, slot.tenant);
+            }
+        } finally {
+            if (count > 0) {
+                consumed = next - 1;
+            }
+        }
+        return count;
+    }
+
+    long backlog() {
+        return claimed.get() - consumed;
+    }
+
+    @FunctionalInterface
+    interface SlotHandler {
+        void handle(long timestamp, String email, RegistrationOutcome outcome, String userId, String tenant);
+    }
+
+    private static final class Slot {
+        private long timestamp;
+        private String email;
+        private RegistrationOutcome outcome;
+        private String userId;
+        private String tenant;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.registrarusuario.infrastructure.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Segmentos de tamaño fijo mapeados en memoria: escribir un registro es copiarlo al buffer y sync()
+// fuerza a disco solo el rango escrito desde el anterior. Al llenarse (o al cerrar) el segmento se
+// trunca a lo escrito y se abre otro. El nombre es el instante de apertura: ordenarlos por nombre es
+// ordenarlos en el tiempo, y ningún registro de un segmento es posterior al nombre del siguiente
+class AuditSegmentWriter implements AutoCloseable {
+
+    static final String PREFIX = "audit-";
+
+    private final Path directory;
+    private final AuditFormat format;
+    private final int segmentSize;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int synced;
+
+    AuditSegmentWriter(Path directory, AuditFormat format, long segmentSize) {
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El tamaño de segmento debe estar entre 1 byte y 2GB");
+        }
+        this.directory = directory;
+        this.format = format;
+        this.segmentSize = (int) segmentSize;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de auditoría " + directory, e);
+        }
+    }
+
+    void append(byte[] record) throws IOException {
+        if (record.length > segmentSize) {
+            throw new IllegalArgumentException("Registro de auditoría mayor que un segmento");
+        }
+        if (buffer == null || buffer.remaining() < record.length) {
+            roll();
+        }
+        buffer.put(record);
+    }
+
+    void sync() {
+        if (buffer != null && buffer.position() > synced) {
+            buffer.force(synced, buffer.position() - synced);
+            synced = buffer.position();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        seal();
+    }
+
+    private void roll() throws IOException {
+        seal();
+        long name = System.currentTimeMillis();
+        Path segment;
+        do {
+            segment = directory.resolve(String.format("%s%013d%s", PREFIX, name++, format.extension()));
+        } while (Files.exists(segment));
+        channel = FileChannel.open(segment,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        synced = 0;
+    }
+
+    private void seal() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        sync();
+        channel.truncate(buffer.position());
+        channel.close();
+        channel = null;
+        buffer = null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.registrarusuario.infrastructure.cbor;
+
+public class CborFormatException extends RuntimeException {
+
+    public CborFormatException(String message) {
+        super(message);
+    }
+}
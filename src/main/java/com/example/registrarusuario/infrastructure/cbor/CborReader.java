@@ -0,0 +1,232 @@
+package com.example.registrarusuario.infrastructure.cbor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+// Lector de CBOR sobre un cuerpo ya leído y acotado. Acepta largos definidos e indefinidos
+// (los usan encoders en streaming) y salta campos desconocidos de cualquier tipo, con profundidad acotada
+final class CborReader {
+
+    static final int INDEFINITE = -1;
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+    private static final int UNDEFINED = 0xf7;
+    private static final int BREAK = 0xff;
+    private static final int MAX_DEPTH = 16;
+
+    private final byte[] data;
+    private int position;
+
+    CborReader(byte[] data) {
+        this.data = data;
+    }
+
+    // Cantidad de entradas, o INDEFINITE hasta atBreak()
+    int mapHeader(String field) {
+        return containerHeader(CborWriter.MAJOR_MAP, field, "un objeto");
+    }
+
+    int arrayHeader(String field) {
+        return containerHeader(CborWriter.MAJOR_ARRAY, field, "un arreglo");
+    }
+
+    // Consume el "break" que cierra un contenedor indefinido
+    boolean atBreak() {
+        if (peek() == BREAK) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    boolean nextIsNull() {
+        int initial = peek();
+        if (initial == CborWriter.NULL || initial == UNDEFINED) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    String textOrNull(String field) {
+        if (nextIsNull()) {
+            return null;
+        }
+        int initial = next();
+        if (initial >>> 5 != CborWriter.MAJOR_TEXT) {
+            throw new CborFormatException("Se esperaba texto en '" + field + "'");
+        }
+        if ((initial & 0x1f) != 31) {
+            return utf8(bytes(length(initial)));
+        }
+        // Texto indefinido: trozos de largo definido hasta el break
+        StringBuilder text = new StringBuilder();
+        while (!atBreak()) {
+            int chunk = next();
+            if (chunk >>> 5 != CborWriter.MAJOR_TEXT || (chunk & 0x1f) == 31) {
+                throw new CborFormatException("Trozo de texto inválido en '" + field + "'");
+            }
+            text.append(utf8(bytes(length(chunk))));
+        }
+        return text.toString();
+    }
+
+    Boolean boolOrNull(String field) {
+        if (nextIsNull()) {
+            return null;
+        }
+        int initial = next();
+        if (initial == CborWriter.TRUE) {
+            return Boolean.TRUE;
+        }
+        if (initial == CborWriter.FALSE) {
+            return Boolean.FALSE;
+        }
+        throw new CborFormatException("Se esperaba un booleano en '" + field + "'");
+    }
+
+    void skip() {
+        skip(0);
+    }
+
+    // El cuerpo debe ser exactamente un ítem
+    void expectEnd() {
+        if (position != data.length) {
+            throw new CborFormatException("Hay contenido después del objeto");
+        }
+    }
+
+    private void skip(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new CborFormatException("Anidamiento mayor a " + MAX_DEPTH + " niveles");
+        }
+        int initial = next();
+        int major = initial >>> 5;
+        boolean indefinite = (initial & 0x1f) == 31;
+        switch (major) {
+            case MAJOR_UNSIGNED, MAJOR_NEGATIVE -> argument(initial);
+            case MAJOR_BYTES, CborWriter.MAJOR_TEXT -> {
+                if (!indefinite) {
+                    bytes(length(initial));
+                    return;
+                }
+                while (!atBreak()) {
+                    int chunk = next();
+                    if (chunk >>> 5 != major || (chunk & 0x1f) == 31) {
+                        throw new CborFormatException("Trozo inválido en una cadena indefinida");
+                    }
+                    bytes(length(chunk));
+                }
+            }
+            case CborWriter.MAJOR_ARRAY, CborWriter.MAJOR_MAP -> {
+                int itemsPerEntry = major == CborWriter.MAJOR_MAP ? 2 : 1;
+                if (indefinite) {
+                    while (!atBreak()) {
+                        for (int i = 0; i < itemsPerEntry; i++) {
+                            skip(depth + 1);
+                        }
+                    }
+                    return;
+                }
+                long items = (long) length(initial) * itemsPerEntry;
+                for (long i = 0; i < items; i++) {
+                    skip(depth + 1);
+                }
+            }
+            case MAJOR_TAG -> {
+                argument(initial);
+                skip(depth + 1);
+            }
+            default -> {
+                int info = initial & 0x1f;
+                if (info == 31) {
+                    throw new CborFormatException("Break inesperado");
+                }
+                if (info > 27) {
+                    throw new CborFormatException("Codificación reservada 0x" + Integer.toHexString(initial));
+                }
+                if (info >= 24) {
+                    // Valor simple de 1 byte o flotante de 2, 4 u 8 bytes
+                    bytes(info == 24 ? 1 : 1 << (info - 24));
+                }
+            }
+        }
+    }
+
+    private int containerHeader(int major, String field, String expected) {
+        int initial = next();
+        if (initial >>> 5 != major) {
+            throw new CborFormatException("Se esperaba " + expected + " en '" + field + "'");
+        }
+        return (initial & 0x1f) == 31 ? INDEFINITE : length(initial);
+    }
+
+    private long argument(int initial) {
+        int info = initial & 0x1f;
+        if (info < 24) {
+            return info;
+        }
+        int size = switch (info) {
+            case 24 -> 1;
+            case 25 -> 2;
+            case 26 -> 4;
+            case 27 -> 8;
+            default -> throw new CborFormatException("Codificación reservada 0x" + Integer.toHexString(initial));
+        };
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            value = (value << 8) | next();
+        }
+        return value;
+    }
+
+    // Cada byte, elemento o entrada ocupa al menos un byte: un largo mayor a lo que resta es inválido
+    private int length(int initial) {
+        long length = argument(initial);
+        if (length < 0 || length > data.length - position) {
+            throw new CborFormatException("Largo mayor que el cuerpo");
+        }
+        return (int) length;
+    }
+
+    private byte[] bytes(int length) {
+        if (length > data.length - position) {
+            throw new CborFormatException("El cuerpo termina antes de lo declarado");
+        }
+        byte[] bytes = new byte[length];
+        System.arraycopy(data, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    private static String utf8(byte[] bytes) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            throw new CborFormatException("Texto con UTF-8 inválido");
+        }
+    }
+
+    private int peek() {
+        if (position >= data.length) {
+            throw new CborFormatException("El cuerpo termina antes de lo declarado");
+        }
+        return data[position] & 0xff;
+    }
+
+    private int next() {
+        int value = peek();
+        position++;
+        return value;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.registrarusuario.infrastructure.cbor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Subconjunto de CBOR (RFC 8949) que usan los DTOs: mapas y arreglos de largo definido, texto UTF-8,
+// booleanos y null. Siempre la codificación más corta de cada largo
+final class CborWriter {
+
+    static final int MAJOR_TEXT = 3;
+    static final int MAJOR_ARRAY = 4;
+    static final int MAJOR_MAP = 5;
+    static final int FALSE = 0xf4;
+    static final int TRUE = 0xf5;
+    static final int NULL = 0xf6;
+
+    private byte[] buffer;
+    private int size;
+
+    CborWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    CborWriter mapHeader(int entries) {
+        head(MAJOR_MAP, entries);
+        return this;
+    }
+
+    CborWriter arrayHeader(int items) {
+        head(MAJOR_ARRAY, items);
+        return this;
+    }
+
+    CborWriter text(String value) {
+        if (value == null) {
+            return writeNull();
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        head(MAJOR_TEXT, bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    CborWriter bool(Boolean value) {
+        if (value == null) {
+            return writeNull();
+        }
+        put(value ? TRUE : FALSE);
+        return this;
+    }
+
+    CborWriter writeNull() {
+        put(NULL);
+        return this;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void head(int major, int argument) {
+        int type = major << 5;
+        if (argument < 24) {
+            put(type | argument);
+        } else if (argument < 0x100) {
+            put(type | 24);
+            put(argument);
+        } else if (argument < 0x10000) {
+            put(type | 25);
+            put(argument >>> 8);
+            put(argument);
+        } else {
+            put(type | 26);
+            put(argument >>> 24);
+            put(argument >>> 16);
+            put(argument >>> 8);
+            put(argument);
+        }
+    }
+
+    private void put(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.registrarusuario.infrastructure.cbor;
+
+import com.example.registrarusuario.application.dto.ErrorResponse;
+import com.example.registrarusuario.application.dto.PhoneRequest;
+import com.example.registrarusuario.application.dto.PhoneResponse;
+import com.example.registrarusuario.application.dto.UserRegistrationMinimalResponse;
+import com.example.registrarusuario.application.dto.UserRegistrationRequest;
+import com.example.registrarusuario.application.dto.UserRegistrationResponse;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Los DTOs del registro como CBOR con el mismo esquema que el JSON: mapas con las mismas claves
+// ("last_login", "contrycode"...), fechas como texto ISO-8601 local y null explícito. Un cliente con
+// cualquier librería CBOR puede reutilizar los ejemplos JSON de la API. Sin reflexión ni Jackson
+public final class RegistrationCborCodec {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private RegistrationCborCodec() {
+    }
+
+    public static UserRegistrationRequest readRequest(byte[] body) {
+        CborReader reader = new CborReader(body);
+        String name = null;
+        String email = null;
+        String password = null;
+        List<PhoneRequest> phones = null;
+        int entries = reader.mapHeader("$");
+        for (int i = 0; entries == CborReader.INDEFINITE ? !reader.atBreak() : i < entries; i++) {
+            String field = reader.textOrNull("$");
+            switch (field == null ? "" : field) {
+                case "name" -> name = reader.textOrNull(field);
+                case "email" -> email = reader.textOrNull(field);
+                case "password" -> password = reader.textOrNull(field);
+                case "phones" -> phones = readPhones(reader);
+                default -> reader.skip();
+            }
+        }
+        reader.expectEnd();
+        return new UserRegistrationRequest(name, email, password, phones);
+    }
+
+    public static byte[] writeRequest(UserRegistrationRequest request) {
+        CborWriter writer = new CborWriter(128).mapHeader(4)
+                .text("name").text(request.name())
+                .text("email").text(request.email())
+                .text("password").text(request.password())
+                .text("phones");
+        if (request.phones() == null) {
+            writer.writeNull();
+        } else {
+            writer.arrayHeader(request.phones().size());
+            for (PhoneRequest phone : request.phones()) {
+                if (phone == null) {
+                    writer.writeNull();
+                } else {
+                    writePhone(writer, phone.number(), phone.citycode(), phone.contrycode());
+                }
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    public static byte[] writeResponse(UserRegistrationResponse response) {
+        CborWriter writer = new CborWriter(256).mapHeader(9)
+                .text("id").text(response.id())
+                .text("name").text(response.name())
+                .text("email").text(response.email())
+                .text("phones");
+        if (response.phones() == null) {
+            writer.writeNull();
+        } else {
+            writer.arrayHeader(response.phones().size());
+            for (PhoneResponse phone : response.phones()) {
+                writePhone(writer, phone.number(), phone.citycode(), phone.contrycode());
+            }
+        }
+        return writer
+                .text("created").text(format(response.created()))
+                .text("modified").text(format(response.modified()))
+                .text("last_login").text(format(response.lastLogin()))
+                .text("token").text(response.token())
+                .text("isactive").bool(response.isactive())
+                .toByteArray();
+    }
+
+    public static byte[] writeMinimalResponse(UserRegistrationMinimalResponse response) {
+        return new CborWriter(128).mapHeader(2)
+                .text("id").text(response.id())
+                .text("token").text(response.token())
+                .toByteArray();
+    }
+
+    public static UserRegistrationResponse readResponse(byte[] body) {
+        CborReader reader = new CborReader(body);
+        String id = null;
+        String name = null;
+        String email = null;
+        List<PhoneResponse> phones = null;
+        LocalDateTime created = null;
+        LocalDateTime modified = null;
+        LocalDateTime lastLogin = null;
+        String token = null;
+        Boolean isactive = null;
+        int entries = reader.mapHeader("$");
+        for (int i = 0; entries == CborReader.INDEFINITE ? !reader.atBreak() : i < entries; i++) {
+            String field = reader.textOrNull("$");
+            switch (field == null ? "" : field) {
+                case "id" -> id = reader.textOrNull(field);
+                case "name" -> name = reader.textOrNull(field);
+                case "email" -> email = reader.textOrNull(field);
+                case "phones" -> phones = toResponses(readPhones(reader));
+                case "created" -> created = parse(reader.textOrNull(field), field);
+                case "modified" -> modified = parse(reader.textOrNull(field), field);
+                case "last_login" -> lastLogin = parse(reader.textOrNull(field), field);
+                case "token" -> token = reader.textOrNull(field);
+                case "isactive" -> isactive = reader.boolOrNull(field);
+                default -> reader.skip();
+            }
+        }
+        reader.expectEnd();
+        return new UserRegistrationResponse(id, name, email, phones, created, modified, lastLogin, token, isactive);
+    }
+
+    public static byte[] writeError(ErrorResponse error) {
+        return new CborWriter(64).mapHeader(1)
+                .text("mensaje").text(error.mensaje())
+                .toByteArray();
+    }
+
+    private static List<PhoneRequest> readPhones(CborReader reader) {
+        if (reader.nextIsNull()) {
+            return null;
+        }
+        List<PhoneRequest> phones = new ArrayList<>();
+        int items = reader.arrayHeader("phones");
+        for (int i = 0; items == CborReader.INDEFINITE ? !reader.atBreak() : i < items; i++) {
+            phones.add(readPhone(reader));
+        }
+        return phones;
+    }
+
+    private static List<PhoneResponse> toResponses(List<PhoneRequest> phones) {
+        return phones == null ? null : phones.stream()
+                .map(phone -> phone == null ? null
+                        : new PhoneResponse(phone.number(), phone.citycode(), phone.contrycode()))
+                .toList();
+    }
+
+    private static PhoneRequest readPhone(CborReader reader) {
+        if (reader.nextIsNull()) {
+            return null;
+        }
+        String number = null;
+        String citycode = null;
+        String contrycode = null;
+        int entries = reader.mapHeader("phones[]");
+        for (int i = 0; entries == CborReader.INDEFINITE ? !reader.atBreak() : i < entries; i++) {
+            String field = reader.textOrNull("phones[]");
+            switch (field == null ? "" : field) {
+                case "number" -> number = reader.textOrNull(field);
+                case "citycode" -> citycode = reader.textOrNull(field);
+                case "contrycode" -> contrycode = reader.textOrNull(field);
+                default -> reader.skip();
+            }
+        }
+        return new PhoneRequest(number, citycode, contrycode);
+    }
+
+    private static void writePhone(CborWriter writer, String number, String citycode, String contrycode) {
+        writer.mapHeader(3)
+                .text("number").text(number)
+                .text("citycode").text(citycode)
+                .text("contrycode").text(contrycode);
+    }
+
+    private static String format(LocalDateTime value) {
+        return value == null ? null : DATE_TIME.format(value);
+    }
+
+    private static LocalDateTime parse(String value, String field) {
+        try {
+            return value == null ? null : LocalDateTime.parse(value, DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new CborFormatException("Fecha inválida en '" + field + "'");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.registrarusuario.infrastructure.cbor;
+
+import com.example.registrarusuario.application.dto.ErrorResponse;
+import com.example.registrarusuario.application.dto.UserRegistrationMinimalResponse;
+import com.example.registrarusuario.application.dto.UserRegistrationRequest;
+import com.example.registrarusuario.application.dto.UserRegistrationResponse;
+import com.example.registrarusuario.application.exception.PayloadTooLargeException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+// application/cbor para POST /api/users/register: lee UserRegistrationRequest y escribe
+// las respuestas del registro y ErrorResponse con RegistrationCborCodec. El prevalidador solo mira JSON,
+// así que el tope de tamaño se aplica aquí al leer (413, igual que la prevalidación)
+public class RegistrationCborHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final int maxBodySize;
+    private final PayloadTooLargeException tooLarge;
+
+    public RegistrationCborHttpMessageConverter(int maxBodySize) {
+        super(MediaType.APPLICATION_CBOR);
+        this.maxBodySize = maxBodySize;
+        this.tooLarge = new PayloadTooLargeException(
+                "El cuerpo de la solicitud excede el máximo de " + maxBodySize + " bytes");
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == UserRegistrationRequest.class
+                || clazz == UserRegistrationResponse.class
+                || clazz == UserRegistrationMinimalResponse.class
+                || clazz == ErrorResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return clazz == UserRegistrationRequest.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return clazz != UserRegistrationRequest.class && supports(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] body = inputMessage.getBody().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            throw tooLarge;
+        }
+        try {
+            return RegistrationCborCodec.readRequest(body);
+        } catch (CborFormatException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        byte[] body;
+        if (object instanceof UserRegistrationResponse response) {
+            body = RegistrationCborCodec.writeResponse(response);
+        } else if (object instanceof UserRegistrationMinimalResponse minimal) {
+            body = RegistrationCborCodec.writeMinimalResponse(minimal);
+        } else {
+            body = RegistrationCborCodec.writeError((ErrorResponse) object);
+        }
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.registrarusuario.infrastructure.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.concurrency")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("20")
+        int initialLimit,
+
+        @DefaultValue("4")
+        int minLimit,
+
+        @DefaultValue("200")
+        int maxLimit,
+
+        @DefaultValue("2.0")
+        double rttTolerance,
+
+        @DefaultValue("0.2")
+        double smoothing,
+
+        @DefaultValue("1s")
+        Duration retryAfter
+) {}
@@ -0,0 +1,32 @@
+package com.example.registrarusuario.infrastructure.concurrency;
+
+import com.example.registrarusuario.domain.exception.ServiceOverloadedException;
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.domain.port.in.RegisterUserUseCase;
+import io.micrometer.core.instrument.Counter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ConcurrencyLimitedRegisterUserUseCase implements RegisterUserUseCase {
+
+    private final RegisterUserUseCase delegate;
+    private final GradientConcurrencyLimiter limiter;
+    private final long retryAfterSeconds;
+    private final Counter shedCounter;
+
+    @Override
+    public User registerUser(User user) {
+        if (!limiter.tryAcquire()) {
+            shedCounter.increment();
+            throw new ServiceOverloadedException(
+                    "El servicio está saturado, intente nuevamente más tarde", retryAfterSeconds);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return delegate.registerUser(user);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+}
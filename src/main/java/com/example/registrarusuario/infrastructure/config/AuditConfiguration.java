@@ -0,0 +1,24 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.domain.port.out.RegistrationAuditPort;
+import com.example.registrarusuario.infrastructure.audit.AsyncFileAuditAdapter;
+import com.example.registrarusuario.infrastructure.audit.AuditProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfiguration {
+
+    // close() (inferido) vacía el buffer y cierra el segmento al detener la aplicación
+    @Bean
+    public RegistrationAuditPort registrationAuditPort(AuditProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return (email, outcome, userId) -> {
+            };
+        }
+        return new AsyncFileAuditAdapter(properties, meterRegistry);
+    }
+}
@@ -1,22 +1,111 @@
 package com.example.registrarusuario.infrastructure.config;
 
+import com.example.registrarusuario.domain.port.in.FindUserUseCase;
+import com.example.registrarusuario.domain.port.in.LoginUserUseCase;
 import com.example.registrarusuario.domain.port.in.RegisterUserUseCase;
+import com.example.registrarusuario.domain.port.out.RegistrationAuditPort;
 import com.example.registrarusuario.domain.port.out.TokenGeneratorPort;
 import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
 import com.example.registrarusuario.domain.port.out.ValidationPort;
+import com.example.registrarusuario.domain.service.UserLoginService;
+import com.example.registrarusuario.domain.service.UserQueryService;
 import com.example.registrarusuario.domain.service.UserRegistrationService;
+import com.example.registrarusuario.infrastructure.concurrency.ConcurrencyLimitProperties;
+import com.example.registrarusuario.infrastructure.concurrency.ConcurrencyLimitedRegisterUserUseCase;
+import com.example.registrarusuario.infrastructure.concurrency.GradientConcurrencyLimiter;
+import com.example.registrarusuario.infrastructure.profiling.ProfiledRegisterUserUseCase;
+import com.example.registrarusuario.infrastructure.tracing.StageTracer;
+import com.example.registrarusuario.infrastructure.tracing.TracedTokenGeneratorPort;
+import com.example.registrarusuario.infrastructure.tracing.TracedUserRepositoryPort;
+import com.example.registrarusuario.infrastructure.tracing.TracedValidationPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @Configuration
+@ImportRuntimeHints(NativeRuntimeHints.class)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
 public class BeanConfiguration {
 
+    private final StageTracer stageTracer;
+
+    public BeanConfiguration(StageTracer stageTracer) {
+        this.stageTracer = stageTracer;
+    }
+
     @Bean
     public RegisterUserUseCase registerUserUseCase(
             UserRepositoryPort userRepositoryPort,
             ValidationPort validationPort,
+            TokenGeneratorPort tokenGeneratorPort,
+            RegistrationAuditPort registrationAuditPort,
+            ConcurrencyLimitProperties concurrencyLimitProperties,
+            MeterRegistry meterRegistry,
+            @Value("${app.phones.max-per-user:100}") int maxPhones,
+            @Value("${app.phones.parallel-validation-threshold:64}") int parallelPhoneThreshold) {
+        // El evento JFR app.Registration solo tiene costo mientras hay una grabación que lo habilita
+        RegisterUserUseCase registerUserUseCase = new ProfiledRegisterUserUseCase(new UserRegistrationService(
+                traced(userRepositoryPort), traced(validationPort), traced(tokenGeneratorPort),
+                registrationAuditPort, maxPhones, parallelPhoneThreshold));
+
+        if (!concurrencyLimitProperties.enabled()) {
+            return registerUserUseCase;
+        }
+        return limitConcurrency(registerUserUseCase, concurrencyLimitProperties, meterRegistry);
+    }
+
+    @Bean
+    public LoginUserUseCase loginUserUseCase(
+            UserRepositoryPort userRepositoryPort,
             TokenGeneratorPort tokenGeneratorPort) {
-        return new UserRegistrationService(userRepositoryPort, validationPort, tokenGeneratorPort);
+        return new UserLoginService(traced(userRepositoryPort), traced(tokenGeneratorPort));
+    }
+
+    @Bean
+    public FindUserUseCase findUserUseCase(UserRepositoryPort userRepositoryPort) {
+        return new UserQueryService(traced(userRepositoryPort));
+    }
+
+    private UserRepositoryPort traced(UserRepositoryPort port) {
+        return new TracedUserRepositoryPort(port, stageTracer);
     }
-}
 
+    private ValidationPort traced(ValidationPort port) {
+        return new TracedValidationPort(port, stageTracer);
+    }
+
+    private TokenGeneratorPort traced(TokenGeneratorPort port) {
+        return new TracedTokenGeneratorPort(port, stageTracer);
+    }
+
+    private RegisterUserUseCase limitConcurrency(RegisterUserUseCase registerUserUseCase,
+                                                 ConcurrencyLimitProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(
+                properties.initialLimit(),
+                properties.minLimit(),
+                properties.maxLimit(),
+                properties.rttTolerance(),
+                properties.smoothing());
+
+        Gauge.builder("app.concurrency.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .description("Límite adaptativo de registros concurrentes")
+                .register(meterRegistry);
+        Gauge.builder("app.concurrency.inflight", limiter, GradientConcurrencyLimiter::getInFlight)
+                .description("Registros en curso")
+                .register(meterRegistry);
+        Counter shedCounter = Counter.builder("app.concurrency.shed")
+                .description("Registros rechazados con 503 por sobrecarga")
+                .register(meterRegistry);
+
+        // Retry-After va en segundos enteros: se redondea hacia arriba para no enviar nunca 0
+        long retryAfterSeconds = Math.max(1L, (properties.retryAfter().toMillis() + 999) / 1000);
+        return new ConcurrencyLimitedRegisterUserUseCase(
+                registerUserUseCase, limiter, retryAfterSeconds, shedCounter);
+    }
+}
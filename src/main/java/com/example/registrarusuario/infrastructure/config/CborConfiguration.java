@@ -0,0 +1,20 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.infrastructure.cbor.RegistrationCborHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+// Spring Boot agrega los HttpMessageConverter declarados como beans a los de Spring MVC
+@Configuration
+@ConditionalOnProperty(name = "app.cbor.enabled", havingValue = "true", matchIfMissing = true)
+public class CborConfiguration {
+
+    @Bean
+    public RegistrationCborHttpMessageConverter registrationCborHttpMessageConverter(
+            @Value("${app.cbor.max-body-size:16KB}") DataSize maxBodySize) {
+        return new RegistrationCborHttpMessageConverter((int) maxBodySize.toBytes());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.infrastructure.persistence.index.EmailIndex;
+import com.example.registrarusuario.infrastructure.persistence.index.MappedEmailIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+@Configuration
+public class EmailIndexConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public EmailIndex emailIndex(@Value("${app.email-index.enabled:false}") boolean enabled,
+                                 @Value("${app.email-index.path:./data/email-index.bin}") Path path,
+                                 @Value("${app.email-index.capacity:1048576}") int capacity,
+                                 DataSource dataSource,
+                                 MeterRegistry meterRegistry) {
+        return enabled ? new MappedEmailIndex(path, capacity, dataSource, meterRegistry) : EmailIndex.disabled();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.infrastructure.persistence.entity.PhoneEntity;
+import com.example.registrarusuario.infrastructure.persistence.entity.UserEntity;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.Connection;
+import java.util.List;
+
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    // jjwt-impl y jjwt-jackson son runtimeOnly: jjwt-api los instancia por reflexión y ServiceLoader
+    private static final List<String> JJWT_REFLECTIVE_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.impl.crypto.MacProvider",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    private static final String H2_DRIVER = "org.h2.Driver";
+
+    // Jackson lo (de)serializa por reflexión al leer y escribir users.phones_json
+    private static final String STORED_PHONE =
+            "com.example.registrarusuario.infrastructure.persistence.mapper.PhoneJsonCodec$StoredPhone";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        JJWT_REFLECTIVE_TYPES.forEach(type -> hints.reflection().registerTypeIfPresent(classLoader, type,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS));
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        // Las entidades las registra el AOT de Spring Data JPA; se declaran explícitamente
+        // para que Hibernate pueda acceder a los campos generados por Lombok
+        hints.reflection().registerType(UserEntity.class, MemberCategory.values());
+        hints.reflection().registerType(PhoneEntity.class, MemberCategory.values());
+        hints.reflection().registerTypeIfPresent(classLoader, STORED_PHONE, MemberCategory.values());
+
+        hints.reflection().registerTypeIfPresent(classLoader, H2_DRIVER,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // TenantRoutingDataSource envuelve cada conexión prestada en un proxy JDK
+        hints.proxies().registerJdkProxy(Connection.class);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.infrastructure.outbox.NdjsonFileOutboxSink;
+import com.example.registrarusuario.infrastructure.outbox.OutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+// Otros sinks (broker, webhook) se registran como bean OutboxSink con app.outbox.sink distinto de "file"
+@Configuration
+public class OutboxConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file", matchIfMissing = true)
+    public OutboxSink outboxSink(@Value("${app.outbox.file.path:./data/outbox-events.ndjson}") Path path,
+                                 ObjectMapper objectMapper) {
+        return new NdjsonFileOutboxSink(path, objectMapper);
+    }
+}
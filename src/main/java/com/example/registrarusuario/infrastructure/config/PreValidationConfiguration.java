@@ -0,0 +1,29 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.infrastructure.prevalidation.PreValidationFilter;
+import com.example.registrarusuario.infrastructure.prevalidation.PreValidationProperties;
+import com.example.registrarusuario.infrastructure.prevalidation.RegistrationPayloadValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(PreValidationProperties.class)
+@ConditionalOnProperty(name = "app.pre-validation.enabled", havingValue = "true", matchIfMissing = true)
+public class PreValidationConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<PreValidationFilter> preValidationFilter(PreValidationProperties properties,
+                                                                           MeterRegistry meterRegistry) {
+        FilterRegistrationBean<PreValidationFilter> registration = new FilterRegistrationBean<>(
+                new PreValidationFilter(new RegistrationPayloadValidator(properties), meterRegistry));
+        registration.addUrlPatterns(properties.paths().toArray(String[]::new));
+        // Después del rate limiting: un cliente limitado no llega a leer su cuerpo
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.infrastructure.profiling.JfrProfilingProperties;
+import com.example.registrarusuario.infrastructure.profiling.JfrRecordingEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// El endpoint existe pero no se expone por HTTP hasta agregarlo a management.endpoints.web.exposure.include
+@Configuration
+@EnableConfigurationProperties(JfrProfilingProperties.class)
+@ConditionalOnProperty(name = "app.profiling.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class ProfilingConfiguration {
+
+    @Bean
+    public JfrRecordingEndpoint jfrRecordingEndpoint(JfrProfilingProperties properties) {
+        return new JfrRecordingEndpoint(properties);
+    }
+}
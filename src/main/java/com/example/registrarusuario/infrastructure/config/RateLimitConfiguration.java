@@ -0,0 +1,37 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.infrastructure.ratelimit.RateLimitFilter;
+import com.example.registrarusuario.infrastructure.ratelimit.RateLimitProperties;
+import com.example.registrarusuario.infrastructure.ratelimit.RouteRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   MeterRegistry meterRegistry) {
+        List<RouteRateLimiter> limiters = properties.routes().stream()
+                .map(route -> new RouteRateLimiter(route, properties.maxClients(),
+                        properties.idleTimeout(), meterRegistry))
+                .toList();
+
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(limiters, properties.apiKeyHeader(),
+                        properties.apiKeys()));
+        registration.addUrlPatterns("/api/*");
+        // Antes de cualquier otro filtro y de que se lea el cuerpo JSON
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.infrastructure.persistence.replica.ReadReplicaProperties;
+import com.example.registrarusuario.infrastructure.persistence.replica.ReplicaLagMonitor;
+import com.example.registrarusuario.infrastructure.persistence.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(name = "app.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReadReplicaProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReadReplicaProperties.Node node : properties.nodes()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + node.name());
+            replica.setJdbcUrl(node.url());
+            replica.setUsername(node.username());
+            replica.setPassword(node.password());
+            replica.setReadOnly(true);
+            replicas.put(node.name(), replica);
+        }
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(primary, replicas, properties.maxLag(),
+                properties.heartbeatInterval(), meterRegistry);
+        return new ReplicaRoutingDataSource(primary, replicas, lagMonitor, meterRegistry);
+    }
+
+    // Como bean el contexto lo arranca (SmartLifecycle) después de las migraciones de Flyway
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return replicaRoutingDataSource.lagMonitor();
+    }
+
+    // DataSource que usan JPA y JdbcTemplate: la conexión real se elige al primer statement
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
+import com.example.registrarusuario.infrastructure.outbox.OutboxEventWriter;
+import com.example.registrarusuario.infrastructure.persistence.adapter.TokenStorage;
+import com.example.registrarusuario.infrastructure.persistence.shard.ShardRouter;
+import com.example.registrarusuario.infrastructure.persistence.shard.ShardedUserRepositoryAdapter;
+import com.example.registrarusuario.infrastructure.persistence.shard.ShardingProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        return ShardRouter.create(properties);
+    }
+
+    // Reemplaza al adaptador JPA de la base única mientras el sharding esté activo
+    @Bean
+    @Primary
+    public UserRepositoryPort shardedUserRepositoryAdapter(ShardRouter shardRouter,
+                                                           @Value("${app.token.storage:FULL}") TokenStorage tokenStorage,
+                                                           @Value("${app.phones.max-lookup-results:50}") int maxLookupResults,
+                                                           OutboxEventWriter outboxEventWriter) {
+        return new ShardedUserRepositoryAdapter(shardRouter, tokenStorage, maxLookupResults, outboxEventWriter);
+    }
+}
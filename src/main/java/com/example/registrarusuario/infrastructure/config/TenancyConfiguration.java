@@ -0,0 +1,87 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.infrastructure.tenant.TenancyProperties;
+import com.example.registrarusuario.infrastructure.tenant.Tenant;
+import com.example.registrarusuario.infrastructure.tenant.TenantFilter;
+import com.example.registrarusuario.infrastructure.tenant.TenantRegistry;
+import com.example.registrarusuario.infrastructure.tenant.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfiguration {
+
+    // Mantienen estado por email fuera del esquema del tenant (otra base, réplicas o índice en memoria)
+    private static final List<String> INCOMPATIBLE_FEATURES = List.of(
+            "app.sharding.enabled", "app.read-replicas.enabled", "app.email-index.enabled");
+
+    // Siempre presente: sin multi-tenancy no tiene tenants y las tareas de fondo usan solo el esquema por defecto
+    @Bean
+    public TenantRegistry tenantRegistry(TenancyProperties properties, Environment environment) {
+        if (properties.enabled()) {
+            for (String feature : INCOMPATIBLE_FEATURES) {
+                if (environment.getProperty(feature, Boolean.class, false)) {
+                    throw new IllegalStateException("app.tenancy.enabled no se puede combinar con " + feature);
+                }
+            }
+        }
+        return new TenantRegistry(properties);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.tenancy.enabled", havingValue = "true")
+    static class SchemaPerTenant {
+
+        // Un único pool para todos los tenants: el esquema se elige al prestar cada conexión
+        @Bean(destroyMethod = "close")
+        @Primary
+        public TenantRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                  TenancyProperties properties,
+                                                  TenantRegistry tenantRegistry,
+                                                  MeterRegistry meterRegistry) {
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            pool.setPoolName("tenants");
+
+            // El esquema por defecto lo migra la autoconfiguración de Flyway
+            if (properties.initializeSchemas()) {
+                for (Tenant tenant : tenantRegistry.tenants()) {
+                    Flyway.configure()
+                            .dataSource(pool)
+                            .locations("classpath:db/migration")
+                            .schemas(tenant.schema())
+                            .load()
+                            .migrate();
+                }
+            }
+            return new TenantRoutingDataSource(pool, tenantRegistry, properties.maxConnectionsPerTenant(),
+                    properties.connectionWait(), meterRegistry);
+        }
+
+        @Bean
+        public FilterRegistrationBean<TenantFilter> tenantFilter(TenantRegistry tenantRegistry,
+                                                                 TenancyProperties properties) {
+            FilterRegistrationBean<TenantFilter> registration =
+                    new FilterRegistrationBean<>(new TenantFilter(tenantRegistry, properties.header()));
+            registration.addUrlPatterns("/api/*");
+            // Antes de la verificación del token: el tenant define con qué clave se valida
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.application.security.TokenVerificationFilter;
+import com.example.registrarusuario.domain.port.out.TokenVerifierPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+@Configuration
+public class TokenVerificationConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<TokenVerificationFilter> tokenVerificationFilter(
+            TokenVerifierPort tokenVerifierPort,
+            @Value("${app.security.protected-paths}") List<String> protectedPaths) {
+        FilterRegistrationBean<TokenVerificationFilter> registration =
+                new FilterRegistrationBean<>(new TokenVerificationFilter(tokenVerifierPort, protectedPaths));
+        registration.addUrlPatterns("/api/*");
+        // Después del rate limiting, para no gastar verificaciones HMAC en tráfico ya rechazado
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
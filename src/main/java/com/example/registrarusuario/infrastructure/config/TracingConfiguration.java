@@ -0,0 +1,60 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.infrastructure.tracing.NdjsonFileSpanExporter;
+import com.example.registrarusuario.infrastructure.tracing.ServerTimingFilter;
+import com.example.registrarusuario.infrastructure.tracing.StageTracer;
+import com.example.registrarusuario.infrastructure.tracing.TracingJacksonHttpMessageConverter;
+import com.example.registrarusuario.infrastructure.tracing.TracingValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.file.Path;
+
+// Etapas de la solicitud (ver StageTracer). Los puertos del dominio se decoran en BeanConfiguration. Los
+// decoradores se instalan siempre: app.tracing.stages.enabled solo apaga los spans y timers, no los eventos JFR
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   StageTracer stageTracer) {
+        return new TracingJacksonHttpMessageConverter(objectMapper, stageTracer);
+    }
+
+    @Bean
+    public WebMvcConfigurer tracingValidatorConfigurer(LocalValidatorFactoryBean validator, StageTracer stageTracer) {
+        return new WebMvcConfigurer() {
+            @Override
+            public Validator getValidator() {
+                return new TracingValidator(validator, stageTracer);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.server-timing.enabled", havingValue = "true")
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    // Spring Boot registra cada SpanExporter en su BatchSpanProcessor
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "file")
+    public SpanExporter fileSpanExporter(@Value("${app.tracing.file.path:./data/spans.ndjson}") Path path,
+                                         ObjectMapper objectMapper) {
+        return new NdjsonFileSpanExporter(path, objectMapper);
+    }
+}
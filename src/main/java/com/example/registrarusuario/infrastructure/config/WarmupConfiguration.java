@@ -0,0 +1,44 @@
+package com.example.registrarusuario.infrastructure.config;
+
+import com.example.registrarusuario.application.mapper.UserDtoMapper;
+import com.example.registrarusuario.domain.port.in.FindUserUseCase;
+import com.example.registrarusuario.domain.port.in.RegisterUserUseCase;
+import com.example.registrarusuario.domain.port.out.TokenVerifierPort;
+import com.example.registrarusuario.infrastructure.tenant.TenantRegistry;
+import com.example.registrarusuario.infrastructure.warmup.StartupWarmup;
+import com.example.registrarusuario.infrastructure.warmup.WarmupProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupConfiguration {
+
+    @Bean
+    public StartupWarmup startupWarmup(WarmupProperties properties,
+                                       RegisterUserUseCase registerUserUseCase,
+                                       FindUserUseCase findUserUseCase,
+                                       TokenVerifierPort tokenVerifierPort,
+                                       UserDtoMapper userDtoMapper,
+                                       ObjectMapper objectMapper,
+                                       Validator validator,
+                                       PlatformTransactionManager transactionManager,
+                                       DataSource dataSource,
+                                       TenantRegistry tenantRegistry,
+                                       @Value("${app.sharding.enabled:false}") boolean shardingEnabled,
+                                       MeterRegistry meterRegistry) {
+        return new StartupWarmup(properties, registerUserUseCase, findUserUseCase, tokenVerifierPort,
+                userDtoMapper, objectMapper, validator, transactionManager, dataSource, tenantRegistry,
+                !shardingEnabled, meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.registrarusuario.infrastructure.outbox;
+
+import java.time.LocalDateTime;
+
+public record OutboxEvent(
+        long id,
+        String aggregateId,
+        String eventType,
+        String payload,
+        LocalDateTime createdAt
+) {}
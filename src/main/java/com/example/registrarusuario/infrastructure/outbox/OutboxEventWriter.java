@@ -0,0 +1,74 @@
+package com.example.registrarusuario.infrastructure.outbox;
+
+import com.example.registrarusuario.infrastructure.persistence.entity.OutboxEventEntity;
+import com.example.registrarusuario.infrastructure.persistence.entity.UserEntity;
+import com.example.registrarusuario.infrastructure.persistence.repository.JpaOutboxRepository;
+import com.example.registrarusuario.infrastructure.tenant.TenantContext;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Component
+public class OutboxEventWriter {
+
+    static final String USER_REGISTERED = "UserRegistered";
+    private static final String INSERT_EVENT =
+            "INSERT INTO outbox (aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JpaOutboxRepository jpaOutboxRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public OutboxEventWriter(JpaOutboxRepository jpaOutboxRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${app.outbox.enabled:true}") boolean enabled) {
+        this.jpaOutboxRepository = jpaOutboxRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    // MANDATORY: el evento solo existe si se confirma la misma transacción que inserta al usuario
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userRegistered(UserEntity user) {
+        if (!enabled) {
+            return;
+        }
+        jpaOutboxRepository.save(OutboxEventEntity.builder()
+                .aggregateId(user.getId())
+                .eventType(USER_REGISTERED)
+                .payload(toJson(new UserRegisteredPayload(user.getId(), user.getName(), user.getEmail(),
+                        user.getCreated(), TenantContext.currentId())))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    // Variante JDBC para los shards: el caller la invoca dentro de la transacción que inserta al usuario
+    // en esa misma base, y el relay recorre el outbox de cada shard
+    public void userRegistered(JdbcTemplate outbox, String id, String name, String email, LocalDateTime created) {
+        if (!enabled) {
+            return;
+        }
+        outbox.update(INSERT_EVENT, id, USER_REGISTERED,
+                toJson(new UserRegisteredPayload(id, name, email, created, TenantContext.currentId())),
+                LocalDateTime.now());
+    }
+
+    private String toJson(UserRegisteredPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + USER_REGISTERED, e);
+        }
+    }
+
+    // Sin password ni token: el evento sale del servicio. tenant solo aparece con multi-tenancy
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record UserRegisteredPayload(String id, String name, String email, LocalDateTime created, String tenant) {}
+}
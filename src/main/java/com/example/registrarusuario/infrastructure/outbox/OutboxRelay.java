@@ -0,0 +1,173 @@
+package com.example.registrarusuario.infrastructure.outbox;
+
+import com.example.registrarusuario.infrastructure.persistence.shard.ShardRouter;
+import com.example.registrarusuario.infrastructure.persistence.shard.UserShard;
+import com.example.registrarusuario.infrastructure.tenant.TenantRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Lee lotes del outbox en orden de id, los publica y recién entonces los borra: si el proceso cae
+// entre publicar y borrar, el lote se vuelve a publicar (at-least-once). Con multi-tenancy cada ciclo
+// recorre el outbox del esquema por defecto y el de cada tenant; con sharding, además el de cada shard
+@Slf4j
+@Component
+public class OutboxRelay implements DisposableBean {
+
+    private static final String SELECT_BATCH =
+            "SELECT id, aggregate_id, event_type, payload, created_at FROM outbox ORDER BY id LIMIT ?";
+    private static final String DELETE_EVENT = "DELETE FROM outbox WHERE id = ?";
+    private static final String OLDEST_PENDING = "SELECT MIN(created_at) FROM outbox";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final OutboxSink sink;
+    private final TenantRegistry tenantRegistry;
+    private final ObjectProvider<ShardRouter> shardRouter;
+    private final int batchSize;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer deliveryLag;
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private final ScheduledExecutorService scheduler;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            TransactionOperations transactionOperations,
+            OutboxSink sink,
+            TenantRegistry tenantRegistry,
+            ObjectProvider<ShardRouter> shardRouter,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.enabled:true}") boolean enabled,
+            @Value("${app.outbox.poll-interval:500ms}") Duration pollInterval,
+            @Value("${app.outbox.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.sink = sink;
+        this.tenantRegistry = tenantRegistry;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.publishedCounter = Counter.builder("app.outbox.published")
+                .description("Eventos del outbox entregados al sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("app.outbox.failures")
+                .description("Ciclos del relay que fallaron y se reintentarán")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("app.outbox.delivery.lag")
+                .description("Tiempo entre la escritura del evento y su publicación")
+                .register(meterRegistry);
+        Gauge.builder("app.outbox.lag", oldestPendingMillis, AtomicLong::get)
+                .description("Antigüedad del evento pendiente más viejo")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        if (enabled) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "outbox-relay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long periodMillis = Math.max(1L, pollInterval.toMillis());
+            scheduler.scheduleWithFixedDelay(this::drainAllQuietly, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public int relayOnce() {
+        return relayOnce(jdbcTemplate, transactionOperations);
+    }
+
+    public long drain() {
+        long lagMillis = drain(jdbcTemplate, transactionOperations);
+        oldestPendingMillis.set(lagMillis);
+        return lagMillis;
+    }
+
+    public long drain(UserShard shard) {
+        return drain(shard.jdbc(), shard.transactions());
+    }
+
+    private int relayOnce(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations) {
+        List<OutboxEvent> events = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) -> new OutboxEvent(
+                rs.getLong("id"),
+                rs.getString("aggregate_id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getObject("created_at", LocalDateTime.class)), batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            sink.publish(events);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo publicar el lote del outbox", e);
+        }
+        transactionOperations.executeWithoutResult(status -> jdbcTemplate.batchUpdate(DELETE_EVENT,
+                events.stream().map(event -> new Object[]{event.id()}).toList()));
+
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> deliveryLag.record(Duration.between(event.createdAt(), now)));
+        publishedCounter.increment(events.size());
+        return events.size();
+    }
+
+    private long drain(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations) {
+        while (relayOnce(jdbcTemplate, transactionOperations) == batchSize) {
+            // Lote lleno: probablemente quedan más eventos
+        }
+        LocalDateTime oldest = jdbcTemplate.queryForObject(OLDEST_PENDING, LocalDateTime.class);
+        return oldest == null ? 0L : Duration.between(oldest, LocalDateTime.now()).toMillis();
+    }
+
+    // El gauge refleja el evento pendiente más viejo entre todos los esquemas y shards
+    private void drainAllQuietly() {
+        long[] maxLagMillis = {0L};
+        tenantRegistry.forEachSchema(() -> maxLagMillis[0] = Math.max(maxLagMillis[0],
+                drainQuietly(() -> drain(jdbcTemplate, transactionOperations))));
+        ShardRouter shards = shardRouter.getIfAvailable();
+        if (shards != null) {
+            for (UserShard shard : shards.shards()) {
+                maxLagMillis[0] = Math.max(maxLagMillis[0], drainQuietly(() -> drain(shard)));
+            }
+        }
+        oldestPendingMillis.set(maxLagMillis[0]);
+    }
+
+    private long drainQuietly(LongSupplier drain) {
+        try {
+            return drain.getAsLong();
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.warn("Falló el relay del outbox; se reintentará en el próximo ciclo", e);
+            return 0L;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+}
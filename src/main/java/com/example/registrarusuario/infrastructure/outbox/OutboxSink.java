@@ -0,0 +1,11 @@
+package com.example.registrarusuario.infrastructure.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+// Destino de los eventos del outbox. Al retornar sin excepción el lote debe estar entregado de forma
+// durable: el relay borra las filas a continuación. Un reintento puede repetir eventos (id estable)
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,30 @@
+package com.example.registrarusuario.infrastructure.persistence.adapter;
+
+import com.example.registrarusuario.domain.exception.EmailAlreadyExistsException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+// Dos registros concurrentes del mismo correo pasan ambos existsByEmail y el segundo choca con
+// uk_users_email_normalized. Los adaptadores lo traducen a la excepción del dominio para que el caso de uso
+// lo audite como EMAIL_ALREADY_EXISTS; cualquier otra violación sigue como error
+public final class DuplicateEmails {
+
+    public static final String UNIQUE_CONSTRAINT = "uk_users_email_normalized";
+
+    private static final EmailAlreadyExistsException EMAIL_ALREADY_EXISTS =
+            new EmailAlreadyExistsException("El correo ya registrado");
+
+    private DuplicateEmails() {
+    }
+
+    public static RuntimeException translate(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(UNIQUE_CONSTRAINT)) {
+                return EMAIL_ALREADY_EXISTS;
+            }
+        }
+        return ex;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.registrarusuario.infrastructure.persistence.adapter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+// Forma en que se persiste users.token: el JWT completo o solo su huella SHA-256
+// (43 caracteres base64url), suficiente para auditar o revocar sin guardar el token
+public enum TokenStorage {
+
+    FULL {
+        @Override
+        public String toStoredForm(String token) {
+            return token;
+        }
+    },
+    HASH {
+        @Override
+        public String toStoredForm(String token) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII));
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 no disponible", e);
+            }
+        }
+    };
+
+    public abstract String toStoredForm(String token);
+}
@@ -2,12 +2,23 @@ package com.example.registrarusuario.infrastructure.persistence.adapter;
 
 import com.example.registrarusuario.domain.model.User;
 import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
+import com.example.registrarusuario.infrastructure.outbox.OutboxEventWriter;
+import com.example.registrarusuario.infrastructure.persistence.buffer.LastLoginWriteBuffer;
 import com.example.registrarusuario.infrastructure.persistence.entity.UserEntity;
+import com.example.registrarusuario.infrastructure.persistence.index.EmailIndex;
 import com.example.registrarusuario.infrastructure.persistence.mapper.UserEntityMapper;
+import com.example.registrarusuario.infrastructure.persistence.replica.ReadYourWritesTracker;
 import com.example.registrarusuario.infrastructure.persistence.repository.JpaUserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -16,17 +27,98 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
 
     private final JpaUserRepository jpaUserRepository;
     private final UserEntityMapper userEntityMapper;
+    private final LastLoginWriteBuffer lastLoginWriteBuffer;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final EmailIndex emailIndex;
+    private final OutboxEventWriter outboxEventWriter;
+
+    @Value("${app.phones.max-lookup-results:50}")
+    private int maxPhoneLookupResults = 50;
+
+    @Value("${app.token.storage:FULL}")
+    private TokenStorage tokenStorage;
 
     @Override
+    @Transactional
     public User save(User user) {
         UserEntity userEntity = userEntityMapper.toEntity(user);
-        UserEntity savedEntity = jpaUserRepository.save(userEntity);
-        return userEntityMapper.toDomain(savedEntity);
+        if (storesTokenHash()) {
+            userEntity.setToken(tokenStorage.toStoredForm(user.getToken()));
+        }
+        // El flush adelanta el INSERT para que un correo duplicado se traduzca aquí y no al confirmar
+        UserEntity savedEntity;
+        try {
+            savedEntity = jpaUserRepository.saveAndFlush(userEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicateEmails.translate(e);
+        }
+        outboxEventWriter.userRegistered(savedEntity);
+        User savedUser = userEntityMapper.toDomain(savedEntity);
+        readYourWritesTracker.recordWrite(user.getNormalizedEmail());
+        afterCommit(() -> emailIndex.add(user.getNormalizedEmail()));
+
+        // El cliente siempre recibe el token emitido, aunque solo se persista su huella
+        return storesTokenHash() ? savedUser.toBuilder().token(user.getToken()).build() : savedUser;
     }
 
     @Override
-    public boolean existsByEmail(String email) {
-        return jpaUserRepository.existsByEmail(email);
+    public boolean existsByEmail(String normalizedEmail) {
+        // Positivo del índice = registrado (colisión de huellas de 64 bits despreciable): se evita la consulta.
+        // El negativo no basta, otras instancias también registran
+        if (emailIndex.contains(normalizedEmail)) {
+            return true;
+        }
+        return readYourWritesTracker.read(normalizedEmail,
+                () -> jpaUserRepository.existsByEmailNormalized(normalizedEmail));
     }
-}
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String normalizedEmail) {
+        return readYourWritesTracker.read(normalizedEmail,
+                () -> jpaUserRepository.findByEmailNormalized(normalizedEmail).map(userEntityMapper::toDomain));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findByPhoneKey(String phoneKey) {
+        // Solo encuentra teléfonos en la tabla phones: los guardados en users.phones_json no están indexados
+        return jpaUserRepository.findByPhoneKey(phoneKey, PageRequest.of(0, maxPhoneLookupResults)).stream()
+                .map(summary -> User.builder()
+                        .id(summary.getId())
+                        .name(summary.getName())
+                        .created(summary.getCreated())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void recordLogin(User user) {
+        String storedToken = storesTokenHash() ? tokenStorage.toStoredForm(user.getToken()) : user.getToken();
+        readYourWritesTracker.recordWrite(user.getNormalizedEmail());
+        if (lastLoginWriteBuffer.isEnabled()) {
+            lastLoginWriteBuffer.record(user.getId(), storedToken, user.getLastLogin());
+            return;
+        }
+        jpaUserRepository.updateLogin(user.getId(), storedToken, user.getLastLogin());
+    }
+
+    // Solo tras el commit: un positivo del índice debe corresponder a una fila confirmada
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private boolean storesTokenHash() {
+        return tokenStorage == TokenStorage.HASH;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.registrarusuario.infrastructure.persistence.buffer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.example.registrarusuario.infrastructure.tenant.Tenant;
+import com.example.registrarusuario.infrastructure.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Coalesce los logins por usuario: solo el más reciente de cada id se escribe, en un único
+// UPDATE por lotes cada max-staleness (o antes si el buffer alcanza max-size). Con multi-tenancy
+// cada login recuerda su tenant y el lote se escribe agrupado, en el esquema de cada uno
+@Slf4j
+@Component
+public class LastLoginWriteBuffer implements DisposableBean {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ?, modified = ?, token = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final boolean enabled;
+    private final int maxSize;
+    private final Map<String, PendingLogin> pending = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+    private final ScheduledExecutorService scheduler;
+
+    public LastLoginWriteBuffer(
+            JdbcTemplate jdbcTemplate,
+            TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry,
+            @Value("${app.login-buffer.enabled:true}") boolean enabled,
+            @Value("${app.login-buffer.max-staleness:1s}") Duration maxStaleness,
+            @Value("${app.login-buffer.max-size:1000}") int maxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.flushedCounter = Counter.builder("app.login-buffer.flushed")
+                .description("Actualizaciones de último login escritas en base de datos")
+                .register(meterRegistry);
+        Gauge.builder("app.login-buffer.size", pending, Map::size)
+                .description("Usuarios con último login pendiente de escribir")
+                .register(meterRegistry);
+
+        if (enabled) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "last-login-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long periodMillis = Math.max(1L, maxStaleness.toMillis());
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(String userId, String token, LocalDateTime lastLogin) {
+        pending.merge(userId, new PendingLogin(TenantContext.current(), token, lastLogin), PendingLogin::newest);
+        // Durante el cierre ya no hay flusher: se escribe en el hilo de la solicitud sin hacerla fallar
+        if (scheduler.isShutdown() || pending.size() >= maxSize) {
+            try {
+                scheduler.execute(this::flushQuietly);
+            } catch (RejectedExecutionException closing) {
+                flushQuietly();
+            }
+        }
+    }
+
+    // Un solo flusher a la vez; los logins que llegan durante el flush quedan para el siguiente
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Map<Tenant, Map<String, PendingLogin>> byTenant = new LinkedHashMap<>();
+        for (String userId : pending.keySet()) {
+            PendingLogin login = pending.remove(userId);
+            if (login != null) {
+                byTenant.computeIfAbsent(login.tenant(), tenant -> new LinkedHashMap<>()).put(userId, login);
+            }
+        }
+
+        int flushed = 0;
+        RuntimeException failure = null;
+        for (Map.Entry<Tenant, Map<String, PendingLogin>> group : byTenant.entrySet()) {
+            try {
+                flushed += TenantContext.call(group.getKey(), () -> write(group.getValue()));
+            } catch (RuntimeException e) {
+                // Se reencolan sin pisar logins más nuevos recibidos mientras tanto
+                group.getValue().forEach((userId, login) -> pending.merge(userId, login, PendingLogin::newest));
+                failure = failure == null ? e : failure;
+            }
+        }
+        flushedCounter.increment(flushed);
+        if (failure != null) {
+            throw failure;
+        }
+        return flushed;
+    }
+
+    private int write(Map<String, PendingLogin> logins) {
+        List<Object[]> batch = new ArrayList<>(logins.size());
+        logins.forEach((userId, login) -> {
+            Timestamp lastLogin = Timestamp.valueOf(login.lastLogin());
+            batch.add(new Object[]{lastLogin, lastLogin, login.token(), userId});
+        });
+        transactionOperations.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, batch));
+        return batch.size();
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo escribir el lote de últimos logins; se reintentará", e);
+        }
+    }
+
+    private record PendingLogin(Tenant tenant, String token, LocalDateTime lastLogin) {
+
+        static PendingLogin newest(PendingLogin current, PendingLogin candidate) {
+            return candidate.lastLogin().isBefore(current.lastLogin()) ? current : candidate;
+        }
+    }
+}
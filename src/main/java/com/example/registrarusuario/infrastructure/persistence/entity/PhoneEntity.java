@@ -14,17 +14,21 @@ public class PhoneEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
     private String id;
 
-    @Column(nullable = false)
+    @Column(nullable = false, length = 20)
     private String number;
 
-    @Column(nullable = false)
+    @Column(nullable = false, length = 10)
     private String citycode;
 
-    @Column(nullable = false)
+    @Column(nullable = false, length = 10)
     private String contrycode;
 
+    @Column(name = "phone_key", nullable = false, length = 41)
+    private String phoneKey;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
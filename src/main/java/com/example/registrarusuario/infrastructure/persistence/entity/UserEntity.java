@@ -10,7 +10,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints =
+        @UniqueConstraint(name = "uk_users_email_normalized", columnNames = "email_normalized"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,14 +21,19 @@ public class UserEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
     private String id;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false, length = 254)
     private String email;
 
+    // Unicidad e índice sobre la forma canónica; email conserva lo que escribió el usuario
+    @Column(name = "email_normalized", nullable = false, length = 254)
+    private String emailNormalized;
+
     @Column(nullable = false)
     private String password;
 
@@ -35,6 +41,10 @@ public class UserEntity {
     @Builder.Default
     private List<PhoneEntity> phones = new ArrayList<>();
 
+    // Teléfonos embebidos (app.phones.storage=JSON); en ese caso la relación queda vacía
+    @Column(name = "phones_json", length = 20000)
+    private String phonesJson;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime created;
@@ -0,0 +1,14 @@
+package com.example.registrarusuario.infrastructure.persistence.index;
+
+enum DisabledEmailIndex implements EmailIndex {
+    INSTANCE;
+
+    @Override
+    public boolean contains(String email) {
+        return false;
+    }
+
+    @Override
+    public void add(String email) {
+    }
+}
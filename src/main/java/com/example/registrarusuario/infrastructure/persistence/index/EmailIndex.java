@@ -0,0 +1,19 @@
+package com.example.registrarusuario.infrastructure.persistence.index;
+
+// Emails cuyo registro se confirmó (commit) en esta instancia o existían al reconstruir: una respuesta
+// positiva se da por buena; una negativa no prueba nada (otras instancias escriben en la misma tabla,
+// índice aún no listo o saturado) y obliga a consultar users.email
+public interface EmailIndex extends AutoCloseable {
+
+    boolean contains(String email);
+
+    void add(String email);
+
+    @Override
+    default void close() {
+    }
+
+    static EmailIndex disabled() {
+        return DisabledEmailIndex.INSTANCE;
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.registrarusuario.infrastructure.persistence.index;
+
+import com.example.registrarusuario.domain.model.EmailNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Tabla hash de direccionamiento abierto (sondeo lineal) de huellas de 64 bits sobre un archivo
+// mapeado en memoria: el heap solo guarda el buffer. Las lecturas son volátiles y sin locks;
+// las inserciones usan CAS por slot. Cabecera: magic | capacidad | entradas | estado (limpio/sucio)
+@Slf4j
+public class MappedEmailIndex implements EmailIndex, SmartInitializingSingleton {
+
+    static final int MAX_CAPACITY = 1 << 27;
+
+    private static final long MAGIC = 0x454d4c4944583031L;
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int COUNT_OFFSET = 16;
+    private static final int STATE_OFFSET = 24;
+    private static final long DIRTY = 0L;
+    private static final long CLEAN = 1L;
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final int REBUILD_FETCH_SIZE = 10_000;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final int capacity;
+    private final int mask;
+    private final long maxEntries;
+    private final JdbcTemplate jdbcTemplate;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean compatibleFile;
+    private final Counter rebuildCounter;
+    private final Counter hitCounter;
+    private volatile boolean ready;
+    private volatile boolean saturated;
+
+    public MappedEmailIndex(Path path, int capacity, DataSource dataSource, MeterRegistry meterRegistry) {
+        if (Integer.bitCount(capacity) != 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("La capacidad del índice debe ser potencia de 2 y <= " + MAX_CAPACITY);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.maxEntries = (long) (capacity * MAX_LOAD_FACTOR);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(REBUILD_FETCH_SIZE);
+
+        long fileSize = HEADER_BYTES + (long) capacity * Long.BYTES;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean sameSize = channel.size() == fileSize;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            this.compatibleFile = sameSize
+                    && (long) LONGS.getVolatile(buffer, MAGIC_OFFSET) == MAGIC
+                    && (long) LONGS.getVolatile(buffer, CAPACITY_OFFSET) == capacity;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el índice de emails " + path, e);
+        }
+
+        this.rebuildCounter = Counter.builder("app.email-index.rebuilds")
+                .description("Reconstrucciones del índice de emails desde la tabla users")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("app.email-index.hits")
+                .description("Verificaciones de email resueltas por el índice sin consultar la base")
+                .register(meterRegistry);
+        Gauge.builder("app.email-index.entries", this, MappedEmailIndex::entries)
+                .description("Huellas de email almacenadas en el índice")
+                .register(meterRegistry);
+    }
+
+    // Tras crear todos los singletons: el esquema (ddl-auto) ya existe y aún no se atiende tráfico
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        boolean reusable = compatibleFile
+                && (long) LONGS.getVolatile(buffer, STATE_OFFSET) == CLEAN
+                && rows != null && entries() == rows;
+        // Sucio mientras esté en uso: un cierre abrupto fuerza la reconstrucción al reiniciar
+        LONGS.setVolatile(buffer, STATE_OFFSET, DIRTY);
+        buffer.force();
+        if (!reusable) {
+            rebuild();
+        }
+        saturated = entries() > maxEntries;
+        ready = true;
+        log.info("Índice de emails listo: {} entradas ({})", entries(), reusable ? "reutilizado" : "reconstruido");
+    }
+
+    private void rebuild() {
+        LONGS.setVolatile(buffer, MAGIC_OFFSET, MAGIC);
+        LONGS.setVolatile(buffer, CAPACITY_OFFSET, (long) capacity);
+        LONGS.setVolatile(buffer, COUNT_OFFSET, 0L);
+        for (int slot = 0; slot < capacity; slot++) {
+            LONGS.setVolatile(buffer, offset(slot), EMPTY);
+        }
+        saturated = false;
+        jdbcTemplate.query("SELECT email_normalized FROM users", rs -> {
+            add(rs.getString(1));
+        });
+        rebuildCounter.increment();
+    }
+
+    // Saturado sigue respondiendo: las huellas ya guardadas son válidas, solo dejan de añadirse nuevas
+    @Override
+    public boolean contains(String email) {
+        if (!ready) {
+            return false;
+        }
+        long fingerprint = fingerprint(email);
+        int slot = (int) (fingerprint & mask);
+        for (int probes = 0; probes < capacity; probes++) {
+            long current = (long) LONGS.getVolatile(buffer, offset(slot));
+            if (current == fingerprint) {
+                hitCounter.increment();
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public void add(String email) {
+        if (saturated) {
+            return;
+        }
+        long fingerprint = fingerprint(email);
+        int slot = (int) (fingerprint & mask);
+        for (int probes = 0; probes < capacity; probes++) {
+            int offset = offset(slot);
+            long current = (long) LONGS.getVolatile(buffer, offset);
+            if (current == fingerprint) {
+                return;
+            }
+            if (current == EMPTY) {
+                if (LONGS.compareAndSet(buffer, offset, EMPTY, fingerprint)) {
+                    long entries = (long) LONGS.getAndAdd(buffer, COUNT_OFFSET, 1L) + 1;
+                    if (entries > maxEntries) {
+                        markSaturated();
+                    }
+                    return;
+                }
+                // Otro hilo ocupó el slot: se vuelve a leer antes de avanzar
+                probes--;
+                continue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        markSaturated();
+    }
+
+    long entries() {
+        return (long) LONGS.getVolatile(buffer, COUNT_OFFSET);
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (ready) {
+                LONGS.setVolatile(buffer, STATE_OFFSET, CLEAN);
+            }
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void markSaturated() {
+        if (!saturated) {
+            saturated = true;
+            log.warn("Índice de emails saturado ({} slots): los emails nuevos se verifican en la base de datos", capacity);
+        }
+    }
+
+    private static int offset(int slot) {
+        return HEADER_BYTES + slot * Long.BYTES;
+    }
+
+    // Huella sobre la forma canónica; 0 se reserva para slot vacío
+    static long fingerprint(String email) {
+        String normalized = EmailNormalizer.normalize(email);
+        long hash = 0x9e3779b97f4a7c15L ^ normalized.length();
+        for (int i = 0; i < normalized.length(); i++) {
+            hash = Long.rotateLeft((hash ^ normalized.charAt(i)) * 0xff51afd7ed558ccdL, 29);
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == EMPTY ? 1L : hash;
+    }
+}
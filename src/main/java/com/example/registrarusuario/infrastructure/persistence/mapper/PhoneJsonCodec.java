@@ -0,0 +1,48 @@
+package com.example.registrarusuario.infrastructure.persistence.mapper;
+
+import com.example.registrarusuario.domain.model.Phone;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Formato de users.phones_json: cada teléfono como arreglo posicional, sin nombres de campo
+@Component
+@RequiredArgsConstructor
+public class PhoneJsonCodec {
+
+    private static final TypeReference<List<StoredPhone>> STORED_PHONES = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+
+    public String encode(List<Phone> phones) {
+        try {
+            return objectMapper.writeValueAsString(phones.stream()
+                    .map(phone -> new StoredPhone(phone.getNumber(), phone.getCitycode(), phone.getContrycode()))
+                    .toList());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudieron serializar los teléfonos", e);
+        }
+    }
+
+    public List<Phone> decode(String json) {
+        try {
+            return objectMapper.readValue(json, STORED_PHONES).stream()
+                    .map(stored -> Phone.builder()
+                            .number(stored.number())
+                            .citycode(stored.citycode())
+                            .contrycode(stored.contrycode())
+                            .build())
+                    .toList();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Contenido inválido en phones_json", e);
+        }
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    record StoredPhone(String number, String citycode, String contrycode) {}
+}
@@ -0,0 +1,8 @@
+package com.example.registrarusuario.infrastructure.persistence.mapper;
+
+// Dónde se escriben los teléfonos de un usuario nuevo. La lectura soporta ambas disposiciones,
+// así una base a medio migrar (PhoneLayoutMigrator) sigue funcionando
+public enum PhoneStorage {
+    TABLE,
+    JSON
+}
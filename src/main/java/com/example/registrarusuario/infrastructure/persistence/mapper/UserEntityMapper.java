@@ -4,19 +4,28 @@ import com.example.registrarusuario.domain.model.Phone;
 import com.example.registrarusuario.domain.model.User;
 import com.example.registrarusuario.infrastructure.persistence.entity.PhoneEntity;
 import com.example.registrarusuario.infrastructure.persistence.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class UserEntityMapper {
 
+    private final PhoneJsonCodec phoneJsonCodec;
+
+    @Value("${app.phones.storage:TABLE}")
+    private PhoneStorage phoneStorage = PhoneStorage.TABLE;
+
     public UserEntity toEntity(User user) {
         UserEntity userEntity = UserEntity.builder()
                 .id(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
+                .emailNormalized(user.getNormalizedEmail())
                 .password(user.getPassword())
                 .created(user.getCreated())
                 .modified(user.getModified())
@@ -25,27 +34,34 @@ public class UserEntityMapper {
                 .isactive(user.getIsactive())
                 .build();
 
-        if (user.getPhones() != null) {
-            List<PhoneEntity> phoneEntities = user.getPhones().stream()
-                    .map(phone -> toPhoneEntity(phone, userEntity))
-                    .collect(Collectors.toList());
-            phoneEntities.forEach(userEntity::addPhone);
+        if (user.getPhones() != null && phoneStorage == PhoneStorage.JSON) {
+            // Un solo INSERT en users, sin filas en phones
+            userEntity.setPhonesJson(phoneJsonCodec.encode(user.getPhones()));
+        } else if (user.getPhones() != null) {
+            // Con hibernate.jdbc.batch_size los INSERT de phones salen en un solo batch JDBC al hacer flush
+            for (Phone phone : user.getPhones()) {
+                userEntity.addPhone(toPhoneEntity(phone, userEntity));
+            }
         }
 
         return userEntity;
     }
 
     public User toDomain(UserEntity entity) {
-        List<Phone> phones = entity.getPhones() != null
-                ? entity.getPhones().stream()
-                    .map(this::toPhoneDomain)
-                    .collect(Collectors.toList())
-                : List.of();
+        // Con phones_json no se toca la relación lazy: no hay segunda consulta
+        List<Phone> phones = entity.getPhonesJson() != null
+                ? phoneJsonCodec.decode(entity.getPhonesJson())
+                : entity.getPhones() != null
+                    ? entity.getPhones().stream()
+                        .map(this::toPhoneDomain)
+                        .collect(Collectors.toList())
+                    : List.of();
 
         return User.builder()
                 .id(entity.getId())
                 .name(entity.getName())
                 .email(entity.getEmail())
+                .normalizedEmail(entity.getEmailNormalized())
                 .password(entity.getPassword())
                 .phones(phones)
                 .created(entity.getCreated())
@@ -62,6 +78,7 @@ public class UserEntityMapper {
                 .number(phone.getNumber())
                 .citycode(phone.getCitycode())
                 .contrycode(phone.getContrycode())
+                .phoneKey(phone.getPhoneKey())
                 .user(userEntity)
                 .build();
     }
@@ -72,6 +89,7 @@ public class UserEntityMapper {
                 .number(entity.getNumber())
                 .citycode(entity.getCitycode())
                 .contrycode(entity.getContrycode())
+                .phoneKey(entity.getPhoneKey())
                 .build();
     }
 }
@@ -0,0 +1,118 @@
+package com.example.registrarusuario.infrastructure.persistence.migration;
+
+import com.example.registrarusuario.domain.model.Phone;
+import com.example.registrarusuario.domain.model.PhoneNormalizer;
+import com.example.registrarusuario.infrastructure.persistence.mapper.PhoneJsonCodec;
+import com.example.registrarusuario.infrastructure.persistence.mapper.PhoneStorage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+// Convierte los teléfonos existentes entre la tabla phones y la columna users.phones_json, por lotes
+// de usuarios y una transacción por lote. Puede ejecutarse con la aplicación activa: la lectura
+// entiende ambas disposiciones y cada usuario cambia de una a otra de forma atómica
+@RequiredArgsConstructor
+public class PhoneLayoutMigrator {
+
+    private static final String USERS_WITH_PHONE_ROWS =
+            "SELECT DISTINCT user_id FROM phones ORDER BY user_id LIMIT ?";
+    private static final String USERS_WITH_PHONES_JSON =
+            "SELECT id, phones_json FROM users WHERE phones_json IS NOT NULL ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PhoneJsonCodec phoneJsonCodec;
+    private final int batchSize;
+
+    public PhoneLayoutMigrator(DataSource dataSource, PhoneJsonCodec phoneJsonCodec, int batchSize) {
+        this(new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                phoneJsonCodec,
+                batchSize);
+    }
+
+    public int migrateTo(PhoneStorage target) {
+        int migrated = 0;
+        int batch;
+        do {
+            batch = target == PhoneStorage.JSON ? tableToJsonBatch() : jsonToTableBatch();
+            migrated += batch;
+        } while (batch == batchSize);
+        return migrated;
+    }
+
+    private int tableToJsonBatch() {
+        Integer migrated = transactionTemplate.execute(status -> {
+            List<String> userIds = jdbcTemplate.queryForList(USERS_WITH_PHONE_ROWS, String.class, batchSize);
+            for (String userId : userIds) {
+                List<Phone> phones = jdbcTemplate.query(
+                        "SELECT number, citycode, contrycode FROM phones WHERE user_id = ? ORDER BY id",
+                        (rs, rowNum) -> Phone.builder()
+                                .number(rs.getString("number"))
+                                .citycode(rs.getString("citycode"))
+                                .contrycode(rs.getString("contrycode"))
+                                .build(),
+                        userId);
+                jdbcTemplate.update("UPDATE users SET phones_json = ? WHERE id = ?", phoneJsonCodec.encode(phones), userId);
+                jdbcTemplate.update("DELETE FROM phones WHERE user_id = ?", userId);
+            }
+            return userIds.size();
+        });
+        return migrated == null ? 0 : migrated;
+    }
+
+    private int jsonToTableBatch() {
+        Integer migrated = transactionTemplate.execute(status -> {
+            Map<String, String> users = new LinkedHashMap<>();
+            jdbcTemplate.query(USERS_WITH_PHONES_JSON,
+                    rs -> {
+                        users.put(rs.getString("id"), rs.getString("phones_json"));
+                    },
+                    batchSize);
+            List<Object[]> rows = new ArrayList<>();
+            users.forEach((userId, json) -> phoneJsonCodec.decode(json).forEach(phone -> rows.add(new Object[]{
+                    UUID.randomUUID().toString(), phone.getNumber(), phone.getCitycode(), phone.getContrycode(),
+                    PhoneNormalizer.key(phone), userId})));
+            jdbcTemplate.batchUpdate("INSERT INTO phones (id, number, citycode, contrycode, phone_key, user_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+            jdbcTemplate.batchUpdate("UPDATE users SET phones_json = NULL WHERE id = ?",
+                    users.keySet().stream().map(userId -> new Object[]{userId}).toList());
+            return users.size();
+        });
+        return migrated == null ? 0 : migrated;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: PhoneLayoutMigrator <TABLE|JSON> <archivo.properties con spring.datasource.*>");
+            System.exit(2);
+        }
+        PhoneStorage target = PhoneStorage.valueOf(args[0]);
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(args[1]))) {
+            properties.load(reader);
+        }
+        DataSource dataSource = new DriverManagerDataSource(
+                properties.getProperty("spring.datasource.url"),
+                properties.getProperty("spring.datasource.username"),
+                properties.getProperty("spring.datasource.password", ""));
+
+        int migrated = new PhoneLayoutMigrator(dataSource, new PhoneJsonCodec(new ObjectMapper()), 500).migrateTo(target);
+        System.out.printf("%d usuarios migrados a la disposición %s%n", migrated, target);
+    }
+}
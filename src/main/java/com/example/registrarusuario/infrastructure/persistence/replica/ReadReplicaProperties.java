@@ -0,0 +1,35 @@
+package com.example.registrarusuario.infrastructure.persistence.replica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.read-replicas")
+public record ReadReplicaProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("2s")
+        Duration maxLag,
+
+        @DefaultValue("500ms")
+        Duration heartbeatInterval,
+
+        @DefaultValue("5s")
+        Duration readYourWritesWindow,
+
+        List<Node> nodes
+) {
+    public ReadReplicaProperties {
+        nodes = nodes == null ? List.of() : nodes;
+    }
+
+    public record Node(
+            String name,
+            String url,
+            String username,
+            String password
+    ) {}
+}
@@ -0,0 +1,44 @@
+package com.example.registrarusuario.infrastructure.persistence.replica;
+
+import com.example.registrarusuario.domain.model.EmailNormalizer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Recuerda los emails escritos recientemente en esta instancia para que sus lecturas vayan a la
+// primaria durante la ventana configurada (más que el retraso máximo tolerado de las réplicas)
+@Component
+public class ReadYourWritesTracker {
+
+    private static final long MAX_TRACKED = 100_000;
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReadYourWritesTracker(
+            @Value("${app.read-replicas.enabled:false}") boolean enabled,
+            @Value("${app.read-replicas.read-your-writes-window:5s}") Duration window) {
+        this.enabled = enabled;
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite(String email) {
+        if (enabled) {
+            recentWrites.put(EmailNormalizer.normalize(email), Boolean.TRUE);
+        }
+    }
+
+    public <T> T read(String email, Supplier<T> query) {
+        if (enabled && recentWrites.getIfPresent(EmailNormalizer.normalize(email)) != null) {
+            return ReplicaRoutingDataSource.onPrimary(query);
+        }
+        return query.get();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.registrarusuario.infrastructure.persistence.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Mide el retraso de cada réplica con una fila de heartbeat (tabla replication_heartbeat, migración V3)
+// que se escribe en la primaria y se lee en la réplica: retraso = ahora - último heartbeat replicado. Réplica sin dato o caída = no sana.
+// Arranca como SmartLifecycle, con el contexto ya refrescado: Flyway ya migró la primaria. Hasta el
+// primer heartbeat exitoso todas las réplicas se consideran no sanas
+@Slf4j
+public class ReplicaLagMonitor implements SmartLifecycle, AutoCloseable {
+
+    private static final String UPDATE_BEAT = "UPDATE replication_heartbeat SET beat = ? WHERE id = 1";
+    private static final String INSERT_BEAT = "INSERT INTO replication_heartbeat (id, beat) VALUES (1, ?)";
+    private static final String SELECT_BEAT = "SELECT beat FROM replication_heartbeat WHERE id = 1";
+    private static final Duration UNKNOWN = Duration.ofDays(365);
+
+    private final JdbcTemplate primary;
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final Duration maxLag;
+    private final Duration interval;
+    private final Map<String, Duration> lags = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                             Duration interval, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.maxLag = maxLag;
+        this.interval = interval;
+        replicas.forEach((name, dataSource) -> {
+            this.replicas.put(name, new JdbcTemplate(dataSource));
+            lags.put(name, UNKNOWN);
+            Gauge.builder("app.replica.lag", lags, current -> current.get(name).toMillis())
+                    .description("Retraso medido de la réplica en milisegundos")
+                    .baseUnit("milliseconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        beatAndCheckQuietly();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(1L, interval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::beatAndCheckQuietly, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    // Si la primaria falla la réplica no se mide: un heartbeat viejo la vuelve no sana por sí solo
+    private void beatAndCheckQuietly() {
+        try {
+            beat();
+            check();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo actualizar el heartbeat de replicación", e);
+        }
+    }
+
+    public void beat() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (primary.update(UPDATE_BEAT, now) == 0) {
+            primary.update(INSERT_BEAT, now);
+        }
+    }
+
+    public void check() {
+        replicas.forEach((name, replica) -> lags.put(name, measure(replica)));
+    }
+
+    public boolean isHealthy(String replica) {
+        return lags.getOrDefault(replica, UNKNOWN).compareTo(maxLag) <= 0;
+    }
+
+    private Duration measure(JdbcTemplate replica) {
+        try {
+            Timestamp beat = replica.queryForObject(SELECT_BEAT, Timestamp.class);
+            Duration lag = Duration.between(beat.toLocalDateTime(), LocalDateTime.now());
+            return lag.isNegative() ? Duration.ZERO : lag;
+        } catch (DataAccessException e) {
+            return UNKNOWN;
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.registrarusuario.infrastructure.persistence.repository;
+
+import com.example.registrarusuario.infrastructure.persistence.entity.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JpaOutboxRepository extends JpaRepository<OutboxEventEntity, Long> {
+}
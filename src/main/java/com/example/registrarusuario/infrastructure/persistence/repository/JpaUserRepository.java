@@ -1,13 +1,48 @@
 package com.example.registrarusuario.infrastructure.persistence.repository;
 
 import com.example.registrarusuario.infrastructure.persistence.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface JpaUserRepository extends JpaRepository<UserEntity, String> {
-    boolean existsByEmail(String email);
-}
+    // Solo proyecta email_normalized: la consulta se resuelve con uk_users_email_normalized sin leer la fila
+    // (el existsBy derivado selecciona el id)
+    @Transactional(readOnly = true)
+    @Query("select case when count(u.emailNormalized) > 0 then true else false end "
+            + "from UserEntity u where u.emailNormalized = :emailNormalized")
+    boolean existsByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
+    Optional<UserEntity> findByEmailNormalized(String emailNormalized);
+
+    // La subconsulta se resuelve solo con idx_phones_phone_key (phone_key, user_id); se proyectan
+    // id, nombre y creación sin cargar la entidad ni sus teléfonos
+    @Query("select u.id as id, u.name as name, u.created as created from UserEntity u where u.id in "
+            + "(select p.user.id from PhoneEntity p where p.phoneKey = :phoneKey) order by u.created")
+    List<UserSummary> findByPhoneKey(@Param("phoneKey") String phoneKey, Pageable pageable);
+
+    interface UserSummary {
+        String getId();
 
+        String getName();
+
+        LocalDateTime getCreated();
+    }
+
+    // Update directo: evita cargar la entidad y sus teléfonos solo para tocar tres columnas
+    @Modifying
+    @Query("update UserEntity u set u.lastLogin = :lastLogin, u.modified = :lastLogin, u.token = :token "
+            + "where u.id = :id")
+    int updateLogin(@Param("id") String id,
+                    @Param("token") String token,
+                    @Param("lastLogin") LocalDateTime lastLogin);
+}
@@ -0,0 +1,92 @@
+package com.example.registrarusuario.infrastructure.persistence.shard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+// Herramienta offline: tras cambiar el mapa de shards (p. ej. agregar uno) recorre todos los shards
+// y mueve a su destino los usuarios que el nuevo anillo asigna a otro shard. Se ejecuta con las
+// escrituras detenidas; copiar antes de borrar la vuelve re-ejecutable si se interrumpe
+@RequiredArgsConstructor
+public class ShardRebalancer {
+
+    private final ShardRouter shardRouter;
+
+    public Map<String, Integer> rebalance() {
+        Map<String, Integer> moved = new LinkedHashMap<>();
+        for (UserShard source : shardRouter.shards()) {
+            List<Relocation> misplaced = new ArrayList<>();
+            source.jdbc().query("SELECT id, email FROM users", rs -> {
+                UserShard target = shardRouter.shardFor(rs.getString("email"));
+                if (!target.name().equals(source.name())) {
+                    misplaced.add(new Relocation(rs.getString("id"), target));
+                }
+            });
+            for (Relocation relocation : misplaced) {
+                moveUser(source, relocation.target(), relocation.userId());
+                moved.merge(source.name() + " -> " + relocation.target().name(), 1, Integer::sum);
+            }
+        }
+        return moved;
+    }
+
+    private void moveUser(UserShard source, UserShard target, String userId) {
+        Map<String, Object> userRow = source.jdbc().queryForMap("SELECT * FROM users WHERE id = ?", userId);
+        List<Map<String, Object>> phoneRows = source.jdbc().queryForList("SELECT * FROM phones WHERE user_id = ?", userId);
+
+        target.transactions().executeWithoutResult(status -> {
+            Boolean alreadyCopied = target.jdbc()
+                    .queryForObject("SELECT EXISTS (SELECT 1 FROM users WHERE id = ?)", Boolean.class, userId);
+            if (!Boolean.TRUE.equals(alreadyCopied)) {
+                insert(target, "users", userRow);
+                phoneRows.forEach(phoneRow -> insert(target, "phones", phoneRow));
+            }
+        });
+        source.transactions().executeWithoutResult(status -> {
+            source.jdbc().update("DELETE FROM phones WHERE user_id = ?", userId);
+            source.jdbc().update("DELETE FROM users WHERE id = ?", userId);
+        });
+    }
+
+    private static void insert(UserShard shard, String table, Map<String, Object> row) {
+        String columns = String.join(", ", row.keySet());
+        String placeholders = row.keySet().stream().map(column -> "?").collect(Collectors.joining(", "));
+        shard.jdbc().update("INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")",
+                row.values().toArray());
+    }
+
+    private record Relocation(String userId, UserShard target) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Uso: ShardRebalancer <archivo.properties con app.sharding.*>");
+            System.exit(2);
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(args[0]))) {
+            properties.load(reader);
+        }
+        ShardingProperties sharding = new Binder(new MapConfigurationPropertySource(properties))
+                .bind("app.sharding", ShardingProperties.class)
+                .orElseThrow(() -> new IllegalArgumentException("No se encontró app.sharding en " + args[0]));
+
+        try (ShardRouter router = ShardRouter.create(sharding)) {
+            Map<String, Integer> moved = new ShardRebalancer(router).rebalance();
+            if (moved.isEmpty()) {
+                System.out.println("Todos los usuarios ya están en su shard");
+            }
+            moved.forEach((route, count) -> System.out.printf("%s: %d usuarios movidos%n", route, count));
+        }
+    }
+}
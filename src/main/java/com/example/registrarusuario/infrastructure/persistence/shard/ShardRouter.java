@@ -0,0 +1,66 @@
+package com.example.registrarusuario.infrastructure.persistence.shard;
+
+import com.example.registrarusuario.domain.model.EmailNormalizer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ShardRouter implements AutoCloseable {
+
+    private static final String MIGRATIONS = "classpath:db/migration";
+
+    private final ConsistentHashRing ring;
+    private final Map<String, UserShard> shards;
+    private final List<HikariDataSource> dataSources;
+
+    private ShardRouter(ConsistentHashRing ring, Map<String, UserShard> shards, List<HikariDataSource> dataSources) {
+        this.ring = ring;
+        this.shards = shards;
+        this.dataSources = dataSources;
+    }
+
+    public static ShardRouter create(ShardingProperties properties) {
+        Map<String, UserShard> shards = new LinkedHashMap<>();
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shard.name());
+            dataSource.setJdbcUrl(shard.url());
+            dataSource.setUsername(shard.username());
+            dataSource.setPassword(shard.password());
+            dataSources.add(dataSource);
+
+            if (properties.initializeSchema()) {
+                // Cada shard recibe las mismas migraciones versionadas que la base única
+                Flyway.configure().dataSource(dataSource).locations(MIGRATIONS).load().migrate();
+            }
+            shards.put(shard.name(), new UserShard(
+                    shard.name(),
+                    new JdbcTemplate(dataSource),
+                    new TransactionTemplate(new DataSourceTransactionManager(dataSource))));
+        }
+        return new ShardRouter(new ConsistentHashRing(shards.keySet(), properties.virtualNodes()), shards, dataSources);
+    }
+
+    public UserShard shardFor(String email) {
+        // Se enruta por la forma canónica para que variaciones de mayúsculas/espacios caigan en el mismo shard
+        return shards.get(ring.shardFor(EmailNormalizer.normalize(email)));
+    }
+
+    public Collection<UserShard> shards() {
+        return shards.values();
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.registrarusuario.infrastructure.persistence.shard;
+
+import com.example.registrarusuario.domain.model.Phone;
+import com.example.registrarusuario.domain.model.PhoneNormalizer;
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
+import com.example.registrarusuario.infrastructure.outbox.OutboxEventWriter;
+import com.example.registrarusuario.infrastructure.persistence.adapter.DuplicateEmails;
+import com.example.registrarusuario.infrastructure.persistence.adapter.TokenStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Cada usuario vive en un único shard elegido por el email: todas las operaciones tocan una sola base
+@RequiredArgsConstructor
+public class ShardedUserRepositoryAdapter implements UserRepositoryPort {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, name, email, email_normalized, password, created, modified, last_login, token, "
+                    + "isactive) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PHONE =
+            "INSERT INTO phones (id, number, citycode, contrycode, phone_key, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String EXISTS_BY_EMAIL = "SELECT EXISTS (SELECT 1 FROM users WHERE email_normalized = ?)";
+    private static final String SELECT_USER_BY_EMAIL =
+            "SELECT id, name, email, email_normalized, password, created, modified, last_login, token, isactive "
+                    + "FROM users WHERE email_normalized = ?";
+    private static final String SELECT_USERS_BY_PHONE_KEY =
+            "SELECT id, name, created FROM users "
+                    + "WHERE id IN (SELECT user_id FROM phones WHERE phone_key = ?) ORDER BY created LIMIT ?";
+    private static final String SELECT_PHONES_BY_USER =
+            "SELECT id, number, citycode, contrycode, phone_key FROM phones WHERE user_id = ?";
+    private static final String UPDATE_LOGIN =
+            "UPDATE users SET last_login = ?, modified = ?, token = ? WHERE id = ?";
+
+    private final ShardRouter shardRouter;
+    private final TokenStorage tokenStorage;
+    private final int maxLookupResults;
+    private final OutboxEventWriter outboxEventWriter;
+
+    @Override
+    public User save(User user) {
+        UserShard shard = shardRouter.shardFor(user.getEmail());
+        String userId = user.getId() != null ? user.getId() : UUID.randomUUID().toString();
+        List<Phone> phones = user.getPhones() == null ? List.of() : user.getPhones().stream()
+                .map(phone -> phone.toBuilder()
+                        .id(phone.getId() != null ? phone.getId() : UUID.randomUUID().toString())
+                        .phoneKey(phone.getPhoneKey() != null ? phone.getPhoneKey() : PhoneNormalizer.key(phone))
+                        .build())
+                .toList();
+
+        try {
+            insert(shard, user, userId, phones);
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicateEmails.translate(e);
+        }
+
+        return user.toBuilder()
+                .id(userId)
+                .phones(phones)
+                .build();
+    }
+
+    private void insert(UserShard shard, User user, String userId, List<Phone> phones) {
+        shard.transactions().executeWithoutResult(status -> {
+            shard.jdbc().update(INSERT_USER,
+                    userId,
+                    user.getName(),
+                    user.getEmail(),
+                    user.getNormalizedEmail(),
+                    user.getPassword(),
+                    user.getCreated(),
+                    user.getModified(),
+                    user.getLastLogin(),
+                    tokenStorage.toStoredForm(user.getToken()),
+                    user.getIsactive());
+            shard.jdbc().batchUpdate(INSERT_PHONE, phones.stream()
+                    .map(phone -> new Object[]{
+                            phone.getId(), phone.getNumber(), phone.getCitycode(), phone.getContrycode(),
+                            phone.getPhoneKey(), userId})
+                    .toList());
+            outboxEventWriter.userRegistered(shard.jdbc(), userId, user.getName(), user.getEmail(), user.getCreated());
+        });
+    }
+
+    @Override
+    public boolean existsByEmail(String normalizedEmail) {
+        return Boolean.TRUE.equals(shardRouter.shardFor(normalizedEmail).jdbc()
+                .queryForObject(EXISTS_BY_EMAIL, Boolean.class, normalizedEmail));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String normalizedEmail) {
+        UserShard shard = shardRouter.shardFor(normalizedEmail);
+        return shard.jdbc().query(SELECT_USER_BY_EMAIL, (rs, rowNum) -> toUser(rs), normalizedEmail).stream()
+                .findFirst()
+                .map(user -> withPhones(shard, user));
+    }
+
+    @Override
+    public List<User> findByPhoneKey(String phoneKey) {
+        // El teléfono no es la clave de reparto: se consulta cada shard por su índice, con el tope en cada uno
+        // (ninguno aporta más que el total) y otra vez sobre la unión
+        return shardRouter.shards().stream()
+                .flatMap(shard -> shard.jdbc().query(SELECT_USERS_BY_PHONE_KEY, (rs, rowNum) -> User.builder()
+                        .id(rs.getString("id"))
+                        .name(rs.getString("name"))
+                        .created(rs.getObject("created", LocalDateTime.class))
+                        .build(), phoneKey, maxLookupResults).stream())
+                .sorted(Comparator.comparing(User::getCreated))
+                .limit(maxLookupResults)
+                .toList();
+    }
+
+    @Override
+    public void recordLogin(User user) {
+        shardRouter.shardFor(user.getEmail()).jdbc().update(UPDATE_LOGIN,
+                user.getLastLogin(),
+                user.getModified(),
+                tokenStorage.toStoredForm(user.getToken()),
+                user.getId());
+    }
+
+    private static User withPhones(UserShard shard, User user) {
+        return user.toBuilder()
+                .phones(shard.jdbc().query(SELECT_PHONES_BY_USER, (rs, rowNum) -> toPhone(rs), user.getId()))
+                .build();
+    }
+
+    private static User toUser(ResultSet rs) throws SQLException {
+        return User.builder()
+                .id(rs.getString("id"))
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .normalizedEmail(rs.getString("email_normalized"))
+                .password(rs.getString("password"))
+                .created(rs.getObject("created", LocalDateTime.class))
+                .modified(rs.getObject("modified", LocalDateTime.class))
+                .lastLogin(rs.getObject("last_login", LocalDateTime.class))
+                .token(rs.getString("token"))
+                .isactive(rs.getBoolean("isactive"))
+                .build();
+    }
+
+    private static Phone toPhone(ResultSet rs) throws SQLException {
+        return Phone.builder()
+                .id(rs.getString("id"))
+                .number(rs.getString("number"))
+                .citycode(rs.getString("citycode"))
+                .contrycode(rs.getString("contrycode"))
+                .phoneKey(rs.getString("phone_key"))
+                .build();
+    }
+}
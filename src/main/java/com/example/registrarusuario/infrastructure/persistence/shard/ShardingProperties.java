@@ -0,0 +1,31 @@
+package com.example.registrarusuario.infrastructure.persistence.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.sharding")
+public record ShardingProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("128")
+        int virtualNodes,
+
+        @DefaultValue("true")
+        boolean initializeSchema,
+
+        List<Shard> shards
+) {
+    public ShardingProperties {
+        shards = shards == null ? List.of() : shards;
+    }
+
+    public record Shard(
+            String name,
+            String url,
+            String username,
+            String password
+    ) {}
+}
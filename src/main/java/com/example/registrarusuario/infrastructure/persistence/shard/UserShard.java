@@ -0,0 +1,10 @@
+package com.example.registrarusuario.infrastructure.persistence.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public record UserShard(
+        String name,
+        JdbcTemplate jdbc,
+        TransactionTemplate transactions
+) {}
@@ -0,0 +1,80 @@
+package com.example.registrarusuario.infrastructure.prevalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+
+// Rechaza cuerpos de registro excesivos o mal formados antes de que Jackson construya el request.
+// Otros Content-Type siguen de largo para que Spring responda su 415 habitual
+public class PreValidationFilter extends OncePerRequestFilter {
+
+    private final RegistrationPayloadValidator validator;
+    private final Counter tooLarge;
+    private final Counter invalid;
+
+    public PreValidationFilter(RegistrationPayloadValidator validator, MeterRegistry meterRegistry) {
+        this.validator = validator;
+        this.tooLarge = meterRegistry.counter("app.pre-validation.rejected", "reason", "too_large");
+        this.invalid = meterRegistry.counter("app.pre-validation.rejected", "reason", "invalid");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !isJson(request.getContentType());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        PreValidationResult result = validator.validate(
+                request.getInputStream(), request.getContentLengthLong(), nonUtf8Charset(request));
+        if (result.isAccepted()) {
+            filterChain.doFilter(new CachedBodyRequest(request, result.body()), response);
+            return;
+        }
+
+        (result.rejectionStatus() == HttpStatus.PAYLOAD_TOO_LARGE.value() ? tooLarge : invalid).increment();
+        response.setStatus(result.rejectionStatus());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(result.rejectionBody().length);
+        response.getOutputStream().write(result.rejectionBody());
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static Charset nonUtf8Charset(HttpServletRequest request) {
+        String encoding = request.getCharacterEncoding();
+        if (encoding == null) {
+            return null;
+        }
+        try {
+            Charset charset = Charset.forName(encoding);
+            return StandardCharsets.UTF_8.equals(charset) ? null : charset;
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.registrarusuario.infrastructure.prevalidation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.pre-validation")
+public record PreValidationProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("16KB")
+        DataSize maxBodySize,
+
+        @DefaultValue("100")
+        int maxPhones,
+
+        // Tope de campos sin límite propio (los conocidos usan los mismos de los DTO)
+        @DefaultValue("255")
+        int maxStringLength,
+
+        @DefaultValue("/api/users/register")
+        List<String> paths
+) {}
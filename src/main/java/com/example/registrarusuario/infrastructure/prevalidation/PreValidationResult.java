@@ -0,0 +1,17 @@
+package com.example.registrarusuario.infrastructure.prevalidation;
+
+// Cuerpo leído y aceptado, o el rechazo (estado y cuerpo JSON ya serializado) a responder sin llegar a Spring MVC
+public record PreValidationResult(byte[] body, int rejectionStatus, byte[] rejectionBody) {
+
+    static PreValidationResult accepted(byte[] body) {
+        return new PreValidationResult(body, 0, null);
+    }
+
+    static PreValidationResult rejected(int status, byte[] rejectionBody) {
+        return new PreValidationResult(null, status, rejectionBody);
+    }
+
+    public boolean isAccepted() {
+        return rejectionBody == null;
+    }
+}
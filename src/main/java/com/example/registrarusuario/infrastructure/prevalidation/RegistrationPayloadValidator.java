@@ -0,0 +1,202 @@
+package com.example.registrarusuario.infrastructure.prevalidation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// Recorre el cuerpo del registro token a token mientras llega, sin construir objetos: corta en cuanto
+// el cuerpo excede el tamaño, hay más teléfonos de los permitidos o un campo supera su largo.
+// Los largos son los mismos @Size de UserRegistrationRequest y PhoneRequest, con sus mensajes
+public class RegistrationPayloadValidator {
+
+    // objeto raíz -> phones -> teléfono, más un nivel de holgura para campos desconocidos
+    private static final int MAX_DEPTH = 4;
+
+    private static final Map<String, FieldLimit> USER_FIELDS = Map.of(
+            "name", new FieldLimit(255, "El nombre admite hasta 255 caracteres"),
+            "email", new FieldLimit(254, "El correo admite hasta 254 caracteres"),
+            "password", new FieldLimit(255, "La contraseña admite hasta 255 caracteres"));
+    private static final Map<String, FieldLimit> PHONE_FIELDS = Map.of(
+            "number", new FieldLimit(20, "El número de teléfono admite hasta 20 caracteres"),
+            "citycode", new FieldLimit(10, "El código de ciudad admite hasta 10 caracteres"),
+            "contrycode", new FieldLimit(10, "El código de país admite hasta 10 caracteres"));
+
+    private final JsonFactory jsonFactory;
+    private final int maxBodyBytes;
+    private final int maxPhones;
+    private final int maxStringLength;
+    private final byte[] tooLargeBody;
+    private final byte[] malformedBody;
+    private final byte[] tooManyPhonesBody;
+    private final byte[] tooLongBody;
+    private final Map<String, byte[]> fieldBodies = new HashMap<>();
+
+    public RegistrationPayloadValidator(PreValidationProperties properties) {
+        this.maxBodyBytes = Math.toIntExact(properties.maxBodySize().toBytes());
+        this.maxPhones = properties.maxPhones();
+        this.maxStringLength = properties.maxStringLength();
+        this.jsonFactory = JsonFactory.builder()
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .streamReadConstraints(StreamReadConstraints.builder()
+                        .maxNestingDepth(MAX_DEPTH)
+                        .maxNameLength(maxStringLength)
+                        .maxNumberLength(32)
+                        .build())
+                .build();
+
+        this.tooLargeBody = errorBody("El cuerpo de la solicitud excede el máximo de " + maxBodyBytes + " bytes");
+        this.malformedBody = errorBody("El formato JSON es inválido");
+        this.tooManyPhonesBody = errorBody("Se admiten hasta " + maxPhones + " teléfonos");
+        this.tooLongBody = errorBody("Los campos admiten hasta " + maxStringLength + " caracteres");
+        USER_FIELDS.values().forEach(limit -> fieldBodies.put(limit.message(), errorBody(limit.message())));
+        PHONE_FIELDS.values().forEach(limit -> fieldBodies.put(limit.message(), errorBody(limit.message())));
+    }
+
+    // charset nulo: JSON en bytes con detección de UTF-8/16/32, el caso normal
+    public PreValidationResult validate(InputStream body, long contentLength, Charset charset) throws IOException {
+        if (contentLength > maxBodyBytes) {
+            return PreValidationResult.rejected(HttpStatus.PAYLOAD_TOO_LARGE.value(), tooLargeBody);
+        }
+
+        CapturingInputStream capture = new CapturingInputStream(body, maxBodyBytes);
+        try (JsonParser parser = charset == null
+                ? jsonFactory.createParser(capture)
+                : jsonFactory.createParser(new InputStreamReader(capture, charset))) {
+            byte[] rejection = scan(parser);
+            if (rejection != null) {
+                return PreValidationResult.rejected(HttpStatus.BAD_REQUEST.value(), rejection);
+            }
+        } catch (BodyTooLargeException e) {
+            return PreValidationResult.rejected(HttpStatus.PAYLOAD_TOO_LARGE.value(), tooLargeBody);
+        } catch (JsonProcessingException e) {
+            return PreValidationResult.rejected(HttpStatus.BAD_REQUEST.value(), malformedBody);
+        }
+        return PreValidationResult.accepted(capture.captured());
+    }
+
+    private byte[] scan(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return malformedBody;
+        }
+
+        int depth = 1;
+        int phones = 0;
+        boolean inPhones = false;
+        JsonToken token;
+        while (depth > 0 && (token = parser.nextToken()) != null) {
+            // Dentro de phones, cada token al nivel del arreglo abre un elemento
+            if (inPhones && depth == 2 && token != JsonToken.END_ARRAY && ++phones > maxPhones) {
+                return tooManyPhonesBody;
+            }
+            switch (token) {
+                case START_ARRAY -> {
+                    inPhones = inPhones || (depth == 1 && "phones".equals(parser.currentName()));
+                    depth++;
+                }
+                case START_OBJECT -> depth++;
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    inPhones = inPhones && depth > 1;
+                }
+                case VALUE_STRING -> {
+                    byte[] rejection = checkLength(parser, depth, inPhones);
+                    if (rejection != null) {
+                        return rejection;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        // Un único objeto raíz y nada después de él
+        return depth == 0 && parser.nextToken() == null ? null : malformedBody;
+    }
+
+    private byte[] checkLength(JsonParser parser, int depth, boolean inPhones) throws IOException {
+        String name = parser.currentName();
+        FieldLimit limit = null;
+        if (name != null && depth == 1) {
+            limit = USER_FIELDS.get(name);
+        } else if (name != null && inPhones && depth == 3) {
+            limit = PHONE_FIELDS.get(name);
+        }
+        int length = parser.getTextLength();
+        if (limit != null) {
+            return length > limit.maxLength() ? fieldBodies.get(limit.message()) : null;
+        }
+        return length > maxStringLength ? tooLongBody : null;
+    }
+
+    private static byte[] errorBody(String message) {
+        return ("{\"mensaje\":\"" + new String(JsonStringEncoder.getInstance().quoteAsString(message)) + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record FieldLimit(int maxLength, String message) {}
+
+    // Copia lo leído para entregarlo luego al binding de Jackson; corta al pasar el máximo
+    private static final class CapturingInputStream extends FilterInputStream {
+
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream(1024);
+        private final int maxBytes;
+
+        CapturingInputStream(InputStream in, int maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                checkSize(1);
+                captured.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                checkSize(read);
+                captured.write(buffer, offset, read);
+            }
+            return read;
+        }
+
+        byte[] captured() {
+            return captured.toByteArray();
+        }
+
+        private void checkSize(int read) throws BodyTooLargeException {
+            if (captured.size() + read > maxBytes) {
+                throw new BodyTooLargeException();
+            }
+        }
+    }
+
+    // Solo controla el flujo del rechazo: no necesita stack trace
+    private static final class BodyTooLargeException extends IOException {
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.registrarusuario.infrastructure.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.profiling.jfr")
+public record JfrProfilingProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("./data/jfr")
+        Path directory,
+
+        // Configuración de JFR incluida en el JDK: default (~1% de overhead) o profile (~2%, más muestras)
+        @DefaultValue("profile")
+        String settings,
+
+        // Toda grabación se detiene sola al cumplir este tiempo, aunque nadie la detenga
+        @DefaultValue("5m")
+        Duration maxDuration,
+
+        @DefaultValue("100MB")
+        DataSize maxSize,
+
+        @DefaultValue("5")
+        int retainedFiles
+) {}
@@ -0,0 +1,175 @@
+package com.example.registrarusuario.infrastructure.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// /actuator/jfr: GET estado, POST inicia (opcional {"duration": "60s"}), DELETE detiene y guarda,
+// GET /actuator/jfr/{archivo} descarga. Una sola grabación a la vez, acotada en duración y tamaño
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrRecordingEndpoint implements DisposableBean {
+
+    private static final Pattern FILE_NAME = Pattern.compile("registro-\\d{8}-\\d{6}\\.jfr");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int STATUS_CONFLICT = 409;
+
+    private final JfrProfilingProperties properties;
+
+    private Recording recording;
+    private Path destination;
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        releaseFinished();
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+        } else {
+            status.put("state", recording.getState().name());
+            status.put("started", recording.getStartTime());
+            status.put("duration", recording.getDuration());
+            status.put("file", destination.getFileName().toString());
+        }
+        status.put("recordings", storedRecordings().stream().map(path -> path.getFileName().toString()).toList());
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration) {
+        releaseFinished();
+        if (recording != null) {
+            return new WebEndpointResponse<>(message("Ya hay una grabación en curso"), STATUS_CONFLICT);
+        }
+        if (duration != null && (duration.isNegative() || duration.isZero())) {
+            return new WebEndpointResponse<>(message("La duración debe ser positiva"),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Duration bounded = duration == null || duration.compareTo(properties.maxDuration()) > 0
+                ? properties.maxDuration()
+                : duration;
+
+        try {
+            Files.createDirectories(properties.directory());
+            Recording started = new Recording(Configuration.getConfiguration(properties.settings()));
+            started.setName("api-registro-usuarios");
+            // Los eventos propios no tienen umbral: la mayoría de las etapas dura menos de 1 ms
+            started.enable(RequestStageEvent.NAME).withoutThreshold();
+            started.enable(RegistrationEvent.NAME).withoutThreshold();
+            started.setDuration(bounded);
+            started.setMaxSize(properties.maxSize().toBytes());
+            started.setToDisk(true);
+            destination = properties.directory()
+                    .resolve("registro-" + LocalDateTime.now().format(TIMESTAMP) + ".jfr");
+            started.setDestination(destination);
+            started.start();
+            recording = started;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Configuración de JFR inválida: " + properties.settings(), e);
+        }
+        return new WebEndpointResponse<>(status());
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop() {
+        releaseFinished();
+        if (recording == null) {
+            return new WebEndpointResponse<>(message("No hay una grabación en curso"),
+                    WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        // stop() vuelca la grabación a su destino
+        recording.stop();
+        releaseFinished();
+        return new WebEndpointResponse<>(status());
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector String name) {
+        // Solo nombres generados por este endpoint: nada de rutas relativas
+        if (!FILE_NAME.matcher(name).matches() || !Files.isRegularFile(properties.directory().resolve(name))) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        synchronized (this) {
+            if (recording != null && destination.getFileName().toString().equals(name)) {
+                return new WebEndpointResponse<>(STATUS_CONFLICT);
+            }
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(properties.directory().resolve(name)));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    // Una grabación que cumplió su duración se detiene sola: se libera y se aplica la retención
+    private void releaseFinished() {
+        if (recording == null || recording.getState() == RecordingState.RUNNING
+                || recording.getState() == RecordingState.DELAYED || recording.getState() == RecordingState.NEW) {
+            return;
+        }
+        recording.close();
+        recording = null;
+        pruneOldRecordings();
+    }
+
+    private void pruneOldRecordings() {
+        List<Path> stored = storedRecordings();
+        for (Path old : stored.subList(0, Math.max(0, stored.size() - properties.retainedFiles()))) {
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Ordenadas de la más antigua a la más reciente (el nombre lleva la fecha)
+    private List<Path> storedRecordings() {
+        if (!Files.isDirectory(properties.directory())) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(properties.directory())) {
+            return files.filter(path -> FILE_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Object> message(String message) {
+        return Map.of("mensaje", message);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.registrarusuario.infrastructure.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+// Resumen offline de una grabación de /actuator/jfr (./gradlew jfrSummary -Precording=...):
+// métodos calientes, sitios de asignación y duración por etapa del registro. Solo usa jdk.jfr.consumer
+public class JfrSummary {
+
+    static final String APP_PACKAGE = "com.example.registrarusuario.";
+
+    private final Map<String, Long> selfSamples = new HashMap<>();
+    private final Map<String, Long> appSamples = new HashMap<>();
+    private final Map<String, Long> allocatedBytes = new HashMap<>();
+    private final Map<String, List<Duration>> stages = new TreeMap<>();
+    private final Map<String, Long> failedStages = new HashMap<>();
+    private final Map<String, List<Duration>> registrations = new TreeMap<>();
+    private long executionSamples;
+    private long sampledBytes;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Uso: JfrSummary <archivo.jfr o directorio de grabaciones> [top]");
+            System.exit(2);
+        }
+        Path recording = resolveRecording(Path.of(args[0]));
+        int top = args.length == 2 ? Integer.parseInt(args[1]) : 20;
+        System.out.println("Grabación: " + recording);
+        System.out.print(summarize(recording, top));
+    }
+
+    public static String summarize(Path recording, int top) throws IOException {
+        JfrSummary summary = new JfrSummary();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                summary.accept(file.readEvent());
+            }
+        }
+        return summary.render(top);
+    }
+
+    // Con un directorio se toma la grabación más reciente (los nombres llevan la fecha)
+    static Path resolveRecording(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return path;
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jfr"))
+                    .max(Comparator.comparing(file -> file.getFileName().toString()))
+                    .orElseThrow(() -> new IllegalArgumentException("No hay grabaciones .jfr en " + path));
+        }
+    }
+
+    private void accept(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case "jdk.ExecutionSample" -> acceptExecutionSample(event.getStackTrace());
+            case "jdk.ObjectAllocationSample" -> acceptAllocation(event);
+            case RequestStageEvent.NAME -> {
+                String stage = event.getString("stage");
+                stages.computeIfAbsent(stage, key -> new ArrayList<>()).add(event.getDuration());
+                if (event.getBoolean("failed")) {
+                    failedStages.merge(stage, 1L, Long::sum);
+                }
+            }
+            case RegistrationEvent.NAME -> registrations
+                    .computeIfAbsent(event.getString("outcome"), key -> new ArrayList<>())
+                    .add(event.getDuration());
+            default -> {
+            }
+        }
+    }
+
+    private void acceptExecutionSample(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return;
+        }
+        executionSamples++;
+        selfSamples.merge(method(stackTrace.getFrames().get(0)), 1L, Long::sum);
+        // Tiempo inclusivo de los métodos propios: cada método cuenta una vez por muestra aunque sea recursivo
+        Set<String> seen = new HashSet<>();
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String method = method(frame);
+            if (method.startsWith(APP_PACKAGE) && seen.add(method)) {
+                appSamples.merge(method, 1L, Long::sum);
+            }
+        }
+    }
+
+    // El peso de cada muestra estima los bytes asignados desde la anterior en el mismo hilo
+    private void acceptAllocation(RecordedEvent event) {
+        long weight = event.getLong("weight");
+        sampledBytes += weight;
+        allocatedBytes.merge(allocationSite(event), weight, Long::sum);
+    }
+
+    private static String allocationSite(RecordedEvent event) {
+        String type = event.getClass("objectClass").getName();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return type;
+        }
+        String site = type + " en " + method(stackTrace.getFrames().get(0));
+        // El frame superior suele ser del JDK (Arrays.copyOf, StringBuilder...): se agrega el primero propio
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String method = method(frame);
+            if (method.startsWith(APP_PACKAGE)) {
+                return frame == stackTrace.getFrames().get(0) ? site : site + " <- " + method;
+            }
+        }
+        return site;
+    }
+
+    private static String method(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private String render(int top) {
+        StringBuilder out = new StringBuilder();
+
+        out.append(String.format("%nMétodos calientes (jdk.ExecutionSample, frame superior, %d muestras)%n",
+                executionSamples));
+        topEntries(selfSamples, top).forEach(entry -> out.append(String.format("  %6.2f%%  %6d  %s%n",
+                percentage(entry.getValue(), executionSamples), entry.getValue(), entry.getKey())));
+
+        out.append(String.format("%nMétodos de la aplicación (tiempo inclusivo)%n"));
+        topEntries(appSamples, top).forEach(entry -> out.append(String.format("  %6.2f%%  %6d  %s%n",
+                percentage(entry.getValue(), executionSamples), entry.getValue(), entry.getKey())));
+
+        out.append(String.format("%nSitios de asignación (jdk.ObjectAllocationSample, %s estimados)%n",
+                bytes(sampledBytes)));
+        topEntries(allocatedBytes, top).forEach(entry -> out.append(String.format("  %6.2f%%  %10s  %s%n",
+                percentage(entry.getValue(), sampledBytes), bytes(entry.getValue()), entry.getKey())));
+
+        out.append(String.format("%nEtapas (%s)%n", RequestStageEvent.NAME));
+        stages.forEach((stage, durations) -> out.append(latencies(stage, durations))
+                .append(String.format("  fallas=%d%n", failedStages.getOrDefault(stage, 0L))));
+
+        out.append(String.format("%nRegistros (%s)%n", RegistrationEvent.NAME));
+        registrations.forEach((outcome, durations) -> out.append(latencies(outcome, durations))
+                .append(System.lineSeparator()));
+        return out.toString();
+    }
+
+    private static List<Map.Entry<String, Long>> topEntries(Map<String, Long> counts, int top) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(top)
+                .toList();
+    }
+
+    private static String latencies(String name, List<Duration> durations) {
+        long[] nanos = durations.stream().mapToLong(Duration::toNanos).sorted().toArray();
+        double average = Arrays.stream(nanos).average().orElse(0);
+        return String.format("  %-20s n=%-7d media=%8.3f ms  p50=%8.3f ms  p99=%8.3f ms  max=%8.3f ms",
+                name, nanos.length, average / 1e6, percentile(nanos, 0.50) / 1e6, percentile(nanos, 0.99) / 1e6,
+                nanos[nanos.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double percentage(long value, long total) {
+        return total == 0 ? 0 : value * 100.0 / total;
+    }
+
+    private static String bytes(long bytes) {
+        if (bytes >= 1L << 30) {
+            return String.format("%.1f GB", bytes / (double) (1L << 30));
+        }
+        if (bytes >= 1L << 20) {
+            return String.format("%.1f MB", bytes / (double) (1L << 20));
+        }
+        return String.format("%.1f KB", bytes / 1024.0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.registrarusuario.infrastructure.profiling;
+
+import com.example.registrarusuario.domain.exception.DomainRejectionException;
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.domain.port.in.RegisterUserUseCase;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ProfiledRegisterUserUseCase implements RegisterUserUseCase {
+
+    private final RegisterUserUseCase delegate;
+
+    @Override
+    public User registerUser(User user) {
+        RegistrationEvent event = new RegistrationEvent();
+        event.begin();
+        String outcome = "error";
+        try {
+            User registered = delegate.registerUser(user);
+            outcome = "created";
+            return registered;
+        } catch (DomainRejectionException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            event.finish(outcome, user.getPhones() == null ? 0 : user.getPhones().size());
+        }
+    }
+}
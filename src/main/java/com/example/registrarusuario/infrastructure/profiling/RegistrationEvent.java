@@ -0,0 +1,34 @@
+package com.example.registrarusuario.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// El registro completo en UserRegistrationService; sus etapas son RequestStageEvent anidados en el mismo hilo
+@Name(RegistrationEvent.NAME)
+@Label("Registro de usuario")
+@Category({"Registro de usuarios"})
+@Description("Duración de UserRegistrationService.registerUser y su resultado")
+@StackTrace(false)
+public class RegistrationEvent extends Event {
+
+    public static final String NAME = "app.Registration";
+
+    @Label("Resultado")
+    private String outcome;
+
+    @Label("Teléfonos")
+    private int phones;
+
+    public void finish(String outcome, int phones) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.phones = phones;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.registrarusuario.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Una etapa de la solicitud o una llamada a un puerto del dominio. Sin grabación activa
+// (o con el evento deshabilitado) begin/commit no cuestan más que la comprobación de isEnabled
+@Name(RequestStageEvent.NAME)
+@Label("Etapa de solicitud")
+@Category({"Registro de usuarios", "Etapas"})
+@Description("Duración de una etapa del registro o de una llamada a un puerto")
+@StackTrace(false)
+public class RequestStageEvent extends Event {
+
+    public static final String NAME = "app.RequestStage";
+
+    @Label("Etapa")
+    private final String stage;
+
+    @Label("Falló")
+    private boolean failed;
+
+    public RequestStageEvent(String stage) {
+        this.stage = stage;
+    }
+
+    public void finish(boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.failed = failed;
+            commit();
+        }
+    }
+}
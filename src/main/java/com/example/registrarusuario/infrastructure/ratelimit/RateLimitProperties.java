@@ -0,0 +1,39 @@
+package com.example.registrarusuario.infrastructure.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("100000")
+        long maxClients,
+
+        @DefaultValue("10m")
+        Duration idleTimeout,
+
+        @DefaultValue("X-API-Key")
+        String apiKeyHeader,
+
+        // Solo estas claves tienen bucket propio; cualquier otra se limita por IP
+        Set<String> apiKeys,
+
+        List<Route> routes
+) {
+    public RateLimitProperties {
+        apiKeys = apiKeys == null ? Set.of() : Set.copyOf(apiKeys);
+        routes = routes == null ? List.of() : routes;
+    }
+
+    public record Route(
+            String pattern,
+            long capacity,
+            double refillPerSecond
+    ) {}
+}
@@ -0,0 +1,55 @@
+package com.example.registrarusuario.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+
+public class RouteRateLimiter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String pattern;
+    private final long capacity;
+    private final double refillPerSecond;
+    private final Cache<String, TokenBucket> buckets;
+    private final Counter rejected;
+
+    public RouteRateLimiter(RateLimitProperties.Route route, long maxClients, Duration idleTimeout,
+                            MeterRegistry meterRegistry) {
+        this.pattern = route.pattern();
+        this.capacity = route.capacity();
+        this.refillPerSecond = route.refillPerSecond();
+        // Mapa acotado: los clientes inactivos o menos recientes se desalojan
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.rejected = Counter.builder("app.ratelimit.rejected")
+                .description("Solicitudes rechazadas con 429 por límite de tasa")
+                .tag("route", pattern)
+                .register(meterRegistry);
+        Gauge.builder("app.ratelimit.clients", buckets, Cache::estimatedSize)
+                .description("Clientes con bucket activo")
+                .tag("route", pattern)
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String path) {
+        return PATH_MATCHER.match(pattern, path);
+    }
+
+    // Retorna 0 si la solicitud se acepta; si no, los nanosegundos de espera sugeridos
+    public long tryAcquire(String clientKey, long nowNanos) {
+        TokenBucket bucket = buckets.get(clientKey, key -> new TokenBucket(capacity, refillPerSecond, nowNanos));
+        long waitNanos = bucket.tryConsume(nowNanos);
+        if (waitNanos > 0) {
+            rejected.increment();
+        }
+        return waitNanos;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.registrarusuario.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket lock-free implementado como GCRA: todo el estado es un único "theoretical
+// arrival time" en nanosegundos que se avanza con CAS, sin locks ni objetos por solicitud
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstWindowNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity y refillPerSecond deben ser positivos");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstWindowNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    // Retorna 0 si se consumió un token; en caso contrario, los nanosegundos hasta el próximo token
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long excess = next - nowNanos - burstWindowNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+}
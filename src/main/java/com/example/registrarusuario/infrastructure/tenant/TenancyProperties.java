@@ -0,0 +1,47 @@
+package com.example.registrarusuario.infrastructure.tenant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.tenancy")
+public record TenancyProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("X-Tenant-ID")
+        String header,
+
+        // Tenant de las solicitudes sin header; vacío = el header es obligatorio
+        String defaultTenant,
+
+        // Conexiones simultáneas de un tenant dentro del pool compartido
+        @DefaultValue("4")
+        int maxConnectionsPerTenant,
+
+        @DefaultValue("2s")
+        Duration connectionWait,
+
+        // Tokens verificados en caché por tenant
+        @DefaultValue("1000")
+        long cacheSizePerTenant,
+
+        @DefaultValue("true")
+        boolean initializeSchemas,
+
+        Map<String, TenantSettings> tenants
+) {
+    public TenancyProperties {
+        tenants = tenants == null ? Map.of() : tenants;
+    }
+
+    // Lo que no se configura se toma de app.validation.* / app.jwt.secret
+    public record TenantSettings(
+            String schema,
+            String jwtSecret,
+            String emailRegex,
+            String passwordRegex
+    ) {}
+}
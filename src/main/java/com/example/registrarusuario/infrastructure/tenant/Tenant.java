@@ -0,0 +1,10 @@
+package com.example.registrarusuario.infrastructure.tenant;
+
+// jwtSecret, emailRegex y passwordRegex son null cuando el tenant usa los valores globales
+public record Tenant(
+        String id,
+        String schema,
+        String jwtSecret,
+        String emailRegex,
+        String passwordRegex
+) {}
@@ -0,0 +1,53 @@
+package com.example.registrarusuario.infrastructure.tenant;
+
+import java.util.function.Supplier;
+
+// Tenant de la solicitud en curso. null = sin multi-tenancy (o tarea sobre el esquema por defecto):
+// los adaptadores usan entonces la configuración global
+public final class TenantContext {
+
+    private static final ThreadLocal<Tenant> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static Tenant current() {
+        return CURRENT.get();
+    }
+
+    public static String currentId() {
+        Tenant tenant = CURRENT.get();
+        return tenant == null ? null : tenant.id();
+    }
+
+    public static void run(Tenant tenant, Runnable action) {
+        try (Scope ignored = open(tenant)) {
+            action.run();
+        }
+    }
+
+    public static <T> T call(Tenant tenant, Supplier<T> action) {
+        try (Scope ignored = open(tenant)) {
+            return action.get();
+        }
+    }
+
+    // Fija el tenant hasta cerrar el Scope, que restaura el anterior
+    public static Scope open(Tenant tenant) {
+        Tenant previous = CURRENT.get();
+        CURRENT.set(tenant);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.registrarusuario.infrastructure.tenant;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Resuelve el tenant del header antes de la verificación del token y del controller; todo lo que
+// se ejecuta en el hilo de la solicitud (puertos, pool de conexiones) lo lee de TenantContext
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final TenantRegistry tenantRegistry;
+    private final String header;
+    private final byte[] missingBody;
+    private final byte[] unknownBody;
+
+    public TenantFilter(TenantRegistry tenantRegistry, String header) {
+        this.tenantRegistry = tenantRegistry;
+        this.header = header;
+        this.missingBody = errorBody("Falta el header " + header);
+        this.unknownBody = errorBody("Tenant desconocido");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String tenantId = request.getHeader(header);
+        Tenant tenant;
+        if (tenantId == null || tenantId.isBlank()) {
+            tenant = tenantRegistry.defaultTenant();
+            if (tenant == null) {
+                reject(response, missingBody);
+                return;
+            }
+        } else {
+            tenant = tenantRegistry.find(tenantId.trim()).orElse(null);
+            if (tenant == null) {
+                reject(response, unknownBody);
+                return;
+            }
+        }
+
+        try (TenantContext.Scope ignored = TenantContext.open(tenant)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, byte[] body) throws IOException {
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] errorBody(String message) {
+        return ("{\"mensaje\":\"" + new String(JsonStringEncoder.getInstance().quoteAsString(message)) + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.registrarusuario.infrastructure.tenant;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// Tenants configurados en app.tenancy.tenants.*. Sin multi-tenancy queda vacío
+public class TenantRegistry {
+
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z0-9][a-z0-9-]{0,62}");
+    private static final Pattern SCHEMA = Pattern.compile("[A-Z][A-Z0-9_]{0,62}");
+
+    private final Map<String, Tenant> tenants;
+    private final Tenant defaultTenant;
+
+    public TenantRegistry(TenancyProperties properties) {
+        Map<String, Tenant> tenants = new LinkedHashMap<>();
+        if (properties.enabled()) {
+            Map<String, String> schemas = new LinkedHashMap<>();
+            properties.tenants().forEach((id, settings) -> {
+                if (!TENANT_ID.matcher(id).matches()) {
+                    throw new IllegalStateException("Id de tenant inválido (minúsculas, dígitos y '-'): " + id);
+                }
+                String schema = settings.schema() != null ? settings.schema()
+                        : "T_" + id.toUpperCase(Locale.ROOT).replace('-', '_');
+                if (!SCHEMA.matcher(schema).matches()) {
+                    throw new IllegalStateException("Esquema inválido para el tenant " + id + ": " + schema);
+                }
+                String owner = schemas.putIfAbsent(schema, id);
+                if (owner != null) {
+                    throw new IllegalStateException("Los tenants " + owner + " y " + id + " comparten el esquema " + schema);
+                }
+                tenants.put(id, new Tenant(id, schema, blankToNull(settings.jwtSecret()),
+                        blankToNull(settings.emailRegex()), blankToNull(settings.passwordRegex())));
+            });
+        }
+        this.tenants = Collections.unmodifiableMap(tenants);
+
+        String defaultId = blankToNull(properties.defaultTenant());
+        if (properties.enabled() && defaultId != null && !tenants.containsKey(defaultId)) {
+            throw new IllegalStateException("app.tenancy.default-tenant no es un tenant configurado: " + defaultId);
+        }
+        this.defaultTenant = defaultId == null ? null : tenants.get(defaultId);
+    }
+
+    public Optional<Tenant> find(String id) {
+        return Optional.ofNullable(tenants.get(id));
+    }
+
+    public Tenant defaultTenant() {
+        return defaultTenant;
+    }
+
+    public Collection<Tenant> tenants() {
+        return tenants.values();
+    }
+
+    // Tareas de fondo (outbox, etc.): la acción corre sobre el esquema por defecto y luego sobre el de cada tenant
+    public void forEachSchema(Runnable action) {
+        action.run();
+        for (Tenant tenant : tenants.values()) {
+            TenantContext.run(tenant, action);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.registrarusuario.infrastructure.tenant;
+
+import com.example.registrarusuario.domain.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Esquema por tenant sobre un único pool: cada conexión prestada se apunta al esquema del tenant
+// en curso y vuelve al esquema por defecto al cerrarla (Hikari solo lo restaura si el pool tiene un
+// schema configurado; si no, la siguiente solicitud sin tenant heredaría el ajeno). Cientos de tenants
+// comparten así las conexiones, y un semáforo por tenant acota cuántas puede tener a la vez para que
+// uno saturado no agote el pool de los demás
+public class TenantRoutingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final String CONNECTION_LIMIT_MESSAGE = "No hay conexiones disponibles, intente nuevamente";
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final Map<String, Semaphore> budgets = new HashMap<>();
+    private final long waitNanos;
+    private final Counter rejectedCounter;
+    // Esquema de las conexiones del pool, leído de la primera conexión prestada a un tenant
+    private volatile String defaultSchema;
+
+    public TenantRoutingDataSource(DataSource pool, TenantRegistry tenantRegistry, int maxConnectionsPerTenant,
+                                   Duration connectionWait, MeterRegistry meterRegistry) {
+        super(pool);
+        tenantRegistry.tenants().forEach(tenant ->
+                budgets.put(tenant.id(), new Semaphore(maxConnectionsPerTenant, true)));
+        this.waitNanos = connectionWait.toNanos();
+        this.rejectedCounter = Counter.builder("app.tenancy.connection.rejected")
+                .description("Conexiones negadas por agotar el máximo del tenant")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(TenantContext.current(), null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(TenantContext.current(), username, password);
+    }
+
+    private Connection route(Tenant tenant, String username, String password) throws SQLException {
+        if (tenant == null) {
+            return username == null ? super.getConnection() : super.getConnection(username, password);
+        }
+        Semaphore budget = budgets.get(tenant.id());
+        try {
+            if (!budget.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+                rejectedCounter.increment();
+                // La causa ServiceOverloadedException es la que GlobalExceptionHandler traduce a 503
+                String message = "El tenant " + tenant.id() + " alcanzó su máximo de conexiones simultáneas";
+                throw new SQLTransientConnectionException(message,
+                        new ServiceOverloadedException(CONNECTION_LIMIT_MESSAGE, RETRY_AFTER_SECONDS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", e);
+        }
+
+        try {
+            Connection connection = username == null ? super.getConnection() : super.getConnection(username, password);
+            String restoredSchema = defaultSchema(connection);
+            connection.setSchema(tenant.schema());
+            return releasingOnClose(connection, budget, restoredSchema);
+        } catch (SQLException | RuntimeException e) {
+            budget.release();
+            throw e;
+        }
+    }
+
+    private String defaultSchema(Connection connection) throws SQLException {
+        String schema = defaultSchema;
+        if (schema == null) {
+            schema = connection.getSchema();
+            defaultSchema = schema;
+        }
+        return schema;
+    }
+
+    // Al cerrar (devolver al pool) la conexión se restaura el esquema y el permiso vuelve al tenant, una sola vez.
+    // Si la restauración falla la conexión se cierra igual y el error se propaga
+    private static Connection releasingOnClose(Connection connection, Semaphore budget, String restoredSchema) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(TenantRoutingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (isClose(method)) {
+                        if (!released.compareAndSet(false, true)) {
+                            return invoke(connection, method, args);
+                        }
+                        try {
+                            connection.setSchema(restoredSchema);
+                        } finally {
+                            try {
+                                invoke(connection, method, args);
+                            } finally {
+                                budget.release();
+                            }
+                        }
+                        return null;
+                    }
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    return invoke(connection, method, args);
+                });
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isClose(Method method) {
+        return method.getName().equals("close") && method.getParameterCount() == 0;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
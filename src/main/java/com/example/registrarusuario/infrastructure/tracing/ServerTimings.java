@@ -0,0 +1,50 @@
+package com.example.registrarusuario.infrastructure.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Duraciones por etapa de la solicitud en curso. Solo existe mientras ServerTimingFilter está activo:
+// sin él, record() es una lectura de ThreadLocal y nada más
+public final class ServerTimings {
+
+    private static final ThreadLocal<ServerTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> stages = new LinkedHashMap<>();
+
+    private ServerTimings() {
+    }
+
+    static ServerTimings begin() {
+        ServerTimings timings = new ServerTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static void record(String stage, long nanos) {
+        ServerTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.stages.merge(stage, nanos, Long::sum);
+        }
+    }
+
+    // Formato de https://www.w3.org/TR/server-timing/: etapa;dur=<ms>, ..., total;dur=<ms>
+    String headerValue() {
+        StringBuilder header = new StringBuilder(32 * (stages.size() + 1));
+        stages.forEach((stage, nanos) -> append(header, stage, nanos));
+        append(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String stage, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(stage).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.registrarusuario.infrastructure.tracing;
+
+import com.example.registrarusuario.infrastructure.profiling.RequestStageEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Cada etapa de una solicitud es una Observation: con el bridge de OpenTelemetry se vuelve un span hijo
+// del de la solicitud HTTP (muestreado según management.tracing.sampling.probability) y, además,
+// un timer app.request.stage{stage=...}. La duración también alimenta el header Server-Timing
+// y, con una grabación JFR activa, un evento app.RequestStage.
+// Con app.tracing.stages.enabled=false no hay Observation ni timer, pero el evento JFR y Server-Timing siguen
+@Component
+public class StageTracer {
+
+    public static final String OBSERVATION_NAME = "app.request.stage";
+
+    private final ObservationRegistry observationRegistry;
+    private final boolean observeStages;
+
+    public StageTracer(ObservationRegistry observationRegistry,
+                       @Value("${app.tracing.stages.enabled:true}") boolean observeStages) {
+        this.observationRegistry = observationRegistry;
+        this.observeStages = observeStages;
+    }
+
+    public <T, E extends Throwable> T trace(String stage, Observation.CheckedCallable<T, E> work) throws E {
+        RequestStageEvent event = new RequestStageEvent(stage);
+        boolean failed = true;
+        long start = System.nanoTime();
+        event.begin();
+        try {
+            T result = observeStages ? observe(stage, work) : work.call();
+            failed = false;
+            return result;
+        } finally {
+            event.finish(failed);
+            ServerTimings.record(stage, System.nanoTime() - start);
+        }
+    }
+
+    private <T, E extends Throwable> T observe(String stage, Observation.CheckedCallable<T, E> work) throws E {
+        return Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName(stage)
+                .lowCardinalityKeyValue("stage", stage)
+                .observeChecked(work);
+    }
+}
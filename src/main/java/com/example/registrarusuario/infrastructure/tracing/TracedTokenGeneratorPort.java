@@ -0,0 +1,16 @@
+package com.example.registrarusuario.infrastructure.tracing;
+
+import com.example.registrarusuario.domain.port.out.TokenGeneratorPort;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class TracedTokenGeneratorPort implements TokenGeneratorPort {
+
+    private final TokenGeneratorPort delegate;
+    private final StageTracer stageTracer;
+
+    @Override
+    public String generateToken(String email) {
+        return stageTracer.trace("generate-token", () -> delegate.generateToken(email));
+    }
+}
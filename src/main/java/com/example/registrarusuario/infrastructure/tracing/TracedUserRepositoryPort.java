@@ -0,0 +1,43 @@
+package com.example.registrarusuario.infrastructure.tracing;
+
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class TracedUserRepositoryPort implements UserRepositoryPort {
+
+    private final UserRepositoryPort delegate;
+    private final StageTracer stageTracer;
+
+    @Override
+    public User save(User user) {
+        return stageTracer.trace("save", () -> delegate.save(user));
+    }
+
+    @Override
+    public boolean existsByEmail(String normalizedEmail) {
+        return stageTracer.trace("exists-by-email", () -> delegate.existsByEmail(normalizedEmail));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String normalizedEmail) {
+        return stageTracer.trace("find-by-email", () -> delegate.findByEmail(normalizedEmail));
+    }
+
+    @Override
+    public List<User> findByPhoneKey(String phoneKey) {
+        return stageTracer.trace("find-by-phone", () -> delegate.findByPhoneKey(phoneKey));
+    }
+
+    @Override
+    public void recordLogin(User user) {
+        stageTracer.trace("record-login", () -> {
+            delegate.recordLogin(user);
+            return null;
+        });
+    }
+}
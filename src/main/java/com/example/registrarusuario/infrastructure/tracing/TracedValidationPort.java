@@ -0,0 +1,22 @@
+package com.example.registrarusuario.infrastructure.tracing;
+
+import com.example.registrarusuario.domain.port.out.ValidationPort;
+import lombok.RequiredArgsConstructor;
+
+// Email y contraseña suman en una sola etapa "validation-port"
+@RequiredArgsConstructor
+public class TracedValidationPort implements ValidationPort {
+
+    private final ValidationPort delegate;
+    private final StageTracer stageTracer;
+
+    @Override
+    public boolean isValidEmail(String email) {
+        return stageTracer.trace("validation-port", () -> delegate.isValidEmail(email));
+    }
+
+    @Override
+    public boolean isValidPassword(String password) {
+        return stageTracer.trace("validation-port", () -> delegate.isValidPassword(password));
+    }
+}
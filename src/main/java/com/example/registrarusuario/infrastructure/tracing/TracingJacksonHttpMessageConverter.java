@@ -0,0 +1,33 @@
+package com.example.registrarusuario.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// El converter JSON de Spring MVC con las etapas "json-parse" y "serialization"
+public class TracingJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final StageTracer stageTracer;
+
+    public TracingJacksonHttpMessageConverter(ObjectMapper objectMapper, StageTracer stageTracer) {
+        super(objectMapper);
+        this.stageTracer = stageTracer;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return stageTracer.trace("json-parse", () -> super.read(type, contextClass, inputMessage));
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        stageTracer.trace("serialization", () -> {
+            super.writeInternal(object, type, outputMessage);
+            return null;
+        });
+    }
+}
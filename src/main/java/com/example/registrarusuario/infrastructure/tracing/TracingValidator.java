@@ -0,0 +1,34 @@
+package com.example.registrarusuario.infrastructure.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+// Bean Validation de los @RequestBody (@Valid) como etapa "bean-validation"
+@RequiredArgsConstructor
+public class TracingValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+    private final StageTracer stageTracer;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        stageTracer.trace("bean-validation", () -> {
+            delegate.validate(target, errors);
+            return null;
+        });
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        stageTracer.trace("bean-validation", () -> {
+            delegate.validate(target, errors, validationHints);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.registrarusuario.infrastructure.warmup;
+
+import com.example.registrarusuario.application.dto.PhoneRequest;
+import com.example.registrarusuario.application.dto.UserRegistrationRequest;
+import com.example.registrarusuario.application.mapper.UserDtoMapper;
+import com.example.registrarusuario.domain.exception.DomainRejectionException;
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.domain.port.in.FindUserUseCase;
+import com.example.registrarusuario.domain.port.in.RegisterUserUseCase;
+import com.example.registrarusuario.domain.port.out.TokenVerifierPort;
+import com.example.registrarusuario.infrastructure.tenant.Tenant;
+import com.example.registrarusuario.infrastructure.tenant.TenantContext;
+import com.example.registrarusuario.infrastructure.tenant.TenantRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Spring Boot publica ReadinessState.ACCEPTING_TRAFFIC recién cuando terminan los ApplicationRunner:
+// mientras esto corre, /actuator/health/readiness responde OUT_OF_SERVICE y el balanceador no envía
+// tráfico. Se llena el pool y se recorre el registro completo (JSON, Bean Validation, mapper, caso de
+// uso, JPA, token) dentro de transacciones que se deshacen, para pagar aquí la carga de clases, el JIT
+// y la construcción de Pattern/Key y cachés en lugar de en las primeras solicitudes reales.
+// Con sharding los shards confirman en sus propias transacciones y el rollback no los alcanza: solo se
+// calientan JSON, Bean Validation y el mapper, sin pasar por el caso de uso
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final int DISTINCT_EMAILS = 8;
+    // Una de cada REJECTION_EVERY vueltas usa un email inválido para calentar también el rechazo
+    private static final int REJECTION_EVERY = 10;
+
+    private final WarmupProperties properties;
+    private final RegisterUserUseCase registerUserUseCase;
+    private final FindUserUseCase findUserUseCase;
+    private final TokenVerifierPort tokenVerifierPort;
+    private final UserDtoMapper userDtoMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final TenantRegistry tenantRegistry;
+    private final boolean persistentRegistrations;
+    private final Timer warmupTimer;
+
+    public StartupWarmup(WarmupProperties properties,
+                         RegisterUserUseCase registerUserUseCase,
+                         FindUserUseCase findUserUseCase,
+                         TokenVerifierPort tokenVerifierPort,
+                         UserDtoMapper userDtoMapper,
+                         ObjectMapper objectMapper,
+                         Validator validator,
+                         PlatformTransactionManager transactionManager,
+                         DataSource dataSource,
+                         TenantRegistry tenantRegistry,
+                         boolean persistentRegistrations,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.registerUserUseCase = registerUserUseCase;
+        this.findUserUseCase = findUserUseCase;
+        this.tokenVerifierPort = tokenVerifierPort;
+        this.userDtoMapper = userDtoMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        this.tenantRegistry = tenantRegistry;
+        this.persistentRegistrations = persistentRegistrations;
+        this.warmupTimer = Timer.builder("app.warmup")
+                .description("Calentamiento previo a aceptar tráfico")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + properties.maxDuration().toNanos();
+
+        int connections = fillPool();
+        int[] registrations = {0};
+        WarmupContext.run(() -> {
+            registrations[0] += exercise(properties.iterations(), deadline);
+            for (Tenant tenant : tenantRegistry.tenants()) {
+                registrations[0] += TenantContext.call(tenant,
+                        () -> exercise(properties.iterationsPerTenant(), deadline));
+            }
+        });
+
+        long nanos = System.nanoTime() - start;
+        warmupTimer.record(Duration.ofNanos(nanos));
+        log.info("Calentamiento: {} conexiones abiertas y {} registros sintéticos{} en {} ms{}",
+                connections, registrations[0], persistentRegistrations ? "" : " (sin persistir)", nanos / 1_000_000,
+                System.nanoTime() > deadline ? " (cortado por app.warmup.max-duration)" : "");
+    }
+
+    // Abre a la vez tantas conexiones como el mínimo ocioso del pool, para no crearlas bajo carga
+    private int fillPool() {
+        HikariDataSource pool;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return 0;
+            }
+            pool = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            return 0;
+        }
+
+        List<Connection> held = new ArrayList<>();
+        try {
+            while (held.size() < pool.getMinimumIdle()) {
+                held.add(pool.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("No se pudo llenar el pool durante el calentamiento", e);
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // Hikari descarta la conexión rota
+                }
+            }
+        }
+        return held.size();
+    }
+
+    private int exercise(int iterations, long deadline) {
+        int done = 0;
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            try {
+                registerOnce(i);
+            } catch (DomainRejectionException expected) {
+                // Rechazo previsto (o regex del tenant más estricta): el camino igual quedó recorrido
+            } catch (RuntimeException | IOException e) {
+                log.warn("Se interrumpe el calentamiento; el servicio arranca igual", e);
+                return done;
+            }
+            done++;
+        }
+        return done;
+    }
+
+    private void registerOnce(int iteration) throws IOException {
+        String email = iteration % REJECTION_EVERY == REJECTION_EVERY - 1
+                ? "calentamiento-invalido"
+                : "calentamiento-" + iteration % DISTINCT_EMAILS + "@warmup.invalid";
+        byte[] body = objectMapper.writeValueAsBytes(new UserRegistrationRequest("Calentamiento", email,
+                "Hunter2", List.of(new PhoneRequest("1234567", "1", "57"))));
+        UserRegistrationRequest request = objectMapper.readValue(body, UserRegistrationRequest.class);
+        validator.validate(request);
+        User user = userDtoMapper.toDomain(request);
+        if (!persistentRegistrations) {
+            objectMapper.writeValueAsBytes(userDtoMapper.toResponse(user));
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Nada de lo escrito sobrevive: el outbox también se deshace con la transacción
+            status.setRollbackOnly();
+            User created = registerUserUseCase.registerUser(user);
+            status.flush();
+            findUserUseCase.findByEmail(created.getEmail());
+            tokenVerifierPort.verifyToken(created.getToken());
+            try {
+                objectMapper.writeValueAsBytes(userDtoMapper.toResponse(created));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
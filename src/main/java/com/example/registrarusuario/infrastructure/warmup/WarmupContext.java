@@ -0,0 +1,24 @@
+package com.example.registrarusuario.infrastructure.warmup;
+
+// Marca el hilo que ejecuta registros sintéticos: los adaptadores con efectos fuera de la
+// transacción (p. ej. la auditoría) los ignoran
+public final class WarmupContext {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private WarmupContext() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    static void run(Runnable action) {
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            action.run();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.registrarusuario.infrastructure.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.warmup")
+public record WarmupProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Registros sintéticos sobre el esquema por defecto; suficientes para que el JIT compile el camino
+        @DefaultValue("200")
+        int iterations,
+
+        // Con multi-tenancy: registros por tenant, para sus regex, claves JWT y esquema
+        @DefaultValue("3")
+        int iterationsPerTenant,
+
+        // Pasado este tiempo se corta el calentamiento y el servicio se declara listo igual
+        @DefaultValue("30s")
+        Duration maxDuration
+) {}
@@ -0,0 +1,27 @@
+-- Usuarios y teléfonos. La única restricción sobre el email es la de su forma normalizada:
+-- su índice único es también el que usa existsByEmail
+CREATE TABLE users (
+    id VARCHAR(36) PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(254) NOT NULL,
+    email_normalized VARCHAR(254) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    created TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    modified TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_login TIMESTAMP NOT NULL,
+    token VARCHAR(500) NOT NULL,
+    isactive BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_users_email_normalized UNIQUE (email_normalized)
+);
+
+CREATE TABLE phones (
+    id VARCHAR(36) PRIMARY KEY,
+    number VARCHAR(20) NOT NULL,
+    citycode VARCHAR(10) NOT NULL,
+    contrycode VARCHAR(10) NOT NULL,
+    user_id VARCHAR(36) NOT NULL,
+    CONSTRAINT fk_phone_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Cubre la carga de teléfonos por usuario (todas las columnas leídas) y sirve a la FK
+CREATE INDEX idx_phones_user_covering ON phones(user_id, number, citycode, contrycode);
@@ -0,0 +1,5 @@
+-- Heartbeat escrito por ReplicaLagMonitor en la primaria para medir el retraso de las réplicas
+CREATE TABLE replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat TIMESTAMP NOT NULL
+);
@@ -0,0 +1,3 @@
+-- Disposición alternativa de teléfonos (app.phones.storage=JSON): arreglo JSON compacto en la fila
+-- del usuario, [["número","ciudad","país"], ...]. Nula cuando los teléfonos viven en la tabla phones
+ALTER TABLE users ADD COLUMN phones_json VARCHAR(20000);
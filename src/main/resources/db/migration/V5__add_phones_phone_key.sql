@@ -0,0 +1,13 @@
+-- Clave canónica del teléfono (PhoneNormalizer): '+' y los dígitos de país, ciudad y número, sin los ceros
+-- iniciales de país y ciudad. El backfill replica esa regla; las filas nuevas la reciben desde la aplicación
+ALTER TABLE phones ADD COLUMN phone_key VARCHAR(41);
+
+UPDATE phones SET phone_key = '+'
+    || REGEXP_REPLACE(REGEXP_REPLACE(contrycode, '[^0-9]', ''), '^0+', '')
+    || REGEXP_REPLACE(REGEXP_REPLACE(citycode, '[^0-9]', ''), '^0+', '')
+    || REGEXP_REPLACE(number, '[^0-9]', '');
+
+ALTER TABLE phones ALTER COLUMN phone_key SET NOT NULL;
+
+-- GET /api/users?phone= se resuelve con una sola búsqueda en este índice: la clave lleva al user_id sin leer la tabla
+CREATE INDEX idx_phones_phone_key ON phones(phone_key, user_id);
@@ -1,5 +1,9 @@
 package com.example.registrarusuario.application.controller;
 
+import com.example.registrarusuario.application.dto.ErrorResponse;
+import com.example.registrarusuario.application.dto.PhoneRequest;
+import com.example.registrarusuario.application.dto.UserRegistrationRequest;
+import com.example.registrarusuario.infrastructure.cbor.RegistrationCborCodec;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +12,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -49,7 +55,65 @@ class ContentTypeValidationTest {
         mockMvc.perform(post("/api/users/register")
                         .contentType(MediaType.APPLICATION_XML)
                         .content(xmlBody))
-                .andExpect(status().isUnsupportedMediaType());
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(jsonPath("$.mensaje").value(
+                        "Content-Type 'application/xml' no está soportado. Solo se acepta 'application/json' o 'application/cbor'"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar Accept: application/xml listando los formatos que se pueden retornar")
+    void shouldRejectXmlAccept() throws Exception {
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_XML)
+                        .content("""
+                                {"name": "Juan Rodriguez", "email": "juan.accept@test.com", "password": "Hunter2",
+                                 "phones": [{"number": "1234567", "citycode": "1", "contrycode": "57"}]}"""))
+                .andExpect(status().isNotAcceptable())
+                .andExpect(jsonPath("$.mensaje").value("Solo se puede retornar 'application/json' o 'application/cbor'"));
+    }
+
+    @Test
+    @DisplayName("Debe responder los errores de un registro CBOR en CBOR")
+    void shouldWriteCborErrorsForCborRequests() throws Exception {
+        byte[] body = RegistrationCborCodec.writeRequest(new UserRegistrationRequest("Juan Rodriguez",
+                "juan.cbor@test.com", "Hunter2", List.of(new PhoneRequest("1234567", "1", "57"))));
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(content().bytes(RegistrationCborCodec.writeError(new ErrorResponse("El correo ya registrado"))));
+
+        // Accept manda sobre el formato del cuerpo
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.mensaje").value("El correo ya registrado"));
+    }
+
+    @Test
+    @DisplayName("Debe responder 413 a un cuerpo CBOR sobre app.cbor.max-body-size")
+    void shouldRejectOversizedCborBody() throws Exception {
+        byte[] body = RegistrationCborCodec.writeRequest(new UserRegistrationRequest("x".repeat(20_000),
+                "juan.grande@test.com", "Hunter2", List.of(new PhoneRequest("1234567", "1", "57"))));
+
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(content().bytes(RegistrationCborCodec.writeError(
+                        new ErrorResponse("El cuerpo de la solicitud excede el máximo de 16384 bytes"))));
     }
 
     @Test
@@ -1,11 +1,13 @@
 package com.example.registrarusuario.application.controller;
 
 import com.example.registrarusuario.application.dto.PhoneRequest;
+import com.example.registrarusuario.application.dto.UserRegistrationMinimalResponse;
 import com.example.registrarusuario.application.dto.UserRegistrationRequest;
 import com.example.registrarusuario.application.dto.UserRegistrationResponse;
 import com.example.registrarusuario.application.mapper.UserDtoMapper;
 import com.example.registrarusuario.domain.exception.EmailAlreadyExistsException;
 import com.example.registrarusuario.domain.exception.InvalidFormatException;
+import com.example.registrarusuario.domain.exception.ServiceOverloadedException;
 import com.example.registrarusuario.domain.model.Phone;
 import com.example.registrarusuario.domain.model.User;
 import com.example.registrarusuario.domain.port.in.RegisterUserUseCase;
@@ -17,16 +19,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@DisabledInAotMode
 @WebMvcTest(UserController.class)
 @DisplayName("UserController Integration Tests")
 class UserControllerTest {
@@ -121,6 +128,39 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.phones[0].number").value("1234567"));
     }
 
+    @Test
+    @DisplayName("POST /api/users/register - Con Prefer: return=minimal debe retornar solo id y token")
+    void shouldReturnMinimalResponseWhenPreferred() throws Exception {
+        // Given
+        when(userDtoMapper.toDomain(any(UserRegistrationRequest.class))).thenReturn(domainUser);
+        when(registerUserUseCase.registerUser(any(User.class))).thenReturn(registeredUser);
+        when(userDtoMapper.toMinimalResponse(any(User.class)))
+                .thenReturn(new UserRegistrationMinimalResponse("uuid-123", "eyJhbGciOiJIUzI1NiJ9.test.token"));
+
+        // When & Then
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Prefer", "respond-async, return=minimal")
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Preference-Applied", "return=minimal"))
+                .andExpect(jsonPath("$.id").value("uuid-123"))
+                .andExpect(jsonPath("$.token").value("eyJhbGciOiJIUzI1NiJ9.test.token"))
+                .andExpect(jsonPath("$.phones").doesNotExist())
+                .andExpect(jsonPath("$.name").doesNotExist());
+
+        verify(userDtoMapper, never()).toResponse(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Prefer: debe reconocer return=minimal entre varias preferencias y con parámetros")
+    void shouldParsePreferHeader() {
+        assertThat(UserController.prefersMinimal("return=minimal")).isTrue();
+        assertThat(UserController.prefersMinimal("handling=lenient, RETURN=\"minimal\"; x=1")).isTrue();
+        assertThat(UserController.prefersMinimal("return=representation")).isFalse();
+        assertThat(UserController.prefersMinimal(null)).isFalse();
+    }
+
     @Test
     @DisplayName("POST /api/users/register - Debe retornar 409 cuando email ya existe")
     void shouldReturn409WhenEmailAlreadyExists() throws Exception {
@@ -172,6 +212,23 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.mensaje").value("El formato de la contraseña es inválido"));
     }
 
+    @Test
+    @DisplayName("POST /api/users/register - Debe retornar 503 con Retry-After cuando el servicio está saturado")
+    void shouldReturn503WhenServiceIsOverloaded() throws Exception {
+        // Given
+        when(userDtoMapper.toDomain(any(UserRegistrationRequest.class))).thenReturn(domainUser);
+        when(registerUserUseCase.registerUser(any(User.class)))
+                .thenThrow(new ServiceOverloadedException("El servicio está saturado, intente nuevamente más tarde", 1));
+
+        // When & Then
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.mensaje").exists());
+    }
+
     @Test
     @DisplayName("POST /api/users/register - Debe retornar 400 cuando nombre está vacío")
     void shouldReturn400WhenNameIsEmpty() throws Exception {
@@ -0,0 +1,205 @@
+package com.example.registrarusuario.application.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Collections;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Mismos escenarios de UserControllerTest contra el stack real (sin mocks),
+// de modo que también se ejecutan en la imagen nativa con ./gradlew nativeTest
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Flujo de registro end-to-end (JVM y nativo)")
+class UserRegistrationFlowTest {
+
+    private static final String PHONE = """
+            {"number": "1234567", "citycode": "1", "contrycode": "57"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("POST /api/users/register - Debe registrar usuario exitosamente y retornar 201")
+    void shouldRegisterUserSuccessfully() throws Exception {
+        register("Juan Rodriguez", "juan.flow@rodriguez.org", "Hunter2", "[" + PHONE + "]")
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.name").value("Juan Rodriguez"))
+                .andExpect(jsonPath("$.email").value("juan.flow@rodriguez.org"))
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.isactive").value(true))
+                .andExpect(jsonPath("$.phones[0].number").value("1234567"));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/register - Debe retornar 409 cuando email ya existe")
+    void shouldReturn409WhenEmailAlreadyExists() throws Exception {
+        register("Juan Rodriguez", "duplicado.flow@rodriguez.org", "Hunter2", "[" + PHONE + "]")
+                .andExpect(status().isCreated());
+
+        register("Juan Rodriguez", "duplicado.flow@rodriguez.org", "Hunter2", "[" + PHONE + "]")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.mensaje").value("El correo ya registrado"));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/register - Debe retornar 409 cuando el email solo difiere en mayúsculas")
+    void shouldReturn409WhenEmailDiffersOnlyInCase() throws Exception {
+        register("Juan Rodriguez", "mayusculas.flow@rodriguez.org", "Hunter2", "[" + PHONE + "]")
+                .andExpect(status().isCreated());
+
+        register("Juan Rodriguez", "Mayusculas.Flow@Rodriguez.ORG", "Hunter2", "[" + PHONE + "]")
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /api/users/register - Debe retornar 400 cuando email es inválido")
+    void shouldReturn400WhenEmailIsInvalid() throws Exception {
+        register("Juan Rodriguez", "correo-invalido", "Hunter2", "[" + PHONE + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").value("El formato del correo es inválido"));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/register - Debe retornar 400 cuando contraseña es inválida")
+    void shouldReturn400WhenPasswordIsInvalid() throws Exception {
+        register("Juan Rodriguez", "password.flow@rodriguez.org", "hunter", "[" + PHONE + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").value("El formato de la contraseña es inválido"));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/register - Debe retornar 400 cuando nombre está vacío")
+    void shouldReturn400WhenNameIsEmpty() throws Exception {
+        register("", "nombre.flow@rodriguez.org", "Hunter2", "[" + PHONE + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").exists());
+    }
+
+    @Test
+    @DisplayName("POST /api/users/register - Debe retornar 400 cuando lista de teléfonos está vacía")
+    void shouldReturn400WhenPhonesListIsEmpty() throws Exception {
+        register("Juan Rodriguez", "telefonos.flow@rodriguez.org", "Hunter2", "[]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").exists());
+    }
+
+    @Test
+    @DisplayName("POST /api/users/register - Debe aceptar múltiples teléfonos")
+    void shouldAcceptMultiplePhones() throws Exception {
+        String phones = """
+                [{"number": "1111111", "citycode": "1", "contrycode": "57"},
+                 {"number": "2222222", "citycode": "1", "contrycode": "57"},
+                 {"number": "3333333", "citycode": "2", "contrycode": "57"}]""";
+
+        register("Ana Martinez", "ana.flow@example.cl", "Secure123", phones)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.phones.length()").value(3));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/register - Debe rechazar antes del binding más teléfonos de los permitidos")
+    void shouldRejectTooManyPhonesBeforeBinding() throws Exception {
+        String phones = String.join(",", Collections.nCopies(101, PHONE));
+
+        register("Ana Martinez", "muchos.flow@example.cl", "Secure123", "[" + phones + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensaje").value("Se admiten hasta 100 teléfonos"));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/login - Debe emitir un token válido para GET /api/users/me")
+    void shouldLoginAndAccessCurrentUser() throws Exception {
+        register("Luis Villarreal", "login.flow@rodriguez.org", "Hunter2", "[" + PHONE + "]")
+                .andExpect(status().isCreated());
+
+        MvcResult login = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"login.flow@rodriguez.org\", \"password\": \"Hunter2\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andReturn();
+        String token = JsonPath.read(login.getResponse().getContentAsString(), "$.token");
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("login.flow@rodriguez.org"));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/login - Debe retornar 401 con credenciales inválidas")
+    void shouldReturn401WhenCredentialsAreInvalid() throws Exception {
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"noexiste.flow@rodriguez.org\", \"password\": \"Hunter2\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.mensaje").value("Usuario o contraseña incorrectos"));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/me - Debe retornar 401 sin token")
+    void shouldReturn401WithoutToken() throws Exception {
+        mockMvc.perform(get("/api/users/me"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("GET /api/users?phone= - Debe encontrar al usuario por su teléfono en cualquier formato")
+    void shouldFindUserByPhone() throws Exception {
+        register("Marta Lookup", "phone.lookup@example.cl", "Hunter2",
+                "[{\"number\": \"555-0199\", \"citycode\": \"(04)\", \"contrycode\": \"+56\"}]")
+                .andExpect(status().isCreated());
+
+        MvcResult login = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"phone.lookup@example.cl\", \"password\": \"Hunter2\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String token = JsonPath.read(login.getResponse().getContentAsString(), "$.token");
+
+        mockMvc.perform(get("/api/users").param("phone", "0056 4 5550199")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].name").value("Marta Lookup"))
+                .andExpect(jsonPath("$[0].token").doesNotExist())
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andExpect(jsonPath("$[0].phones").doesNotExist());
+
+        mockMvc.perform(get("/api/users").param("phone", "+56 9 0000000")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /api/users?phone= - Debe retornar 401 sin token")
+    void shouldReturn401WhenLookingUpPhoneWithoutToken() throws Exception {
+        mockMvc.perform(get("/api/users").param("phone", "+5612345678"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions register(String name, String email, String password, String phones) throws Exception {
+        String body = """
+                {"name": "%s", "email": "%s", "password": "%s", "phones": %s}
+                """.formatted(name, email, password, phones);
+
+        return mockMvc.perform(post("/api/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
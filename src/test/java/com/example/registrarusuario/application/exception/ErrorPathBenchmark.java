@@ -0,0 +1,119 @@
+package com.example.registrarusuario.application.exception;
+
+import com.example.registrarusuario.domain.exception.InvalidFormatException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Ejecutar con ./gradlew benchmark. Latencia y bytes asignados por solicitud de los rechazos (400/409)
+// frente a un registro exitoso, y el costo de crear una excepción con y sin stack trace
+@Tag("benchmark")
+@SpringBootTest(properties = {"app.rate-limit.enabled=false", "app.concurrency.enabled=false"})
+@AutoConfigureMockMvc
+@DisplayName("Benchmark: camino de error del registro")
+class ErrorPathBenchmark {
+
+    private static final int WARMUP = 2_000;
+    private static final int MEASURED = 5_000;
+    private static final String BODY = """
+            {"name": "Bench", "email": "%s", "password": "Hunter2",
+             "phones": [{"number": "1234567", "citycode": "1", "contrycode": "57"}]}""";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Compara registros exitosos, 400 y 409")
+    void shouldCompareErrorAndSuccessResponses() throws Exception {
+        AtomicInteger sequence = new AtomicInteger();
+        register("duplicado.bench@example.org");
+
+        Result success = measure(i -> "ok" + sequence.incrementAndGet() + "@example.org", 201);
+        Result invalid = measure(i -> "email-invalido", 400);
+        Result duplicate = measure(i -> "duplicado.bench@example.org", 409);
+
+        System.out.printf("201 registro:  %s%n400 inválido:  %s%n409 duplicado: %s%n", success, invalid, duplicate);
+        assertThat(invalid.bytesPerRequest()).isLessThan(success.bytesPerRequest());
+        assertThat(duplicate.bytesPerRequest()).isLessThan(success.bytesPerRequest());
+    }
+
+    @Test
+    @DisplayName("Compara crear excepciones con stack trace, sin stack trace y precreadas")
+    void shouldCompareExceptionCost() {
+        InvalidFormatException preallocated = new InvalidFormatException("El formato del correo es inválido");
+
+        for (int round = 0; round < 2; round++) {
+            long withStack = nanosPerThrow(() -> new IllegalArgumentException("El formato del correo es inválido"));
+            long stackless = nanosPerThrow(() -> new InvalidFormatException("El formato del correo es inválido"));
+            long reused = nanosPerThrow(() -> preallocated);
+            if (round == 1) {
+                System.out.printf("Con stack trace: %d ns, sin stack trace: %d ns, precreada: %d ns%n",
+                        withStack, stackless, reused);
+                assertThat(stackless).isLessThan(withStack);
+            }
+        }
+        assertThat(preallocated.getStackTrace()).isEmpty();
+    }
+
+    private Result measure(IntFunction<String> email, int expectedStatus) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(register(email.apply(i))).isEqualTo(expectedStatus);
+        }
+        long thread = Thread.currentThread().getId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            register(email.apply(i));
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(thread) - bytesBefore;
+        return new Result(nanos / 1_000.0 / MEASURED, bytes / MEASURED);
+    }
+
+    private int register(String email) throws Exception {
+        return mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY.formatted(email)))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+    }
+
+    private static long nanosPerThrow(Supplier<RuntimeException> exception) {
+        int iterations = 200_000;
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            try {
+                throw exception.get();
+            } catch (RuntimeException e) {
+                sink += e.getMessage().length();
+            }
+        }
+        long nanos = (System.nanoTime() - start) / iterations;
+        return sink == 0 ? -1 : nanos;
+    }
+
+    private record Result(double microsPerRequest, long bytesPerRequest) {
+        @Override
+        public String toString() {
+            return String.format("%.1f us/solicitud, %d bytes/solicitud", microsPerRequest, bytesPerRequest);
+        }
+    }
+}
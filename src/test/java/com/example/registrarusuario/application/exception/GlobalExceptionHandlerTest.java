@@ -0,0 +1,97 @@
+package com.example.registrarusuario.application.exception;
+
+import com.example.registrarusuario.domain.exception.ServiceOverloadedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GlobalExceptionHandler Tests")
+class GlobalExceptionHandlerTest {
+
+    private GlobalExceptionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GlobalExceptionHandler(new ObjectMapper(), List.of());
+    }
+
+    @Test
+    @DisplayName("Debe responder 409 cuando el índice único de email rechaza un registro concurrente")
+    void shouldMapEmailUniqueViolationToConflict() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(
+                        "Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_NORMALIZED_INDEX_4 "
+                                + "ON PUBLIC.USERS(EMAIL_NORMALIZED) VALUES ( 'juan@example.com' )\""));
+
+        ResponseEntity<byte[]> response = handler.handleDataIntegrityViolation(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(body(response)).isEqualTo("{\"mensaje\":\"El correo ya registrado\"}");
+    }
+
+    @Test
+    @DisplayName("Debe responder 500 genérico ante otras violaciones de integridad")
+    void shouldMapOtherIntegrityViolationsToInternalError() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException(
+                "NULL not allowed for column \"PHONE_KEY\"; SQL statement: insert into phones ...");
+
+        ResponseEntity<byte[]> response = handler.handleDataIntegrityViolation(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(body(response)).doesNotContain("PHONE_KEY", "insert");
+    }
+
+    @Test
+    @DisplayName("No debe exponer el mensaje de la excepción en el cuerpo del 500")
+    void shouldNotLeakExceptionMessage() {
+        ResponseEntity<byte[]> response = handler.handleGenericException(
+                new IllegalStateException("jdbc:h2:tcp://db-interna/./usuarios"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(body(response)).isEqualTo("{\"mensaje\":\"Error interno del servidor\"}");
+    }
+
+    @Test
+    @DisplayName("Debe responder 503 con Retry-After cuando el tenant agotó sus conexiones")
+    void shouldMapTenantConnectionLimitToServiceUnavailable() {
+        CannotCreateTransactionException ex = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new SQLTransientConnectionException("El tenant acme alcanzó su máximo de conexiones simultáneas",
+                        new ServiceOverloadedException("No hay conexiones disponibles, intente nuevamente", 1)));
+
+        ResponseEntity<byte[]> response = handler.handleConnectionUnavailable(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Debe responder 500 ante otras fallas al obtener conexión")
+    void shouldMapOtherConnectionFailuresToInternalError() {
+        DataAccessResourceFailureException ex = new DataAccessResourceFailureException("Failed to obtain JDBC Connection",
+                new SQLNonTransientConnectionException("Connection refused"));
+
+        ResponseEntity<byte[]> response = handler.handleConnectionUnavailable(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+    }
+
+    private static String body(ResponseEntity<byte[]> response) {
+        return new String(response.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.registrarusuario.domain.model;
+
+import com.example.registrarusuario.domain.exception.InvalidFormatException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PhoneNormalizer Tests")
+class PhoneNormalizerTest {
+
+    @Test
+    @DisplayName("Debe quitar los ceros iniciales de contrycode y citycode, no los del número")
+    void shouldStripLeadingZerosOfCountryAndCityCode() {
+        assertThat(PhoneNormalizer.key("0057", "01", "0234567")).isEqualTo("+5710234567");
+        assertThat(PhoneNormalizer.key("57", "1", "234-5678")).isEqualTo("+5712345678");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"+57 01 2345678", "0057-1-2345678", "+57 (1) 234-5678", "+57 001 234 5678"})
+    @DisplayName("Debe normalizar la búsqueda con las mismas reglas que la clave guardada")
+    void shouldNormalizeQueryLikeStoredKey(String query) {
+        assertThat(PhoneNormalizer.normalizeQuery(query)).isEqualTo(PhoneNormalizer.key("57", "01", "2345678"));
+    }
+
+    @Test
+    @DisplayName("Debe conservar los ceros iniciales del número en la búsqueda")
+    void shouldKeepLeadingZerosOfNumberInQuery() {
+        assertThat(PhoneNormalizer.normalizeQuery("+57 1 0234567")).isEqualTo("+5710234567");
+    }
+
+    @Test
+    @DisplayName("Debe quitar solo los ceros del comienzo cuando la búsqueda no tiene separadores")
+    void shouldStripOnlyLeadingZerosWithoutSeparators() {
+        assertThat(PhoneNormalizer.normalizeQuery("005712345678")).isEqualTo("+5712345678");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una búsqueda sin dígitos")
+    void shouldRejectQueryWithoutDigits() {
+        assertThatThrownBy(() -> PhoneNormalizer.normalizeQuery("+-()"))
+                .isInstanceOf(InvalidFormatException.class)
+                .hasMessage("El teléfono no contiene dígitos");
+    }
+}
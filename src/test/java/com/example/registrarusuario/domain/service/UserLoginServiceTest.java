@@ -0,0 +1,118 @@
+package com.example.registrarusuario.domain.service;
+
+import com.example.registrarusuario.domain.exception.InvalidCredentialsException;
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.domain.port.out.TokenGeneratorPort;
+import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserLoginService Tests")
+class UserLoginServiceTest {
+
+    @Mock
+    private UserRepositoryPort userRepositoryPort;
+
+    @Mock
+    private TokenGeneratorPort tokenGeneratorPort;
+
+    @InjectMocks
+    private UserLoginService userLoginService;
+
+    private User storedUser;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime registeredAt = LocalDateTime.now().minusDays(1);
+        storedUser = User.builder()
+                .id("uuid-123")
+                .name("Juan Rodriguez")
+                .email("juan@rodriguez.org")
+                .password("Hunter2")
+                .phones(List.of())
+                .created(registeredAt)
+                .modified(registeredAt)
+                .lastLogin(registeredAt)
+                .token("old-token")
+                .isactive(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Debe emitir un token nuevo y registrar el último login con credenciales válidas")
+    void shouldLoginWithValidCredentials() {
+        // Given
+        when(userRepositoryPort.findByEmail("juan@rodriguez.org")).thenReturn(Optional.of(storedUser));
+        when(tokenGeneratorPort.generateToken("juan@rodriguez.org")).thenReturn("new-token");
+
+        // When
+        User result = userLoginService.login("juan@rodriguez.org", "Hunter2");
+
+        // Then
+        assertThat(result.getToken()).isEqualTo("new-token");
+        assertThat(result.getLastLogin()).isAfter(storedUser.getLastLogin());
+        assertThat(result.getCreated()).isEqualTo(storedUser.getCreated());
+
+        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+        verify(userRepositoryPort).recordLogin(captor.capture());
+        assertThat(captor.getValue().getId()).isEqualTo("uuid-123");
+        assertThat(captor.getValue().getToken()).isEqualTo("new-token");
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción cuando la contraseña es incorrecta")
+    void shouldThrowWhenPasswordDoesNotMatch() {
+        // Given
+        when(userRepositoryPort.findByEmail(anyString())).thenReturn(Optional.of(storedUser));
+
+        // When & Then
+        assertThatThrownBy(() -> userLoginService.login("juan@rodriguez.org", "Wrong123"))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage("Usuario o contraseña incorrectos");
+
+        verify(tokenGeneratorPort, never()).generateToken(anyString());
+        verify(userRepositoryPort, never()).recordLogin(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción cuando el usuario no existe")
+    void shouldThrowWhenUserDoesNotExist() {
+        // Given
+        when(userRepositoryPort.findByEmail(anyString())).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> userLoginService.login("noexiste@test.com", "Hunter2"))
+                .isInstanceOf(InvalidCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción cuando el usuario está inactivo")
+    void shouldThrowWhenUserIsInactive() {
+        // Given
+        User inactiveUser = storedUser.toBuilder().isactive(false).build();
+        when(userRepositoryPort.findByEmail(anyString())).thenReturn(Optional.of(inactiveUser));
+
+        // When & Then
+        assertThatThrownBy(() -> userLoginService.login("juan@rodriguez.org", "Hunter2"))
+                .isInstanceOf(InvalidCredentialsException.class);
+    }
+}
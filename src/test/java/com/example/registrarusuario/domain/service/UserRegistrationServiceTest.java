@@ -3,20 +3,24 @@ package com.example.registrarusuario.domain.service;
 import com.example.registrarusuario.domain.exception.EmailAlreadyExistsException;
 import com.example.registrarusuario.domain.exception.InvalidFormatException;
 import com.example.registrarusuario.domain.model.Phone;
+import com.example.registrarusuario.domain.model.RegistrationOutcome;
 import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.domain.port.out.RegistrationAuditPort;
 import com.example.registrarusuario.domain.port.out.TokenGeneratorPort;
 import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
 import com.example.registrarusuario.domain.port.out.ValidationPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -24,6 +28,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+@DisabledInNativeImage
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserRegistrationService Tests")
 class UserRegistrationServiceTest {
@@ -37,7 +42,9 @@ class UserRegistrationServiceTest {
     @Mock
     private TokenGeneratorPort tokenGeneratorPort;
 
-    @InjectMocks
+    @Mock
+    private RegistrationAuditPort registrationAuditPort;
+
     private UserRegistrationService userRegistrationService;
 
     private User testUser;
@@ -45,6 +52,10 @@ class UserRegistrationServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Tope de 40 teléfonos, en paralelo desde 20
+        userRegistrationService = new UserRegistrationService(userRepositoryPort, validationPort,
+                tokenGeneratorPort, registrationAuditPort, 40, 20);
+
         testPhone = Phone.builder()
                 .number("1234567")
                 .citycode("1")
@@ -98,6 +109,7 @@ class UserRegistrationServiceTest {
         verify(userRepositoryPort).existsByEmail("juan@rodriguez.org");
         verify(tokenGeneratorPort).generateToken("juan@rodriguez.org");
         verify(userRepositoryPort).save(any(User.class));
+        verify(registrationAuditPort).record("juan@rodriguez.org", RegistrationOutcome.CREATED, "uuid-123");
     }
 
     @Test
@@ -129,6 +141,7 @@ class UserRegistrationServiceTest {
         assertThatThrownBy(() -> userRegistrationService.registerUser(testUser))
                 .isInstanceOf(InvalidFormatException.class)
                 .hasMessage("El formato de la contraseña es inválido");
+        verify(registrationAuditPort).record("juan@rodriguez.org", RegistrationOutcome.INVALID_PASSWORD, null);
 
         verify(validationPort).isValidEmail("juan@rodriguez.org");
         verify(validationPort).isValidPassword("Hunter2");
@@ -155,6 +168,24 @@ class UserRegistrationServiceTest {
         verify(userRepositoryPort).existsByEmail("juan@rodriguez.org");
         verify(tokenGeneratorPort, never()).generateToken(anyString());
         verify(userRepositoryPort, never()).save(any(User.class));
+        verify(registrationAuditPort).record("juan@rodriguez.org", RegistrationOutcome.EMAIL_ALREADY_EXISTS, null);
+    }
+
+    @Test
+    @DisplayName("Debe auditar como correo duplicado el choque con un registro concurrente al guardar")
+    void shouldAuditDuplicateDetectedOnSave() {
+        // Given
+        when(validationPort.isValidEmail(anyString())).thenReturn(true);
+        when(validationPort.isValidPassword(anyString())).thenReturn(true);
+        when(userRepositoryPort.existsByEmail(anyString())).thenReturn(false);
+        when(tokenGeneratorPort.generateToken(anyString())).thenReturn("token");
+        when(userRepositoryPort.save(any(User.class)))
+                .thenThrow(new EmailAlreadyExistsException("El correo ya registrado"));
+
+        // When & Then
+        assertThatThrownBy(() -> userRegistrationService.registerUser(testUser))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+        verify(registrationAuditPort).record("juan@rodriguez.org", RegistrationOutcome.EMAIL_ALREADY_EXISTS, null);
     }
 
     @Test
@@ -220,5 +251,116 @@ class UserRegistrationServiceTest {
         // Then
         assertThat(result.getIsactive()).isTrue();
     }
-}
 
+    @Test
+    @DisplayName("Debe verificar y guardar el email normalizado conservando el original")
+    void shouldUseNormalizedEmailForUniqueness() {
+        // Given
+        User mixedCaseUser = testUser.toBuilder().email("Juan@Rodriguez.ORG").build();
+        when(validationPort.isValidEmail(anyString())).thenReturn(true);
+        when(validationPort.isValidPassword(anyString())).thenReturn(true);
+        when(userRepositoryPort.existsByEmail(anyString())).thenReturn(false);
+        when(tokenGeneratorPort.generateToken(anyString())).thenReturn("token");
+        when(userRepositoryPort.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        User result = userRegistrationService.registerUser(mixedCaseUser);
+
+        // Then
+        verify(userRepositoryPort).existsByEmail("juan@rodriguez.org");
+        assertThat(result.getEmail()).isEqualTo("Juan@Rodriguez.ORG");
+        assertThat(result.getNormalizedEmail()).isEqualTo("juan@rodriguez.org");
+    }
+
+    @Test
+    @DisplayName("Debe guardar cada teléfono con su clave normalizada")
+    void shouldNormalizePhoneKeys() {
+        // Given
+        User formattedPhoneUser = testUser.toBuilder()
+                .phones(List.of(Phone.builder().number("234-5678").citycode("(01)").contrycode("+57").build()))
+                .build();
+        when(validationPort.isValidEmail(anyString())).thenReturn(true);
+        when(validationPort.isValidPassword(anyString())).thenReturn(true);
+        when(userRepositoryPort.existsByEmail(anyString())).thenReturn(false);
+        when(tokenGeneratorPort.generateToken(anyString())).thenReturn("token");
+        when(userRepositoryPort.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        User result = userRegistrationService.registerUser(formattedPhoneUser);
+
+        // Then
+        assertThat(result.getPhones()).extracting(Phone::getPhoneKey).containsExactly("+5712345678");
+        assertThat(result.getPhones()).extracting(Phone::getNumber).containsExactly("234-5678");
+    }
+
+    @Test
+    @DisplayName("Debe lanzar InvalidFormatException cuando un teléfono no tiene dígitos")
+    void shouldRejectPhoneWithoutDigits() {
+        // Given
+        User invalidPhoneUser = testUser.toBuilder()
+                .phones(List.of(Phone.builder().number("abc").citycode("-").contrycode("+").build()))
+                .build();
+        when(validationPort.isValidEmail(anyString())).thenReturn(true);
+        when(validationPort.isValidPassword(anyString())).thenReturn(true);
+        when(userRepositoryPort.existsByEmail(anyString())).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> userRegistrationService.registerUser(invalidPhoneUser))
+                .isInstanceOf(InvalidFormatException.class)
+                .hasMessage("El teléfono no contiene dígitos");
+        verify(userRepositoryPort, never()).save(any(User.class));
+        verify(registrationAuditPort).record("juan@rodriguez.org", RegistrationOutcome.INVALID_PHONE, null);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar más teléfonos que el tope antes de consultar el repositorio")
+    void shouldRejectMorePhonesThanAllowed() {
+        // Given
+        User manyPhonesUser = testUser.toBuilder().phones(Collections.nCopies(41, testPhone)).build();
+        when(validationPort.isValidEmail(anyString())).thenReturn(true);
+        when(validationPort.isValidPassword(anyString())).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> userRegistrationService.registerUser(manyPhonesUser))
+                .isInstanceOf(InvalidFormatException.class)
+                .hasMessage("Se admiten hasta 40 teléfonos");
+        verify(userRepositoryPort, never()).existsByEmail(anyString());
+        verify(registrationAuditPort).record("juan@rodriguez.org", RegistrationOutcome.INVALID_PHONE, null);
+    }
+
+    @Test
+    @DisplayName("Debe normalizar en paralelo una lista larga conservando el orden")
+    void shouldNormalizeLargePhoneListsInOrder() {
+        // Given
+        List<Phone> phones = IntStream.range(0, 40)
+                .mapToObj(i -> Phone.builder().number(String.format("%07d", i)).citycode("01").contrycode("+57").build())
+                .toList();
+        User manyPhonesUser = testUser.toBuilder().phones(phones).build();
+        when(validationPort.isValidEmail(anyString())).thenReturn(true);
+        when(validationPort.isValidPassword(anyString())).thenReturn(true);
+        when(userRepositoryPort.existsByEmail(anyString())).thenReturn(false);
+        when(tokenGeneratorPort.generateToken(anyString())).thenReturn("test-jwt-token");
+        when(userRepositoryPort.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        User result = userRegistrationService.registerUser(manyPhonesUser);
+
+        // Then
+        assertThat(result.getPhones()).extracting(Phone::getPhoneKey)
+                .containsExactlyElementsOf(IntStream.range(0, 40).mapToObj(i -> String.format("+571%07d", i)).toList());
+    }
+
+    @Test
+    @DisplayName("Debe auditar como error una falla inesperada y propagarla")
+    void shouldAuditUnexpectedErrors() {
+        // Given
+        when(validationPort.isValidEmail(anyString())).thenReturn(true);
+        when(validationPort.isValidPassword(anyString())).thenReturn(true);
+        when(userRepositoryPort.existsByEmail(anyString())).thenThrow(new IllegalStateException("sin conexión"));
+
+        // When & Then
+        assertThatThrownBy(() -> userRegistrationService.registerUser(testUser))
+                .isInstanceOf(IllegalStateException.class);
+        verify(registrationAuditPort).record("juan@rodriguez.org", RegistrationOutcome.ERROR, null);
+    }
+}
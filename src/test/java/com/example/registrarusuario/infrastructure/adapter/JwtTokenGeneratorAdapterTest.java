@@ -3,10 +3,15 @@ package com.example.registrarusuario.infrastructure.adapter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
+@DisabledInNativeImage
 @DisplayName("JwtTokenGeneratorAdapter Tests")
 class JwtTokenGeneratorAdapterTest {
 
@@ -57,6 +62,18 @@ class JwtTokenGeneratorAdapterTest {
         String token = tokenGenerator.generateToken("test@example.com");
         assertThat(token).startsWith("eyJ");
     }
-}
 
+    @Test
+    @DisplayName("Debe omitir el claim iat y generar un token más corto en modo compacto")
+    void shouldGenerateShorterTokenInCompactMode() {
+        String fullToken = tokenGenerator.generateToken("juan@rodriguez.org");
+
+        ReflectionTestUtils.setField(tokenGenerator, "compact", true);
+        String compactToken = tokenGenerator.generateToken("juan@rodriguez.org");
 
+        String payload = new String(Base64.getUrlDecoder().decode(compactToken.split("\\.")[1]),
+                StandardCharsets.UTF_8);
+        assertThat(payload).contains("\"sub\"").contains("\"exp\"").doesNotContain("\"iat\"");
+        assertThat(compactToken.length()).isLessThan(fullToken.length());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.registrarusuario.infrastructure.adapter;
+
+import com.example.registrarusuario.infrastructure.tenant.Tenant;
+import com.example.registrarusuario.infrastructure.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisabledInNativeImage
+@DisplayName("JwtTokenVerifierAdapter Tests")
+class JwtTokenVerifierAdapterTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationThatShouldBeVeryLongAndSecure123456789";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenGeneratorAdapter tokenGenerator;
+    private JwtTokenVerifierAdapter tokenVerifier;
+
+    @BeforeEach
+    void setUp() {
+        tokenGenerator = new JwtTokenGeneratorAdapter();
+        ReflectionTestUtils.setField(tokenGenerator, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenGenerator, "expiration", 86400000L);
+
+        meterRegistry = new SimpleMeterRegistry();
+        tokenVerifier = new JwtTokenVerifierAdapter(SECRET, 100, Duration.ofMinutes(5), 100, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Debe retornar el email de un token válido")
+    void shouldReturnSubjectForValidToken() {
+        String token = tokenGenerator.generateToken("juan@rodriguez.org");
+
+        assertThat(tokenVerifier.verifyToken(token)).contains("juan@rodriguez.org");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar tokens mal formados, vacíos o firmados con otra clave")
+    void shouldRejectInvalidTokens() {
+        JwtTokenGeneratorAdapter otherGenerator = new JwtTokenGeneratorAdapter();
+        ReflectionTestUtils.setField(otherGenerator, "secret", SECRET.replace('m', 'n'));
+        ReflectionTestUtils.setField(otherGenerator, "expiration", 86400000L);
+
+        assertThat(tokenVerifier.verifyToken(null)).isEmpty();
+        assertThat(tokenVerifier.verifyToken("")).isEmpty();
+        assertThat(tokenVerifier.verifyToken("no-es-un-jwt")).isEmpty();
+        assertThat(tokenVerifier.verifyToken(otherGenerator.generateToken("juan@rodriguez.org"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar tokens expirados")
+    void shouldRejectExpiredToken() {
+        ReflectionTestUtils.setField(tokenGenerator, "expiration", -1000L);
+        String token = tokenGenerator.generateToken("juan@rodriguez.org");
+
+        assertThat(tokenVerifier.verifyToken(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe servir verificaciones repetidas desde la caché")
+    void shouldServeRepeatedVerificationsFromCache() {
+        String token = tokenGenerator.generateToken("juan@rodriguez.org");
+
+        tokenVerifier.verifyToken(token);
+        tokenVerifier.verifyToken(token);
+        tokenVerifier.verifyToken(token);
+
+        assertThat(meterRegistry.get("app.jwt.verification").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("No debe aceptar un payload alterado aunque su firma esté en caché")
+    void shouldNotAcceptTamperedPayloadWithCachedSignature() {
+        String token = tokenGenerator.generateToken("juan@rodriguez.org");
+        String forgedPayloadToken = tokenGenerator.generateToken("pedro@perez.com");
+        tokenVerifier.verifyToken(token);
+
+        String[] parts = token.split("\\.");
+        String[] forgedParts = forgedPayloadToken.split("\\.");
+        String tampered = parts[0] + "." + forgedParts[1] + "." + parts[2];
+
+        assertThat(tokenVerifier.verifyToken(tampered)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe aceptar el token solo en el tenant que lo emitió")
+    void shouldAcceptTokenOnlyInIssuingTenant() {
+        Tenant acme = new Tenant("acme", "T_ACME", SECRET.replace('m', 'n'), null, null);
+        Tenant globex = new Tenant("globex", "T_GLOBEX", null, null, null);
+        String acmeToken = TenantContext.call(acme, () -> tokenGenerator.generateToken("juan@rodriguez.org"));
+        String globexToken = TenantContext.call(globex, () -> tokenGenerator.generateToken("juan@rodriguez.org"));
+
+        assertThat(TenantContext.call(acme, () -> tokenVerifier.verifyToken(acmeToken))).contains("juan@rodriguez.org");
+        assertThat(TenantContext.call(globex, () -> tokenVerifier.verifyToken(acmeToken))).isEmpty();
+        // globex firma con la clave global, pero su claim tid no vale fuera de globex
+        assertThat(TenantContext.call(globex, () -> tokenVerifier.verifyToken(globexToken))).contains("juan@rodriguez.org");
+        assertThat(tokenVerifier.verifyToken(globexToken)).isEmpty();
+    }
+}
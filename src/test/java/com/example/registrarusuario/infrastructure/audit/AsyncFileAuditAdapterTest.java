@@ -0,0 +1,88 @@
+package com.example.registrarusuario.infrastructure.audit;
+
+import com.example.registrarusuario.domain.model.RegistrationOutcome;
+import com.example.registrarusuario.infrastructure.tenant.Tenant;
+import com.example.registrarusuario.infrastructure.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AsyncFileAuditAdapter Tests")
+class AsyncFileAuditAdapterTest {
+
+    private static final int THREADS = 4;
+    private static final int ATTEMPTS_PER_THREAD = 2_000;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(AuditFormat.class)
+    @DisplayName("Debe escribir todos los intentos concurrentes en segmentos y permitir consultarlos por email")
+    void shouldWriteAndQueryAttempts(AuditFormat format) throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Buffer y segmentos chicos: se ejercitan la espera por buffer lleno y la rotación
+        AsyncFileAuditAdapter adapter = new AsyncFileAuditAdapter(new AuditProperties(
+                true, directory, format, 64, DataSize.ofKilobytes(8), 32, Duration.ofSeconds(5)), meterRegistry);
+        Instant start = Instant.now();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int thread = 0; thread < THREADS; thread++) {
+            String email = "usuario" + thread + "@example.org";
+            // Los hilos impares registran dentro de un tenant
+            Tenant tenant = thread % 2 == 0 ? null : new Tenant("acme", "T_ACME", null, null, null);
+            executor.execute(() -> TenantContext.run(tenant, () -> {
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    adapter.record(email, i % 2 == 0 ? RegistrationOutcome.CREATED : RegistrationOutcome.INVALID_PHONE,
+                            i % 2 == 0 ? "id-" + i : null);
+                }
+            }));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        adapter.close();
+
+        assertThat(meterRegistry.counter("app.audit.dropped").count()).isZero();
+        assertThat(meterRegistry.counter("app.audit.written").count()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD);
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertThat(segments.toList()).hasSizeGreaterThan(1)
+                    .allSatisfy(segment -> assertThat(segment.toString()).endsWith(format.extension()));
+        }
+
+        AuditLogReader reader = new AuditLogReader(directory);
+        List<AuditRecord> all = new ArrayList<>();
+        reader.query(null, Instant.MIN, Instant.MAX, all::add);
+        assertThat(all).hasSize(THREADS * ATTEMPTS_PER_THREAD)
+                .filteredOn(record -> "acme".equals(record.tenant()))
+                .hasSize(THREADS / 2 * ATTEMPTS_PER_THREAD);
+
+        List<AuditRecord> byEmail = new ArrayList<>();
+        reader.query(" USUARIO1@example.org", start.minusSeconds(1), Instant.now().plusSeconds(1), byEmail::add);
+        assertThat(byEmail).hasSize(ATTEMPTS_PER_THREAD)
+                .allSatisfy(record -> assertThat(record.email()).isEqualTo("usuario1@example.org"))
+                .allSatisfy(record -> assertThat(record.tenant()).isEqualTo("acme"))
+                .filteredOn(record -> record.outcome() == RegistrationOutcome.CREATED)
+                .hasSize(ATTEMPTS_PER_THREAD / 2)
+                .allSatisfy(record -> assertThat(record.userId()).startsWith("id-"));
+
+        List<AuditRecord> future = new ArrayList<>();
+        reader.query(null, Instant.now().plusSeconds(60), Instant.MAX, future::add);
+        assertThat(future).isEmpty();
+    }
+}
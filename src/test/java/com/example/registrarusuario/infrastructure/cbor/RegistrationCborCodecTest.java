@@ -0,0 +1,120 @@
+package com.example.registrarusuario.infrastructure.cbor;
+
+import com.example.registrarusuario.application.dto.ErrorResponse;
+import com.example.registrarusuario.application.dto.PhoneRequest;
+import com.example.registrarusuario.application.dto.PhoneResponse;
+import com.example.registrarusuario.application.dto.UserRegistrationMinimalResponse;
+import com.example.registrarusuario.application.dto.UserRegistrationRequest;
+import com.example.registrarusuario.application.dto.UserRegistrationResponse;
+import com.example.registrarusuario.application.exception.PayloadTooLargeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RegistrationCborCodec Tests")
+class RegistrationCborCodecTest {
+
+    private static final UserRegistrationRequest REQUEST = new UserRegistrationRequest(
+            "Juan Rodriguez", "juan@rodriguez.org", "Hunter2",
+            List.of(new PhoneRequest("1234567", "1", "57"), new PhoneRequest("7654321", "2", "56")));
+
+    @Test
+    @DisplayName("Debe leer la misma solicitud que escribe")
+    void shouldRoundTripRequest() {
+        assertThat(RegistrationCborCodec.readRequest(RegistrationCborCodec.writeRequest(REQUEST))).isEqualTo(REQUEST);
+    }
+
+    @Test
+    @DisplayName("Debe leer la misma respuesta que escribe, con fechas y nulls")
+    void shouldRoundTripResponse() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_456_000);
+        UserRegistrationResponse response = new UserRegistrationResponse("id-1", "Juan Rodriguez",
+                "juan@rodriguez.org", List.of(new PhoneResponse("1234567", "1", "57")),
+                now, now, now, "token", true);
+        UserRegistrationResponse withoutPhones = new UserRegistrationResponse("id-2", "Ana", "ana@example.org",
+                null, now, now, null, null, false);
+
+        assertThat(RegistrationCborCodec.readResponse(RegistrationCborCodec.writeResponse(response)))
+                .isEqualTo(response);
+        assertThat(RegistrationCborCodec.readResponse(RegistrationCborCodec.writeResponse(withoutPhones)))
+                .isEqualTo(withoutPhones);
+    }
+
+    @Test
+    @DisplayName("Debe aceptar largos indefinidos e ignorar campos desconocidos")
+    void shouldAcceptIndefiniteLengthsAndUnknownFields() {
+        // {_ "name": "Ana", "extra": [1, -1, 1.5], "email": (_ "ana@", "example.org"), "phones": [_ ]}
+        byte[] body = HexFormat.of().parseHex("bf"
+                + "646e616d6563416e61"
+                + "656578747261830120f93e00"
+                + "65656d61696c7f64616e61406b6578616d706c652e6f7267ff"
+                + "6670686f6e65739fff"
+                + "ff");
+
+        UserRegistrationRequest request = RegistrationCborCodec.readRequest(body);
+
+        assertThat(request).isEqualTo(new UserRegistrationRequest("Ana", "ana@example.org", null, List.of()));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cuerpos truncados, tipos incorrectos y contenido sobrante")
+    void shouldRejectMalformedBodies() {
+        byte[] valid = RegistrationCborCodec.writeRequest(REQUEST);
+        byte[] truncated = Arrays.copyOf(valid, valid.length - 3);
+        byte[] trailing = Arrays.copyOf(valid, valid.length + 1);
+        // {"name": 1}
+        byte[] wrongType = HexFormat.of().parseHex("a1646e616d6501");
+        // Texto que declara 2^32 bytes
+        byte[] hugeLength = HexFormat.of().parseHex("a1646e616d657b0000000100000000");
+
+        assertThatThrownBy(() -> RegistrationCborCodec.readRequest(truncated)).isInstanceOf(CborFormatException.class);
+        assertThatThrownBy(() -> RegistrationCborCodec.readRequest(trailing))
+                .isInstanceOf(CborFormatException.class).hasMessage("Hay contenido después del objeto");
+        assertThatThrownBy(() -> RegistrationCborCodec.readRequest(wrongType))
+                .isInstanceOf(CborFormatException.class).hasMessage("Se esperaba texto en 'name'");
+        assertThatThrownBy(() -> RegistrationCborCodec.readRequest(hugeLength))
+                .isInstanceOf(CborFormatException.class);
+        assertThatThrownBy(() -> RegistrationCborCodec.readRequest(new byte[0]))
+                .isInstanceOf(CborFormatException.class);
+    }
+
+    @Test
+    @DisplayName("El converter debe rechazar cuerpos sobre el tope y escribir errores como CBOR")
+    void converterShouldEnforceSizeLimitAndWriteErrors() throws Exception {
+        byte[] body = RegistrationCborCodec.writeRequest(REQUEST);
+        RegistrationCborHttpMessageConverter converter = new RegistrationCborHttpMessageConverter(body.length);
+        RegistrationCborHttpMessageConverter tooSmall = new RegistrationCborHttpMessageConverter(body.length - 1);
+
+        assertThat(converter.read(UserRegistrationRequest.class, cbor(body))).isEqualTo(REQUEST);
+        assertThatThrownBy(() -> tooSmall.read(UserRegistrationRequest.class, cbor(body)))
+                .isInstanceOf(PayloadTooLargeException.class)
+                .hasMessage("El cuerpo de la solicitud excede el máximo de " + (body.length - 1) + " bytes");
+        assertThat(converter.canRead(UserRegistrationResponse.class, MediaType.APPLICATION_CBOR)).isFalse();
+        assertThat(converter.canWrite(UserRegistrationRequest.class, MediaType.APPLICATION_CBOR)).isFalse();
+        assertThat(converter.canWrite(UserRegistrationMinimalResponse.class, MediaType.APPLICATION_CBOR)).isTrue();
+
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(new ErrorResponse("El correo ya está registrado"), MediaType.APPLICATION_CBOR, output);
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(output.getBodyAsBytes())
+                .isEqualTo(RegistrationCborCodec.writeError(new ErrorResponse("El correo ya está registrado")));
+    }
+
+    private static MockHttpInputMessage cbor(byte[] body) {
+        MockHttpInputMessage message = new MockHttpInputMessage(body);
+        message.getHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE);
+        return message;
+    }
+}
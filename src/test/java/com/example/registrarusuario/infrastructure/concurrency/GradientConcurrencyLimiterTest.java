@@ -0,0 +1,77 @@
+package com.example.registrarusuario.infrastructure.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GradientConcurrencyLimiter Tests")
+class GradientConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(80);
+
+    @Test
+    @DisplayName("Debe rechazar adquisiciones por encima del límite actual")
+    void shouldRejectAboveLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(3, 1, 10, 2.0, 0.2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+
+        limiter.release(FAST);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe reducir el límite cuando la latencia crece bajo saturación")
+    void shouldShrinkLimitWhenLatencyGrows() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(50, 4, 200, 2.0, 0.2);
+        runSaturated(limiter, FAST, 200);
+        int limitBefore = limiter.getLimit();
+
+        runSaturated(limiter, SLOW, 200);
+
+        assertThat(limiter.getLimit()).isLessThan(limitBefore);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Debe aumentar el límite con latencia estable y saturación")
+    void shouldGrowLimitWhenLatencyIsStable() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 4, 100, 2.0, 0.2);
+
+        runSaturated(limiter, FAST, 200);
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+        assertThat(limiter.getLimit()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("No debe mover el límite cuando no hay saturación")
+    void shouldKeepLimitWhenNotSaturated() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 100, 2.0, 0.2);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(i < 50 ? FAST : SLOW);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    private void runSaturated(GradientConcurrencyLimiter limiter, long rttNanos, int samples) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.tryAcquire()) {
+                // llenar hasta el límite actual
+            }
+            limiter.release(rttNanos);
+        }
+    }
+}
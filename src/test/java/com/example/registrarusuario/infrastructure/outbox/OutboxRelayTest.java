@@ -0,0 +1,127 @@
+package com.example.registrarusuario.infrastructure.outbox;
+
+import com.example.registrarusuario.infrastructure.persistence.shard.ShardRouter;
+import com.example.registrarusuario.infrastructure.tenant.TenancyProperties;
+import com.example.registrarusuario.infrastructure.tenant.TenantRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private Path eventsFile;
+    private NdjsonFileOutboxSink fileSink;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE outbox (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "aggregate_id VARCHAR(36) NOT NULL, event_type VARCHAR(64) NOT NULL, "
+                + "payload VARCHAR(4000) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        meterRegistry = new SimpleMeterRegistry();
+        eventsFile = tempDir.resolve("events.ndjson");
+        fileSink = new NdjsonFileOutboxSink(eventsFile, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fileSink.close();
+    }
+
+    @Test
+    @DisplayName("Debe publicar los eventos en orden como NDJSON y borrarlos del outbox")
+    void shouldPublishEventsInOrderAndDeleteThem() throws IOException {
+        insertEvent("user-1", "juan@example.com");
+        insertEvent("user-2", "ana@example.com");
+
+        int published = relay(fileSink, 500).relayOnce();
+
+        assertThat(published).isEqualTo(2);
+        List<String> lines = Files.readAllLines(eventsFile);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("type").asText()).isEqualTo("UserRegistered");
+        assertThat(first.get("aggregateId").asText()).isEqualTo("user-1");
+        assertThat(first.get("payload").get("email").asText()).isEqualTo("juan@example.com");
+        assertThat(pendingEvents()).isZero();
+        assertThat(meterRegistry.counter("app.outbox.published").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Debe conservar los eventos cuando el sink falla")
+    void shouldKeepEventsWhenSinkFails() {
+        insertEvent("user-1", "juan@example.com");
+        OutboxSink failingSink = events -> {
+            throw new IOException("sink no disponible");
+        };
+
+        assertThatThrownBy(() -> relay(failingSink, 500).relayOnce())
+                .hasCauseInstanceOf(IOException.class);
+        assertThat(pendingEvents()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe vaciar el outbox en varios lotes y reportar lag cero")
+    void shouldDrainInBatches() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            insertEvent("user-" + i, "user" + i + "@example.com");
+        }
+
+        relay(fileSink, 2).drain();
+
+        assertThat(Files.readAllLines(eventsFile)).hasSize(5);
+        assertThat(pendingEvents()).isZero();
+        assertThat(meterRegistry.get("app.outbox.lag").gauge().value()).isZero();
+        assertThat(meterRegistry.get("app.outbox.delivery.lag").timer().count()).isEqualTo(5);
+    }
+
+    private OutboxRelay relay(OutboxSink sink, int batchSize) {
+        TenantRegistry withoutTenants = new TenantRegistry(new TenancyProperties(
+                false, "X-Tenant-ID", null, 4, Duration.ofSeconds(2), 1000, true, null));
+        return new OutboxRelay(jdbcTemplate, transactionTemplate, sink, withoutTenants,
+                new StaticListableBeanFactory().getBeanProvider(ShardRouter.class), meterRegistry,
+                false, Duration.ofSeconds(1), batchSize);
+    }
+
+    private void insertEvent(String userId, String email) {
+        jdbcTemplate.update("INSERT INTO outbox (aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)",
+                userId, OutboxEventWriter.USER_REGISTERED,
+                "{\"id\":\"" + userId + "\",\"email\":\"" + email + "\"}", LocalDateTime.now());
+    }
+
+    private int pendingEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox", Integer.class);
+    }
+}
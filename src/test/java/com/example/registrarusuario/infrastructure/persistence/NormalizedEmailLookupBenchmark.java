@@ -0,0 +1,89 @@
+package com.example.registrarusuario.infrastructure.persistence;
+
+import com.example.registrarusuario.domain.model.EmailNormalizer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ejecutar con ./gradlew benchmark. Compara la verificación de existencia sobre la columna
+// normalizada (índice único) con la alternativa ingenua LOWER(email), que obliga a recorrer la tabla
+@Tag("benchmark")
+@DisplayName("Benchmark: existencia por email normalizado")
+class NormalizedEmailLookupBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final String EXISTS_NORMALIZED =
+            "SELECT EXISTS (SELECT 1 FROM users WHERE email_normalized = ?)";
+    private static final String EXISTS_LOWER =
+            "SELECT EXISTS (SELECT 1 FROM users WHERE LOWER(email) = ?)";
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void loadUsers() {
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(
+                "jdbc:h2:mem:email-benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", true));
+        jdbcTemplate.execute("CREATE TABLE users (id VARCHAR(36) PRIMARY KEY, email VARCHAR(255) NOT NULL, "
+                + "email_normalized VARCHAR(255) NOT NULL, "
+                + "CONSTRAINT uk_users_email_normalized UNIQUE (email_normalized))");
+
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < ROWS; i++) {
+            String email = "Usuario" + i + "@Example.org";
+            batch.add(new Object[]{UUID.randomUUID().toString(), email, EmailNormalizer.normalize(email)});
+            if (batch.size() == 10_000) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (id, email, email_normalized) VALUES (?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("La consulta normalizada usa el índice único y la de LOWER(email) recorre la tabla")
+    void shouldUseUniqueIndexForNormalizedLookup() {
+        String normalizedPlan = explain(EXISTS_NORMALIZED);
+        String lowerPlan = explain(EXISTS_LOWER);
+        System.out.printf("Plan normalizado: %s%nPlan LOWER(email): %s%n", normalizedPlan, lowerPlan);
+
+        assertThat(normalizedPlan).containsIgnoringCase("UK_USERS_EMAIL_NORMALIZED");
+        assertThat(lowerPlan).containsIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("La verificación por columna normalizada es órdenes de magnitud más rápida")
+    void shouldBeFasterThanLowerFunctionLookup() {
+        double normalizedNanos = nanosPerLookup(EXISTS_NORMALIZED, 20_000);
+        double lowerNanos = nanosPerLookup(EXISTS_LOWER, 50);
+        System.out.printf("%d filas: email_normalized = ? -> %.1f us/op; LOWER(email) = ? -> %.1f us/op (x%.0f)%n",
+                ROWS, normalizedNanos / 1_000, lowerNanos / 1_000, lowerNanos / normalizedNanos);
+
+        assertThat(normalizedNanos * 10).isLessThan(lowerNanos);
+    }
+
+    private static double nanosPerLookup(String sql, int lookups) {
+        // Calentamiento para JIT y caché de planes de H2
+        for (int i = 0; i < Math.min(lookups, 1_000); i++) {
+            jdbcTemplate.queryForObject(sql, Boolean.class, "usuario" + (i * 7919 % ROWS) + "@example.org");
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            Boolean exists = jdbcTemplate.queryForObject(sql, Boolean.class,
+                    "usuario" + (i * 104_729L % ROWS) + "@example.org");
+            assertThat(exists).isTrue();
+        }
+        return (System.nanoTime() - start) / (double) lookups;
+    }
+
+    private static String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql.replace("?", "'usuario1@example.org'"), String.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.registrarusuario.infrastructure.persistence;
+
+import com.example.registrarusuario.domain.model.Phone;
+import com.example.registrarusuario.domain.model.PhoneNormalizer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ejecutar con ./gradlew benchmark. Registros con 1, 10 y 100 teléfonos: normalización secuencial
+// frente a la paralela (app.phones.parallel-validation-threshold) e inserción de los teléfonos fila a
+// fila (sin hibernate.jdbc.batch_size), en un batch JDBC y en un único INSERT multi-fila
+@Tag("benchmark")
+@DisplayName("Benchmark: listas de teléfonos por usuario")
+class PhoneListBenchmark {
+
+    private static final int[] PHONES_PER_USER = {1, 10, 100};
+    private static final int NORMALIZE_WARMUP = 20_000;
+    private static final int NORMALIZE_MEASURED = 50_000;
+    private static final int INSERT_WARMUP = 200;
+    private static final int INSERT_MEASURED = 1_000;
+
+    private static final String INSERT_USER = "INSERT INTO users (id, name, email, email_normalized, password, "
+            + "created, modified, last_login, token, isactive) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PHONE =
+            "INSERT INTO phones (id, number, citycode, contrycode, phone_key, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Test
+    @DisplayName("Compara la normalización secuencial y en paralelo")
+    void shouldCompareSequentialAndParallelNormalization() {
+        for (int size : PHONES_PER_USER) {
+            List<Phone> phones = phones(size);
+            double sequential = microsPerList(phones, false);
+            double parallel = microsPerList(phones, true);
+            System.out.printf("%3d teléfonos: secuencial %.2f us/usuario, paralelo %.2f us/usuario%n",
+                    size, sequential, parallel);
+            assertThat(PhoneNormalizer.withKeys(phones, true)).extracting(Phone::getPhoneKey)
+                    .isEqualTo(PhoneNormalizer.withKeys(phones, false).stream().map(Phone::getPhoneKey).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Compara inserciones fila a fila, en batch y multi-fila")
+    void shouldCompareInsertStrategies() {
+        for (int size : PHONES_PER_USER) {
+            double perRow = microsPerUser(size, Strategy.PER_ROW);
+            double batch = microsPerUser(size, Strategy.BATCH);
+            double multiRow = microsPerUser(size, Strategy.MULTI_ROW);
+            System.out.printf("%3d teléfonos: fila a fila %.1f us/usuario, batch %.1f us/usuario, multi-fila %.1f us/usuario%n",
+                    size, perRow, batch, multiRow);
+        }
+    }
+
+    private static double microsPerList(List<Phone> phones, boolean parallel) {
+        int iterations = Math.max(1, NORMALIZE_MEASURED / phones.size());
+        for (int i = 0; i < Math.max(1, NORMALIZE_WARMUP / phones.size()); i++) {
+            PhoneNormalizer.withKeys(phones, parallel);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            PhoneNormalizer.withKeys(phones, parallel);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / iterations;
+    }
+
+    private static double microsPerUser(int phonesPerUser, Strategy strategy) {
+        JdbcTemplate jdbcTemplate = newDatabase();
+        insertUsers(jdbcTemplate, phonesPerUser, strategy, "warmup", INSERT_WARMUP);
+        long start = System.nanoTime();
+        insertUsers(jdbcTemplate, phonesPerUser, strategy, "medido", INSERT_MEASURED);
+        double micros = (System.nanoTime() - start) / 1_000.0 / INSERT_MEASURED;
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM phones", Integer.class);
+        assertThat(rows).isEqualTo((INSERT_WARMUP + INSERT_MEASURED) * phonesPerUser);
+        return micros;
+    }
+
+    private static void insertUsers(JdbcTemplate jdbcTemplate, int phonesPerUser, Strategy strategy,
+                                    String prefix, int users) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String multiRowInsert = "INSERT INTO phones (id, number, citycode, contrycode, phone_key, user_id) VALUES "
+                + String.join(", ", Collections.nCopies(phonesPerUser, "(?, ?, ?, ?, ?, ?)"));
+        for (int i = 0; i < users; i++) {
+            String id = UUID.randomUUID().toString();
+            String email = prefix + i + "@example.org";
+            jdbcTemplate.update(INSERT_USER, id, "Usuario " + i, email, email, "Hunter2", now, now, now, "token-" + i, true);
+
+            List<Object[]> rows = new ArrayList<>(phonesPerUser);
+            for (int p = 0; p < phonesPerUser; p++) {
+                String number = String.format("%07d", p);
+                rows.add(new Object[]{UUID.randomUUID().toString(), number, "1", "57", "+571" + number, id});
+            }
+            switch (strategy) {
+                case PER_ROW -> rows.forEach(row -> jdbcTemplate.update(INSERT_PHONE, row));
+                case BATCH -> jdbcTemplate.batchUpdate(INSERT_PHONE, rows);
+                case MULTI_ROW -> jdbcTemplate.update(multiRowInsert,
+                        rows.stream().flatMap(Arrays::stream).toArray());
+            }
+        }
+    }
+
+    private static JdbcTemplate newDatabase() {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:phone-list-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", true);
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        return new JdbcTemplate(dataSource);
+    }
+
+    private static List<Phone> phones(int count) {
+        List<Phone> phones = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            phones.add(Phone.builder().number(String.format("%03d-%04d", i, i)).citycode("(01)").contrycode("+57").build());
+        }
+        return phones;
+    }
+
+    private enum Strategy {
+        PER_ROW,
+        BATCH,
+        MULTI_ROW
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.registrarusuario.infrastructure.persistence;
+
+import com.example.registrarusuario.domain.model.PhoneNormalizer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ejecutar con ./gradlew benchmark. Normalización de teléfonos a escala de importación masiva:
+// PhoneNormalizer frente a una versión con regex, y el backfill SQL de V5 frente a la regla de Java
+@Tag("benchmark")
+@DisplayName("Benchmark: normalización de teléfonos")
+class PhoneNormalizationBenchmark {
+
+    private static final int PHONES = 1_000_000;
+    private static final int BACKFILL_PHONES = 200_000;
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final String[] COUNTRY_FORMATS = {"+57", "0057", "57", "+56"};
+    private static final String[] CITY_FORMATS = {"(01)", "1", "01", "4"};
+
+    private static final Pattern NON_DIGITS = Pattern.compile("[^0-9]");
+    private static final Pattern LEADING_ZEROS = Pattern.compile("^0+");
+
+    @Test
+    @DisplayName("Normaliza un millón de teléfonos con el mismo resultado que la versión con regex")
+    void shouldNormalizeInBulk() {
+        List<String[]> phones = generatePhones(PHONES);
+
+        // Calentamiento de ambas variantes antes de medir
+        normalizeAll(phones, false);
+        normalizeAll(phones, true);
+
+        long start = System.nanoTime();
+        List<String> keys = normalizeAll(phones, false);
+        long loopNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<String> regexKeys = normalizeAll(phones, true);
+        long regexNanos = System.nanoTime() - start;
+
+        System.out.printf("PhoneNormalizer: %.1f ns/teléfono (%.0f teléfonos/s)%n",
+                (double) loopNanos / PHONES, PHONES * 1e9 / loopNanos);
+        System.out.printf("Regex:           %.1f ns/teléfono (%.0f teléfonos/s)%n",
+                (double) regexNanos / PHONES, PHONES * 1e9 / regexNanos);
+
+        assertThat(keys).isEqualTo(regexKeys);
+    }
+
+    @Test
+    @DisplayName("El backfill de V5 produce las mismas claves que PhoneNormalizer y la búsqueda usa el índice")
+    void shouldBackfillPhoneKeys() {
+        DataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:phone-benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", true);
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").target("4").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        insertPhonesWithoutKey(jdbcTemplate, generatePhones(BACKFILL_PHONES));
+
+        long start = System.nanoTime();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        long backfillMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Backfill V5: %d ms para %d teléfonos%n", backfillMillis, BACKFILL_PHONES);
+
+        List<String> mismatches = new ArrayList<>();
+        jdbcTemplate.query("SELECT contrycode, citycode, number, phone_key FROM phones", rs -> {
+            String expected = PhoneNormalizer.key(rs.getString("contrycode"), rs.getString("citycode"),
+                    rs.getString("number"));
+            if (!expected.equals(rs.getString("phone_key"))) {
+                mismatches.add(rs.getString("phone_key") + " != " + expected);
+            }
+        });
+        assertThat(mismatches).isEmpty();
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT user_id FROM phones WHERE phone_key = ?",
+                String.class, "+5712345678");
+        System.out.printf("Plan de búsqueda: %s%n", plan);
+        assertThat(plan).containsIgnoringCase("IDX_PHONES_PHONE_KEY");
+    }
+
+    private static List<String> normalizeAll(List<String[]> phones, boolean regex) {
+        List<String> keys = new ArrayList<>(phones.size());
+        for (String[] phone : phones) {
+            keys.add(regex ? regexKey(phone[0], phone[1], phone[2]) : PhoneNormalizer.key(phone[0], phone[1], phone[2]));
+        }
+        return keys;
+    }
+
+    private static String regexKey(String contrycode, String citycode, String number) {
+        return "+" + LEADING_ZEROS.matcher(NON_DIGITS.matcher(contrycode).replaceAll("")).replaceAll("")
+                + LEADING_ZEROS.matcher(NON_DIGITS.matcher(citycode).replaceAll("")).replaceAll("")
+                + NON_DIGITS.matcher(number).replaceAll("");
+    }
+
+    private static List<String[]> generatePhones(int count) {
+        List<String[]> phones = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String digits = String.format("%07d", i % 10_000_000);
+            String number = switch (i % 3) {
+                case 0 -> digits;
+                case 1 -> digits.substring(0, 3) + "-" + digits.substring(3);
+                default -> digits.substring(0, 3) + " " + digits.substring(3);
+            };
+            phones.add(new String[]{COUNTRY_FORMATS[i % COUNTRY_FORMATS.length],
+                    CITY_FORMATS[(i / 7) % CITY_FORMATS.length], number});
+        }
+        return phones;
+    }
+
+    private static void insertPhonesWithoutKey(JdbcTemplate jdbcTemplate, List<String[]> phones) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String userId = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO users (id, name, email, email_normalized, password, created, modified, "
+                        + "last_login, token, isactive) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                userId, "Importación", "import@example.org", "import@example.org", "Hunter2", now, now, now, "token", true);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (String[] phone : phones) {
+            batch.add(new Object[]{UUID.randomUUID().toString(), phone[2], phone[1], phone[0], userId});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("INSERT INTO phones (id, number, citycode, contrycode, user_id) "
+                        + "VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO phones (id, number, citycode, contrycode, user_id) "
+                    + "VALUES (?, ?, ?, ?, ?)", batch);
+        }
+    }
+}
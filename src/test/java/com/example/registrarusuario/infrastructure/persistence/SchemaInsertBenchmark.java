@@ -0,0 +1,97 @@
+package com.example.registrarusuario.infrastructure.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ejecutar con ./gradlew benchmark. Costo de insertar usuarios con dos teléfonos con el esquema
+// previo (generado por Hibernate + idx_users_email redundante) y con las migraciones de Flyway
+@Tag("benchmark")
+@DisplayName("Benchmark: costo de inserción por esquema")
+class SchemaInsertBenchmark {
+
+    private static final int WARMUP_USERS = 2_000;
+    private static final int MEASURED_USERS = 20_000;
+    private static final int BATCH_SIZE = 500;
+
+    private static final List<String> PREVIOUS_SCHEMA = List.of(
+            "CREATE TABLE users (id VARCHAR(255) PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                    + "email VARCHAR(255) NOT NULL UNIQUE, email_normalized VARCHAR(255) NOT NULL UNIQUE, "
+                    + "password VARCHAR(255) NOT NULL, created TIMESTAMP NOT NULL, modified TIMESTAMP NOT NULL, "
+                    + "last_login TIMESTAMP NOT NULL, token VARCHAR(500) NOT NULL, isactive BOOLEAN NOT NULL)",
+            "CREATE TABLE phones (id VARCHAR(255) PRIMARY KEY, number VARCHAR(255) NOT NULL, "
+                    + "citycode VARCHAR(255) NOT NULL, contrycode VARCHAR(255) NOT NULL, phone_key VARCHAR(255), "
+                    + "user_id VARCHAR(255) NOT NULL REFERENCES users(id))",
+            "CREATE INDEX idx_users_email ON users(email)",
+            "CREATE INDEX idx_phones_user_id ON phones(user_id)");
+
+    @Test
+    @DisplayName("Compara inserciones con el esquema previo y el migrado")
+    void shouldCompareInsertCost() {
+        JdbcTemplate previous = new JdbcTemplate(newDatabase());
+        PREVIOUS_SCHEMA.forEach(previous::execute);
+
+        DataSource migratedDataSource = newDatabase();
+        Flyway.configure().dataSource(migratedDataSource).locations("classpath:db/migration").load().migrate();
+        JdbcTemplate migrated = new JdbcTemplate(migratedDataSource);
+
+        double previousMicros = microsPerUser(previous);
+        double migratedMicros = microsPerUser(migrated);
+        int previousIndexes = userIndexes(previous);
+        int migratedIndexes = userIndexes(migrated);
+        System.out.printf("Esquema previo:  %.1f us/usuario, %d índices en users%n", previousMicros, previousIndexes);
+        System.out.printf("Esquema migrado: %.1f us/usuario, %d índices en users%n", migratedMicros, migratedIndexes);
+
+        assertThat(migratedIndexes).isLessThan(previousIndexes);
+    }
+
+    private static double microsPerUser(JdbcTemplate jdbcTemplate) {
+        insertUsers(jdbcTemplate, "warmup", WARMUP_USERS);
+        long start = System.nanoTime();
+        insertUsers(jdbcTemplate, "medido", MEASURED_USERS);
+        return (System.nanoTime() - start) / 1_000.0 / MEASURED_USERS;
+    }
+
+    private static void insertUsers(JdbcTemplate jdbcTemplate, String prefix, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> phones = new ArrayList<>(BATCH_SIZE * 2);
+        for (int i = 0; i < count; i++) {
+            String id = UUID.randomUUID().toString();
+            String email = prefix + i + "@example.org";
+            users.add(new Object[]{id, "Usuario " + i, email, email, "Hunter2", now, now, now, "token-" + i, true});
+            phones.add(new Object[]{UUID.randomUUID().toString(), "1234567", "1", "57", "+5711234567", id});
+            phones.add(new Object[]{UUID.randomUUID().toString(), "7654321", "2", "57", "+5727654321", id});
+            if (users.size() == BATCH_SIZE || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, email_normalized, password, created, "
+                        + "modified, last_login, token, isactive) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", users);
+                jdbcTemplate.batchUpdate("INSERT INTO phones (id, number, citycode, contrycode, phone_key, user_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", phones);
+                users.clear();
+                phones.clear();
+            }
+        }
+    }
+
+    private static int userIndexes(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE TABLE_NAME = 'USERS'", Integer.class);
+    }
+
+    private static DataSource newDatabase() {
+        return new SingleConnectionDataSource(
+                "jdbc:h2:mem:insert-benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", true);
+    }
+}
@@ -1,27 +1,40 @@
 package com.example.registrarusuario.infrastructure.persistence.adapter;
 
+import com.example.registrarusuario.domain.exception.EmailAlreadyExistsException;
 import com.example.registrarusuario.domain.model.Phone;
 import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.infrastructure.outbox.OutboxEventWriter;
+import com.example.registrarusuario.infrastructure.persistence.buffer.LastLoginWriteBuffer;
 import com.example.registrarusuario.infrastructure.persistence.entity.UserEntity;
+import com.example.registrarusuario.infrastructure.persistence.index.EmailIndex;
 import com.example.registrarusuario.infrastructure.persistence.mapper.UserEntityMapper;
+import com.example.registrarusuario.infrastructure.persistence.replica.ReadYourWritesTracker;
 import com.example.registrarusuario.infrastructure.persistence.repository.JpaUserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+@DisabledInNativeImage
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserRepositoryAdapter Tests")
 class UserRepositoryAdapterTest {
@@ -32,6 +45,18 @@ class UserRepositoryAdapterTest {
     @Mock
     private UserEntityMapper userEntityMapper;
 
+    @Mock
+    private LastLoginWriteBuffer lastLoginWriteBuffer;
+
+    @Mock
+    private EmailIndex emailIndex;
+
+    @Mock
+    private OutboxEventWriter outboxEventWriter;
+
+    @Spy
+    private ReadYourWritesTracker readYourWritesTracker = new ReadYourWritesTracker(true, Duration.ofSeconds(5));
+
     @InjectMocks
     private UserRepositoryAdapter userRepositoryAdapter;
 
@@ -51,6 +76,7 @@ class UserRepositoryAdapterTest {
                 .id("user-123")
                 .name("Juan Rodriguez")
                 .email("juan@rodriguez.org")
+                .normalizedEmail("juan@rodriguez.org")
                 .password("Hunter2")
                 .phones(List.of(phone))
                 .created(LocalDateTime.now())
@@ -63,6 +89,7 @@ class UserRepositoryAdapterTest {
         userEntity = new UserEntity();
         userEntity.setId("user-123");
         userEntity.setEmail("juan@rodriguez.org");
+
     }
 
     @Test
@@ -70,7 +97,7 @@ class UserRepositoryAdapterTest {
     void shouldSaveUserSuccessfully() {
         // Given
         when(userEntityMapper.toEntity(any(User.class))).thenReturn(userEntity);
-        when(jpaUserRepository.save(any(UserEntity.class))).thenReturn(userEntity);
+        when(jpaUserRepository.saveAndFlush(any(UserEntity.class))).thenReturn(userEntity);
         when(userEntityMapper.toDomain(any(UserEntity.class))).thenReturn(domainUser);
 
         // When
@@ -82,37 +109,126 @@ class UserRepositoryAdapterTest {
         assertThat(savedUser.getEmail()).isEqualTo("juan@rodriguez.org");
 
         verify(userEntityMapper).toEntity(domainUser);
-        verify(jpaUserRepository).save(userEntity);
+        verify(jpaUserRepository).saveAndFlush(userEntity);
         verify(userEntityMapper).toDomain(userEntity);
+        verify(readYourWritesTracker).recordWrite("juan@rodriguez.org");
+        verify(emailIndex).add("juan@rodriguez.org");
+        verify(outboxEventWriter).userRegistered(userEntity);
+    }
+
+    @Test
+    @DisplayName("Debe persistir solo la huella del token y retornar el token original en modo HASH")
+    void shouldPersistTokenHashWhenHashStorageIsEnabled() {
+        // Given
+        ReflectionTestUtils.setField(userRepositoryAdapter, "tokenStorage", TokenStorage.HASH);
+        User storedUser = domainUser.toBuilder().token(TokenStorage.HASH.toStoredForm("jwt-token")).build();
+        when(userEntityMapper.toEntity(any(User.class))).thenReturn(userEntity);
+        when(jpaUserRepository.saveAndFlush(any(UserEntity.class))).thenReturn(userEntity);
+        when(userEntityMapper.toDomain(any(UserEntity.class))).thenReturn(storedUser);
+
+        // When
+        User savedUser = userRepositoryAdapter.save(domainUser);
+
+        // Then
+        assertThat(userEntity.getToken()).hasSize(43).isNotEqualTo("jwt-token");
+        assertThat(savedUser.getToken()).isEqualTo("jwt-token");
+    }
+
+    @Test
+    @DisplayName("Debe traducir la violación del índice único de email a EmailAlreadyExistsException")
+    void shouldTranslateDuplicateEmailViolation() {
+        // Given
+        when(userEntityMapper.toEntity(any(User.class))).thenReturn(userEntity);
+        when(jpaUserRepository.saveAndFlush(any(UserEntity.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("Unique index or primary key violation: "
+                + "\"PUBLIC.UK_USERS_EMAIL_NORMALIZED_INDEX_4 ON PUBLIC.USERS(EMAIL_NORMALIZED)\"")));
+
+        // When / Then
+        assertThatThrownBy(() -> userRepositoryAdapter.save(domainUser))
+                .isInstanceOf(EmailAlreadyExistsException.class)
+                .hasMessage("El correo ya registrado");
+        verify(emailIndex, never()).add(anyString());
+        verify(outboxEventWriter, never()).userRegistered(any(UserEntity.class));
     }
 
+    @Test
+    @DisplayName("Debe propagar las demás violaciones de integridad")
+    void shouldPropagateOtherIntegrityViolations() {
+        // Given
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("NULL not allowed for column NAME");
+        when(userEntityMapper.toEntity(any(User.class))).thenReturn(userEntity);
+        when(jpaUserRepository.saveAndFlush(any(UserEntity.class))).thenThrow(violation);
+
+        // When / Then
+        assertThatThrownBy(() -> userRepositoryAdapter.save(domainUser)).isSameAs(violation);
+    }
 
     @Test
     @DisplayName("Debe retornar true cuando el email existe")
     void shouldReturnTrueWhenEmailExists() {
         // Given
-        when(jpaUserRepository.existsByEmail(anyString())).thenReturn(true);
+        when(jpaUserRepository.existsByEmailNormalized(anyString())).thenReturn(true);
 
         // When
         boolean exists = userRepositoryAdapter.existsByEmail("juan@rodriguez.org");
 
         // Then
         assertThat(exists).isTrue();
-        verify(jpaUserRepository).existsByEmail("juan@rodriguez.org");
+        verify(jpaUserRepository).existsByEmailNormalized("juan@rodriguez.org");
     }
 
     @Test
     @DisplayName("Debe retornar false cuando el email no existe")
     void shouldReturnFalseWhenEmailDoesNotExist() {
         // Given
-        when(jpaUserRepository.existsByEmail(anyString())).thenReturn(false);
+        when(jpaUserRepository.existsByEmailNormalized(anyString())).thenReturn(false);
 
         // When
         boolean exists = userRepositoryAdapter.existsByEmail("noexiste@test.com");
 
         // Then
         assertThat(exists).isFalse();
-        verify(jpaUserRepository).existsByEmail("noexiste@test.com");
+        verify(jpaUserRepository).existsByEmailNormalized("noexiste@test.com");
     }
-}
 
+    @Test
+    @DisplayName("Debe responder true sin consultar la base cuando el índice ya conoce el email")
+    void shouldSkipDatabaseWhenEmailIndexKnowsEmail() {
+        // Given
+        when(emailIndex.contains("juan@rodriguez.org")).thenReturn(true);
+
+        // When
+        boolean exists = userRepositoryAdapter.existsByEmail("juan@rodriguez.org");
+
+        // Then
+        assertThat(exists).isTrue();
+        verify(jpaUserRepository, never()).existsByEmailNormalized(anyString());
+    }
+
+    @Test
+    @DisplayName("Debe encolar el último login en el buffer cuando está habilitado")
+    void shouldBufferLoginWhenBufferIsEnabled() {
+        // Given
+        when(lastLoginWriteBuffer.isEnabled()).thenReturn(true);
+
+        // When
+        userRepositoryAdapter.recordLogin(domainUser);
+
+        // Then
+        verify(lastLoginWriteBuffer).record("user-123", "jwt-token", domainUser.getLastLogin());
+        verify(jpaUserRepository, never()).updateLogin(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Debe actualizar el último login directamente cuando el buffer está deshabilitado")
+    void shouldUpdateLoginDirectlyWhenBufferIsDisabled() {
+        // Given
+        when(lastLoginWriteBuffer.isEnabled()).thenReturn(false);
+
+        // When
+        userRepositoryAdapter.recordLogin(domainUser);
+
+        // Then
+        verify(jpaUserRepository).updateLogin("user-123", "jwt-token", domainUser.getLastLogin());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.registrarusuario.infrastructure.persistence.buffer;
+
+import com.example.registrarusuario.infrastructure.tenant.Tenant;
+import com.example.registrarusuario.infrastructure.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage
+@DisplayName("LastLoginWriteBuffer Tests")
+class LastLoginWriteBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private LastLoginWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // Staleness alta: los flush del test son explícitos
+        buffer = new LastLoginWriteBuffer(jdbcTemplate, TransactionOperations.withoutTransaction(),
+                meterRegistry, true, Duration.ofHours(1), 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.destroy();
+    }
+
+    @Test
+    @DisplayName("Debe coalescer varios logins del mismo usuario en una sola fila del lote")
+    @SuppressWarnings("unchecked")
+    void shouldCoalesceLoginsPerUser() {
+        LocalDateTime first = LocalDateTime.of(2025, 11, 10, 10, 0);
+        LocalDateTime second = first.plusMinutes(5);
+        buffer.record("user-1", "token-1", first);
+        buffer.record("user-1", "token-2", second);
+        buffer.record("user-2", "token-3", first);
+
+        int flushed = buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertThat(flushed).isEqualTo(2);
+        Object[] user1 = captor.getValue().stream().filter(row -> row[3].equals("user-1")).findFirst().orElseThrow();
+        assertThat(user1[2]).isEqualTo("token-2");
+        assertThat(user1[0]).isEqualTo(Timestamp.valueOf(second));
+        assertThat(meterRegistry.get("app.login-buffer.flushed").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("No debe reemplazar un login más nuevo por uno más antiguo")
+    @SuppressWarnings("unchecked")
+    void shouldKeepNewestLogin() {
+        LocalDateTime newest = LocalDateTime.of(2025, 11, 10, 10, 5);
+        buffer.record("user-1", "token-new", newest);
+        buffer.record("user-1", "token-old", newest.minusMinutes(5));
+
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertThat(captor.getValue().get(0)[2]).isEqualTo("token-new");
+    }
+
+    @Test
+    @DisplayName("No debe ejecutar SQL cuando el buffer está vacío")
+    void shouldSkipEmptyFlush() {
+        assertThat(buffer.flush()).isZero();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Debe reencolar el lote cuando la escritura falla")
+    void shouldRequeueWhenWriteFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("BD caída"));
+        buffer.record("user-1", "token-1", LocalDateTime.now());
+
+        assertThatThrownBy(() -> buffer.flush()).isInstanceOf(IllegalStateException.class);
+
+        reset(jdbcTemplate);
+        assertThat(buffer.flush()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe escribir los logins pendientes al cerrarse")
+    void shouldFlushOnShutdown() {
+        buffer.record("user-1", "token-1", LocalDateTime.now());
+
+        buffer.destroy();
+
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE users SET last_login = ?, modified = ?, token = ? WHERE id = ?"),
+                anyList());
+    }
+
+    @Test
+    @DisplayName("Debe escribir directamente un login recibido después del cierre")
+    void shouldWriteDirectlyAfterShutdown() {
+        buffer.destroy();
+
+        buffer.record("user-1", "token-1", LocalDateTime.now());
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        assertThat(buffer.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe escribir un lote por tenant dentro del contexto de cada uno")
+    void shouldFlushEachTenantInItsSchema() {
+        Tenant acme = new Tenant("acme", "T_ACME", null, null, null);
+        List<String> flushedTenants = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            flushedTenants.add(TenantContext.currentId() + ":" + invocation.<List<?>>getArgument(1).size());
+            return new int[0];
+        });
+        buffer.record("user-1", "token-1", LocalDateTime.now());
+        TenantContext.run(acme, () -> {
+            buffer.record("user-2", "token-2", LocalDateTime.now());
+            buffer.record("user-3", "token-3", LocalDateTime.now());
+        });
+
+        assertThat(buffer.flush()).isEqualTo(3);
+        assertThat(flushedTenants).containsExactlyInAnyOrder("null:1", "acme:2");
+        assertThat(TenantContext.current()).isNull();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.registrarusuario.infrastructure.persistence.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MappedEmailIndex Tests")
+class MappedEmailIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Path indexFile;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:email-index-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id VARCHAR(36) PRIMARY KEY, email_normalized VARCHAR(255) NOT NULL UNIQUE)");
+        insertUser("juan@example.com");
+        insertUser("ana@example.com");
+        indexFile = tempDir.resolve("email-index.bin");
+    }
+
+    @Test
+    @DisplayName("Debe reconstruirse desde la tabla users y no confirmar emails ausentes")
+    void shouldRebuildFromUsersTable() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (MappedEmailIndex index = open(meterRegistry)) {
+            assertThat(index.contains("juan@example.com")).isTrue();
+            assertThat(index.contains(" Ana@Example.COM")).isTrue();
+            assertThat(index.contains("otro@example.com")).isFalse();
+            assertThat(index.entries()).isEqualTo(2);
+            assertThat(meterRegistry.counter("app.email-index.rebuilds").count()).isEqualTo(1.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe reflejar inserciones concurrentes")
+    void shouldAddEmailsConcurrently() {
+        try (MappedEmailIndex index = open(new SimpleMeterRegistry())) {
+            CompletableFuture.allOf(IntStream.range(0, 8)
+                    .mapToObj(thread -> CompletableFuture.runAsync(() -> IntStream.range(0, 500)
+                            .forEach(i -> index.add("user" + (i % 250) + "-" + (thread % 2) + "@example.com"))))
+                    .toArray(CompletableFuture[]::new)).join();
+
+            assertThat(index.entries()).isEqualTo(2 + 500);
+            assertThat(index.contains("user249-1@example.com")).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe reutilizar el archivo tras un cierre limpio y reconstruirlo tras uno abrupto")
+    void shouldReusePersistedIndexOnlyAfterCleanShutdown() {
+        open(new SimpleMeterRegistry()).close();
+
+        SimpleMeterRegistry reopened = new SimpleMeterRegistry();
+        MappedEmailIndex index = open(reopened);
+        assertThat(reopened.counter("app.email-index.rebuilds").count()).isZero();
+        assertThat(index.contains("juan@example.com")).isTrue();
+
+        // Sin close(): el archivo queda marcado como sucio
+        SimpleMeterRegistry afterCrash = new SimpleMeterRegistry();
+        try (MappedEmailIndex recovered = open(afterCrash)) {
+            assertThat(afterCrash.counter("app.email-index.rebuilds").count()).isEqualTo(1.0);
+            assertThat(recovered.contains("ana@example.com")).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe seguir confirmando los emails ya indexados cuando se satura")
+    void shouldKeepAnsweringPositivesWhenSaturated() {
+        try (MappedEmailIndex index = new MappedEmailIndex(indexFile, 4, dataSource, new SimpleMeterRegistry())) {
+            index.afterSingletonsInstantiated();
+            IntStream.range(0, 4).forEach(i -> index.add("user" + i + "@example.com"));
+
+            assertThat(index.contains("juan@example.com")).isTrue();
+            assertThat(index.contains("user1@example.com")).isTrue();
+            assertThat(index.contains("user3@example.com")).isFalse();
+            assertThat(index.contains("otro@example.com")).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("No debe confirmar nada antes de estar listo")
+    void shouldNotAnswerBeforeReady() {
+        try (MappedEmailIndex index = new MappedEmailIndex(indexFile, 1024, dataSource, new SimpleMeterRegistry())) {
+            assertThat(index.contains("juan@example.com")).isFalse();
+        }
+    }
+
+    private MappedEmailIndex open(SimpleMeterRegistry meterRegistry) {
+        MappedEmailIndex index = new MappedEmailIndex(indexFile, 1024, dataSource, meterRegistry);
+        index.afterSingletonsInstantiated();
+        return index;
+    }
+
+    private void insertUser(String email) {
+        jdbcTemplate.update("INSERT INTO users (id, email_normalized) VALUES (?, ?)", UUID.randomUUID().toString(), email);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.registrarusuario.infrastructure.persistence.mapper;
+
+import com.example.registrarusuario.domain.model.Phone;
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.infrastructure.persistence.entity.PhoneEntity;
+import com.example.registrarusuario.infrastructure.persistence.entity.UserEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisabledInNativeImage
+@DisplayName("UserEntityMapper Tests")
+class UserEntityMapperTest {
+
+    private UserEntityMapper userEntityMapper;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userEntityMapper = new UserEntityMapper(new PhoneJsonCodec(new ObjectMapper()));
+        user = User.builder()
+                .name("Juan Rodriguez")
+                .email("juan@rodriguez.org")
+                .normalizedEmail("juan@rodriguez.org")
+                .password("Hunter2")
+                .phones(List.of(new Phone(null, "1234567", "1", "57", "+5711234567"),
+                        new Phone(null, "7654321", "2", "57", "+5727654321")))
+                .token("jwt-token")
+                .isactive(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Debe mapear los teléfonos a la tabla phones por defecto")
+    void shouldMapPhonesToTableByDefault() {
+        UserEntity entity = userEntityMapper.toEntity(user);
+
+        assertThat(entity.getPhones()).hasSize(2);
+        assertThat(entity.getPhones()).extracting(PhoneEntity::getPhoneKey)
+                .containsExactly("+5711234567", "+5727654321");
+        assertThat(entity.getPhonesJson()).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe embeber los teléfonos como JSON compacto en modo JSON")
+    void shouldEmbedPhonesAsJson() {
+        ReflectionTestUtils.setField(userEntityMapper, "phoneStorage", PhoneStorage.JSON);
+
+        UserEntity entity = userEntityMapper.toEntity(user);
+
+        assertThat(entity.getPhones()).isEmpty();
+        assertThat(entity.getPhonesJson()).isEqualTo("[[\"1234567\",\"1\",\"57\"],[\"7654321\",\"2\",\"57\"]]");
+        assertThat(userEntityMapper.toDomain(entity).getPhones())
+                .extracting(Phone::getNumber)
+                .containsExactly("1234567", "7654321");
+    }
+
+    @Test
+    @DisplayName("Debe leer teléfonos de la tabla aunque el modo sea JSON")
+    void shouldReadTablePhonesInJsonMode() {
+        ReflectionTestUtils.setField(userEntityMapper, "phoneStorage", PhoneStorage.JSON);
+        UserEntity entity = new UserEntity();
+        entity.addPhone(PhoneEntity.builder().id("phone-1").number("1234567").citycode("1").contrycode("57").build());
+
+        assertThat(userEntityMapper.toDomain(entity).getPhones())
+                .singleElement()
+                .extracting(Phone::getId)
+                .isEqualTo("phone-1");
+    }
+}
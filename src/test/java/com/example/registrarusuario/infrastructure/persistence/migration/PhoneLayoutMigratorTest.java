@@ -0,0 +1,82 @@
+package com.example.registrarusuario.infrastructure.persistence.migration;
+
+import com.example.registrarusuario.infrastructure.persistence.mapper.PhoneJsonCodec;
+import com.example.registrarusuario.infrastructure.persistence.mapper.PhoneStorage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PhoneLayoutMigrator Tests")
+class PhoneLayoutMigratorTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PhoneLayoutMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:phone-layout-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        migrator = new PhoneLayoutMigrator(dataSource, new PhoneJsonCodec(new ObjectMapper()), 2);
+
+        for (int i = 0; i < 5; i++) {
+            String userId = insertUser("user" + i + "@example.com");
+            insertPhone(userId, "100000" + i);
+            insertPhone(userId, "200000" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe mover los teléfonos de la tabla a users.phones_json por lotes")
+    void shouldMigrateTableToJson() {
+        int migrated = migrator.migrateTo(PhoneStorage.JSON);
+
+        assertThat(migrated).isEqualTo(5);
+        assertThat(count("SELECT COUNT(*) FROM phones")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM users WHERE phones_json IS NOT NULL")).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT phones_json FROM users WHERE email_normalized = ?",
+                String.class, "user3@example.com")).contains("1000003").contains("2000003");
+    }
+
+    @Test
+    @DisplayName("Debe volver a la tabla phones sin perder teléfonos")
+    void shouldMigrateJsonBackToTable() {
+        migrator.migrateTo(PhoneStorage.JSON);
+
+        int migrated = migrator.migrateTo(PhoneStorage.TABLE);
+
+        assertThat(migrated).isEqualTo(5);
+        assertThat(count("SELECT COUNT(*) FROM phones")).isEqualTo(10);
+        assertThat(count("SELECT COUNT(*) FROM phones WHERE phone_key = '+5711000000'")).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM users WHERE phones_json IS NOT NULL")).isZero();
+    }
+
+    private String insertUser(String email) {
+        String id = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (id, name, email, email_normalized, password, created, modified, "
+                + "last_login, token, isactive) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, "Usuario", email, email, "Hunter2", now, now, now, "token", true);
+        return id;
+    }
+
+    private void insertPhone(String userId, String number) {
+        jdbcTemplate.update("INSERT INTO phones (id, number, citycode, contrycode, phone_key, user_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", UUID.randomUUID().toString(), number, "1", "57", "+571" + number, userId);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
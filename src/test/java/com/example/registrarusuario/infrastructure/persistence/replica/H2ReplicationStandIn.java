@@ -0,0 +1,34 @@
+package com.example.registrarusuario.infrastructure.persistence.replica;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Sustituto de la replicación para tests: copia completa de las tablas de la primaria a la réplica
+// cuando se invoca sync(); entre llamadas la réplica queda "retrasada"
+class H2ReplicationStandIn {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final List<String> tables;
+
+    H2ReplicationStandIn(DataSource primary, DataSource replica, List<String> tables) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.tables = tables;
+    }
+
+    void sync() {
+        for (String table : tables) {
+            replica.update("DELETE FROM " + table);
+            for (Map<String, Object> row : primary.queryForList("SELECT * FROM " + table)) {
+                String placeholders = row.keySet().stream().map(column -> "?").collect(Collectors.joining(", "));
+                replica.update("INSERT INTO " + table + " (" + String.join(", ", row.keySet()) + ") VALUES ("
+                        + placeholders + ")", row.values().toArray());
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.registrarusuario.infrastructure.persistence.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String USERS_DDL =
+            "CREATE TABLE users (id VARCHAR(36) PRIMARY KEY, email VARCHAR(255) NOT NULL)";
+    private static final String HEARTBEAT_DDL =
+            "CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat TIMESTAMP NOT NULL)";
+    private static final Duration MAX_LAG = Duration.ofMillis(200);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource routingDataSource;
+    private H2ReplicationStandIn replication;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        for (DataSource dataSource : List.of(primary, replica)) {
+            JdbcTemplate ddl = new JdbcTemplate(dataSource);
+            ddl.execute(USERS_DDL);
+            ddl.execute(HEARTBEAT_DDL);
+        }
+
+        meterRegistry = new SimpleMeterRegistry();
+        lagMonitor = new ReplicaLagMonitor(primary, Map.of("replica-0", replica), MAX_LAG,
+                Duration.ofSeconds(1), meterRegistry);
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), lagMonitor, meterRegistry);
+        replication = new H2ReplicationStandIn(primary, replica, List.of("replication_heartbeat", "users"));
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        lagMonitor.beat();
+        replication.sync();
+        lagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routingDataSource.close();
+    }
+
+    @Test
+    @DisplayName("Debe escribir en la primaria y leer de la réplica sana en transacciones read-only")
+    void shouldRouteWritesToPrimaryAndReadsToReplica() {
+        insertUser("juan@example.com");
+
+        assertThat(countUsersReadOnly()).isZero();
+        assertThat(countUsersReadWrite()).isEqualTo(1);
+
+        replication.sync();
+        assertThat(countUsersReadOnly()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe leer de la primaria cuando la réplica supera el retraso máximo")
+    void shouldFallBackToPrimaryWhenReplicaLags() throws InterruptedException {
+        insertUser("juan@example.com");
+
+        Thread.sleep(MAX_LAG.toMillis() + 100);
+        lagMonitor.beat();
+        lagMonitor.check();
+
+        assertThat(lagMonitor.isHealthy("replica-0")).isFalse();
+        assertThat(countUsersReadOnly()).isEqualTo(1);
+        assertThat(meterRegistry.counter("app.replica.fallback").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe leer de la primaria el usuario recién escrito (read-your-writes)")
+    void shouldReadOwnWritesFromPrimary() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(true, Duration.ofSeconds(5));
+        insertUser("juan@example.com");
+        tracker.recordWrite("juan@example.com");
+
+        assertThat(lagMonitor.isHealthy("replica-0")).isTrue();
+        assertThat(tracker.read("Juan@Example.com", this::countUsersReadOnly)).isEqualTo(1);
+        assertThat(tracker.read("otro@example.com", this::countUsersReadOnly)).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe arrancar sin tabla de heartbeat y dejar la réplica como no sana")
+    void shouldStartWithoutHeartbeatTable() {
+        DataSource unmigrated = h2("unmigrated");
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(unmigrated, Map.of("replica-0", h2("replica-unmigrated")),
+                MAX_LAG, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        try {
+            monitor.start();
+
+            assertThat(monitor.isRunning()).isTrue();
+            assertThat(monitor.isHealthy("replica-0")).isFalse();
+        } finally {
+            monitor.close();
+        }
+        assertThat(monitor.isRunning()).isFalse();
+    }
+
+    private void insertUser(String email) {
+        writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.update("INSERT INTO users (id, email) VALUES (?, ?)", UUID.randomUUID().toString(), email));
+    }
+
+    private Integer countUsersReadOnly() {
+        return readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+    }
+
+    private Integer countUsersReadWrite() {
+        return writeTransaction.execute(status -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
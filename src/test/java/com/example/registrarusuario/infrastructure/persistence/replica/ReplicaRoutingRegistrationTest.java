@@ -0,0 +1,70 @@
+package com.example.registrarusuario.infrastructure.persistence.replica;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Registro JPA completo a través del ReplicaRoutingDataSource real: la comprobación de email
+// (read-only) puede ir a la réplica, pero el insert siempre debe llegar a la primaria
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingRegistrationTest.PRIMARY_URL,
+        "app.read-replicas.enabled=true",
+        "app.read-replicas.max-lag=1h",
+        "app.read-replicas.nodes[0].name=replica-0",
+        "app.read-replicas.nodes[0].url=" + ReplicaRoutingRegistrationTest.REPLICA_URL,
+        "app.read-replicas.nodes[0].username=sa",
+        "app.read-replicas.nodes[0].password=",
+        "app.warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Registro con réplicas de lectura")
+class ReplicaRoutingRegistrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate PRIMARY = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    static {
+        // La réplica tiene el esquema y un heartbeat al día, así que el monitor la considera sana
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration").load().migrate();
+        REPLICA.update("INSERT INTO replication_heartbeat (id, beat) VALUES (1, ?)",
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Debe insertar el usuario en la primaria aunque la réplica esté sana")
+    void shouldWriteRegistrationToPrimary() throws Exception {
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Juan Rodriguez", "email": "juan.replica@rodriguez.org", "password": "Hunter2",
+                                 "phones": [{"number": "1234567", "citycode": "1", "contrycode": "57"}]}"""))
+                .andExpect(status().isCreated());
+
+        assertThat(countUsers(PRIMARY, "juan.replica@rodriguez.org")).isEqualTo(1);
+        assertThat(countUsers(REPLICA, "juan.replica@rodriguez.org")).isZero();
+    }
+
+    private static Integer countUsers(JdbcTemplate jdbcTemplate, String email) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, email);
+    }
+}
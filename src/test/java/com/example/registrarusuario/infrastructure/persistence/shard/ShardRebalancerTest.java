@@ -0,0 +1,50 @@
+package com.example.registrarusuario.infrastructure.persistence.shard;
+
+import com.example.registrarusuario.infrastructure.persistence.adapter.TokenStorage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.example.registrarusuario.infrastructure.persistence.shard.ShardedUserRepositoryAdapterTest.shardingProperties;
+import static com.example.registrarusuario.infrastructure.persistence.shard.ShardedUserRepositoryAdapterTest.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ShardRebalancer Tests")
+class ShardRebalancerTest {
+
+    @Test
+    @DisplayName("Debe mover al shard nuevo solo los usuarios que el anillo le asigna")
+    void shouldMoveUsersToNewShard() {
+        ShardingProperties before = shardingProperties("shard-a", "shard-b");
+        List<ShardingProperties.Shard> expanded = new ArrayList<>(before.shards());
+        expanded.add(shardingProperties("shard-c").shards().get(0));
+        ShardingProperties after = new ShardingProperties(true, before.virtualNodes(), true, expanded);
+
+        try (ShardRouter oldRouter = ShardRouter.create(before)) {
+            ShardedUserRepositoryAdapter oldAdapter = new ShardedUserRepositoryAdapter(oldRouter, TokenStorage.FULL, 50,
+                    ShardedUserRepositoryAdapterTest.outboxEventWriter(false));
+            IntStream.range(0, 200).forEach(i -> oldAdapter.save(user("user" + i + "@example.com")));
+
+            try (ShardRouter newRouter = ShardRouter.create(after)) {
+                Map<String, Integer> moved = new ShardRebalancer(newRouter).rebalance();
+
+                int movedTotal = moved.values().stream().mapToInt(Integer::intValue).sum();
+                assertThat(moved.keySet()).allSatisfy(route -> assertThat(route).endsWith("-> shard-c"));
+                assertThat(movedTotal).isBetween(20, 120);
+                assertThat(newRouter.shards().stream().mapToInt(ShardedUserRepositoryAdapterTest::countUsers).sum())
+                        .isEqualTo(200);
+
+                ShardedUserRepositoryAdapter newAdapter = new ShardedUserRepositoryAdapter(newRouter, TokenStorage.FULL, 50,
+                    ShardedUserRepositoryAdapterTest.outboxEventWriter(false));
+                IntStream.range(0, 200).forEach(i -> assertThat(newAdapter.findByEmail("user" + i + "@example.com"))
+                        .hasValueSatisfying(found -> assertThat(found.getPhones()).hasSize(1)));
+
+                assertThat(new ShardRebalancer(newRouter).rebalance()).isEmpty();
+            }
+        }
+    }
+}
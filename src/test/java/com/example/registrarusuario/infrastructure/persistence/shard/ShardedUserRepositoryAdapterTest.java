@@ -0,0 +1,219 @@
+package com.example.registrarusuario.infrastructure.persistence.shard;
+
+import com.example.registrarusuario.domain.exception.EmailAlreadyExistsException;
+import com.example.registrarusuario.domain.model.EmailNormalizer;
+import com.example.registrarusuario.domain.model.Phone;
+import com.example.registrarusuario.domain.model.User;
+import com.example.registrarusuario.infrastructure.outbox.OutboxEvent;
+import com.example.registrarusuario.infrastructure.outbox.OutboxEventWriter;
+import com.example.registrarusuario.infrastructure.outbox.OutboxRelay;
+import com.example.registrarusuario.infrastructure.persistence.adapter.TokenStorage;
+import com.example.registrarusuario.infrastructure.tenant.TenancyProperties;
+import com.example.registrarusuario.infrastructure.tenant.TenantRegistry;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ShardedUserRepositoryAdapter Tests")
+class ShardedUserRepositoryAdapterTest {
+
+    private ShardRouter shardRouter;
+    private ShardedUserRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        shardRouter = ShardRouter.create(shardingProperties("shard-a", "shard-b", "shard-c"));
+        adapter = new ShardedUserRepositoryAdapter(shardRouter, TokenStorage.FULL, 50, outboxEventWriter(true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.close();
+    }
+
+    @Test
+    @DisplayName("Debe guardar el usuario y sus teléfonos en un único shard")
+    void shouldStoreUserInExactlyOneShard() {
+        User saved = adapter.save(user("juan@example.com"));
+
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getPhones()).allSatisfy(phone -> assertThat(phone.getId()).isNotNull());
+        assertThat(shardRouter.shards())
+                .filteredOn(shard -> countUsers(shard) == 1)
+                .singleElement()
+                .extracting(UserShard::name)
+                .isEqualTo(shardRouter.shardFor("juan@example.com").name());
+    }
+
+    @Test
+    @DisplayName("Debe encontrar el usuario con sus teléfonos en el shard correspondiente")
+    void shouldFindSavedUser() {
+        adapter.save(user("ana@example.com"));
+
+        Optional<User> found = adapter.findByEmail("ana@example.com");
+
+        assertThat(found).isPresent();
+        assertThat(found.get().getName()).isEqualTo("Usuario");
+        assertThat(found.get().getPhones()).singleElement()
+                .extracting(Phone::getNumber).isEqualTo("1234567");
+        assertThat(adapter.existsByEmail("ana@example.com")).isTrue();
+        assertThat(adapter.existsByEmail("otra@example.com")).isFalse();
+        assertThat(adapter.findByEmail("otra@example.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe enrutar variaciones de mayúsculas del email al mismo shard")
+    void shouldRouteNormalizedEmailToSameShard() {
+        assertThat(shardRouter.shardFor(" Pedro@Example.COM ").name())
+                .isEqualTo(shardRouter.shardFor("pedro@example.com").name());
+    }
+
+    @Test
+    @DisplayName("Debe repartir los usuarios entre todos los shards")
+    void shouldSpreadUsersAcrossShards() {
+        IntStream.range(0, 300).forEach(i -> adapter.save(user("user" + i + "@example.com")));
+
+        assertThat(shardRouter.shards())
+                .allSatisfy(shard -> assertThat(countUsers(shard)).isBetween(50, 150));
+    }
+
+    @Test
+    @DisplayName("Debe actualizar el último login en el shard del usuario")
+    void shouldRecordLoginOnOwningShard() {
+        User saved = adapter.save(user("luis@example.com"));
+        LocalDateTime login = saved.getLastLogin().plusHours(1);
+
+        adapter.recordLogin(saved.toBuilder().lastLogin(login).modified(login).token("nuevo-token").build());
+
+        User found = adapter.findByEmail("luis@example.com").orElseThrow();
+        assertThat(found.getLastLogin()).isEqualTo(login);
+        assertThat(found.getToken()).isEqualTo("nuevo-token");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar como duplicado un segundo usuario con el mismo correo sin dejar filas")
+    void shouldTranslateDuplicateEmailOnShard() {
+        adapter.save(user("doble@example.com"));
+
+        assertThatThrownBy(() -> adapter.save(user("doble@example.com")))
+                .isInstanceOf(EmailAlreadyExistsException.class)
+                .hasMessage("El correo ya registrado");
+        UserShard owner = shardRouter.shardFor("doble@example.com");
+        assertThat(countUsers(owner)).isEqualTo(1);
+        assertThat(countOutbox(owner)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe buscar por clave de teléfono en todos los shards")
+    void shouldFindByPhoneKeyAcrossShards() {
+        IntStream.range(0, 30).forEach(i -> adapter.save(user("phone" + i + "@example.com")));
+
+        List<User> found = adapter.findByPhoneKey("+5711234567");
+
+        assertThat(found).hasSize(30);
+        assertThat(found).isSortedAccordingTo(Comparator.comparing(User::getCreated));
+        assertThat(found).allSatisfy(user -> {
+            assertThat(user.getName()).isEqualTo("Usuario");
+            assertThat(user.getEmail()).isNull();
+            assertThat(user.getToken()).isNull();
+            assertThat(user.getPhones()).isNullOrEmpty();
+        });
+        assertThat(adapter.findByPhoneKey("+5710000000")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe aplicar el tope de resultados en cada shard y en la unión")
+    void shouldCapPhoneLookupPerShardAndOverall() {
+        ShardedUserRepositoryAdapter capped = new ShardedUserRepositoryAdapter(shardRouter, TokenStorage.FULL, 5,
+                outboxEventWriter(false));
+        IntStream.range(0, 30).forEach(i -> capped.save(user("capped" + i + "@example.com")));
+
+        List<User> found = capped.findByPhoneKey("+5711234567");
+
+        assertThat(found).hasSize(5);
+        assertThat(found).extracting(User::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Debe escribir el evento UserRegistered en el outbox del shard del usuario")
+    void shouldWriteOutboxEventOnOwningShard() {
+        User saved = adapter.save(user("evento@example.com"));
+
+        UserShard owner = shardRouter.shardFor("evento@example.com");
+        assertThat(owner.jdbc().queryForObject("SELECT aggregate_id FROM outbox", String.class))
+                .isEqualTo(saved.getId());
+        assertThat(shardRouter.shards())
+                .filteredOn(shard -> !shard.name().equals(owner.name()))
+                .allSatisfy(shard -> assertThat(countOutbox(shard)).isZero());
+    }
+
+    @Test
+    @DisplayName("El relay debe publicar y vaciar el outbox de cada shard")
+    void shouldRelayOutboxOfEveryShard() {
+        IntStream.range(0, 12).forEach(i -> adapter.save(user("relay" + i + "@example.com")));
+        List<OutboxEvent> published = new ArrayList<>();
+        OutboxRelay relay = new OutboxRelay(shardRouter.shards().iterator().next().jdbc(),
+                shardRouter.shards().iterator().next().transactions(), published::addAll,
+                new TenantRegistry(new TenancyProperties(false, "X-Tenant-ID", null, 4, Duration.ofSeconds(2),
+                        1000, true, null)),
+                new StaticListableBeanFactory(Map.of("shardRouter", shardRouter)).getBeanProvider(ShardRouter.class),
+                new SimpleMeterRegistry(), false, Duration.ofSeconds(1), 500);
+
+        shardRouter.shards().forEach(relay::drain);
+
+        assertThat(published).hasSize(12).extracting(OutboxEvent::eventType).containsOnly("UserRegistered");
+        assertThat(shardRouter.shards()).allSatisfy(shard -> assertThat(countOutbox(shard)).isZero());
+    }
+
+    static OutboxEventWriter outboxEventWriter(boolean enabled) {
+        return new OutboxEventWriter(null, JsonMapper.builder().findAndAddModules().build(), enabled);
+    }
+
+    static ShardingProperties shardingProperties(String... names) {
+        return new ShardingProperties(true, 64, true, List.of(names).stream()
+                .map(name -> new ShardingProperties.Shard(name,
+                        "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""))
+                .toList());
+    }
+
+    static User user(String email) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        return User.builder()
+                .name("Usuario")
+                .email(email)
+                .normalizedEmail(EmailNormalizer.normalize(email))
+                .password("Password123")
+                .phones(List.of(new Phone(null, "1234567", "1", "57", null)))
+                .created(now)
+                .modified(now)
+                .lastLogin(now)
+                .token("token")
+                .isactive(true)
+                .build();
+    }
+
+    static int countUsers(UserShard shard) {
+        return shard.jdbc().queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+    }
+
+    private static int countOutbox(UserShard shard) {
+        return shard.jdbc().queryForObject("SELECT COUNT(*) FROM outbox", Integer.class);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.registrarusuario.infrastructure.prevalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("PreValidationFilter Tests")
+class PreValidationFilterTest {
+
+    private static final String PHONE = """
+            {"number": "1234567", "citycode": "1", "contrycode": "57"}""";
+
+    private SimpleMeterRegistry meterRegistry;
+    private PreValidationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PreValidationProperties properties = new PreValidationProperties(
+                true, DataSize.ofKilobytes(2), 3, 100, List.of("/api/users/register"));
+        filter = new PreValidationFilter(new RegistrationPayloadValidator(properties), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Debe dejar pasar un registro válido con el mismo cuerpo")
+    void shouldPassValidBodyDownstream() throws Exception {
+        String body = registration("Juan Rodriguez", "[" + PHONE + "]");
+        FilterChain chain = mock(FilterChain.class);
+
+        MockHttpServletResponse response = perform(body, chain);
+
+        ArgumentCaptor<HttpServletRequest> request = ArgumentCaptor.forClass(HttpServletRequest.class);
+        verify(chain).doFilter(request.capture(), eq(response));
+        assertThat(StreamUtils.copyToString(request.getValue().getInputStream(), StandardCharsets.UTF_8))
+                .isEqualTo(body);
+        assertThat(request.getValue().getContentLength()).isEqualTo(body.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar con 413 por Content-Length sin leer el cuerpo")
+    void shouldRejectDeclaredOversizedBody() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletRequest request = request(registration("Juan", "[" + PHONE + "]"));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new ContentLengthOverride(request, 1_000_000), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        verify(chain, never()).doFilter(any(), any());
+        assertThat(meterRegistry.counter("app.pre-validation.rejected", "reason", "too_large").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar con 413 un cuerpo sin Content-Length que excede el máximo")
+    void shouldRejectOversizedStreamedBody() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        String body = registration("x".repeat(3_000), "[" + PHONE + "]");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new ContentLengthOverride(request(body), -1), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar más teléfonos de los permitidos")
+    void shouldRejectTooManyPhones() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        String phones = IntStream.range(0, 4).mapToObj(i -> PHONE).collect(Collectors.joining(",", "[", "]"));
+
+        MockHttpServletResponse response = perform(registration("Juan", phones), chain);
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"mensaje\":\"Se admiten hasta 3 teléfonos\"}");
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un campo más largo que su @Size con el mismo mensaje")
+    void shouldRejectLongField() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        String phone = "[{\"number\": \"" + "1".repeat(21) + "\", \"citycode\": \"1\", \"contrycode\": \"57\"}]";
+
+        MockHttpServletResponse response = perform(registration("Juan", phone), chain);
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+                .contains("El número de teléfono admite hasta 20 caracteres");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar JSON mal formado, raíces que no son objeto y contenido extra")
+    void shouldRejectMalformedJson() throws Exception {
+        for (String body : List.of("{ esto no es json }", "[1, 2]", "{}{}", "{\"a\": [[[[1]]]]}", "")) {
+            FilterChain chain = mock(FilterChain.class);
+
+            MockHttpServletResponse response = perform(body, chain);
+
+            assertThat(response.getStatus()).as(body).isEqualTo(400);
+            verify(chain, never()).doFilter(any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("No debe filtrar solicitudes que no son JSON")
+    void shouldSkipNonJsonRequests() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletRequest request = request("name=Juan");
+        request.setContentType("application/x-www-form-urlencoded");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        verify(chain).doFilter(eq(request), any());
+    }
+
+    private MockHttpServletResponse perform(String body, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(body), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/register");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String registration(String name, String phones) {
+        return """
+                {"name": "%s", "email": "juan@rodriguez.org", "password": "Hunter2", "phones": %s}"""
+                .formatted(name, phones);
+    }
+
+    // MockHttpServletRequest deriva el largo del contenido: se fuerza el declarado (o su ausencia)
+    private static final class ContentLengthOverride extends HttpServletRequestWrapper {
+
+        private final long contentLength;
+
+        ContentLengthOverride(HttpServletRequest request, long contentLength) {
+            super(request);
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return contentLength;
+        }
+    }
+}
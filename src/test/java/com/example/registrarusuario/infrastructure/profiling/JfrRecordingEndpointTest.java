@@ -0,0 +1,85 @@
+package com.example.registrarusuario.infrastructure.profiling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JfrRecordingEndpoint Tests")
+class JfrRecordingEndpointTest {
+
+    @TempDir
+    Path directory;
+
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new JfrRecordingEndpoint(new JfrProfilingProperties(
+                true, directory, "default", Duration.ofMinutes(1), DataSize.ofMegabytes(20), 2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.destroy();
+    }
+
+    @Test
+    @DisplayName("Debe grabar los eventos de etapa y dejarlos disponibles para descargar y resumir")
+    void shouldRecordStagesAndSummarize() throws Exception {
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(Duration.ofMinutes(10));
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(started.getBody()).containsEntry("state", "RUNNING")
+                .containsEntry("duration", Duration.ofMinutes(1));
+
+        for (int i = 0; i < 50; i++) {
+            RegistrationEvent registration = new RegistrationEvent();
+            registration.begin();
+            RequestStageEvent stage = new RequestStageEvent("exists-by-email");
+            stage.begin();
+            stage.finish(false);
+            registration.finish("created", 1);
+        }
+
+        WebEndpointResponse<Map<String, Object>> stopped = endpoint.stop();
+        String file = (String) started.getBody().get("file");
+        assertThat(stopped.getBody()).containsEntry("state", "NONE")
+                .containsEntry("recordings", List.of(file));
+
+        WebEndpointResponse<Resource> download = endpoint.download(file);
+        assertThat(download.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(JfrSummary.summarize(download.getBody().getFile().toPath(), 10))
+                .containsPattern("exists-by-email\\s+n=50 ")
+                .containsPattern("created\\s+n=50 ");
+    }
+
+    @Test
+    @DisplayName("Debe permitir una sola grabación a la vez")
+    void shouldRejectConcurrentRecordings() {
+        endpoint.start(null);
+
+        assertThat(endpoint.start(null).getStatus()).isEqualTo(409);
+        assertThat(endpoint.stop().getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(endpoint.stop().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Debe descargar solo grabaciones generadas por el endpoint")
+    void shouldRejectUnknownFileNames() {
+        assertThat(endpoint.download("../application.properties").getStatus())
+                .isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        assertThat(endpoint.download("registro-20240101-000000.jfr").getStatus())
+                .isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
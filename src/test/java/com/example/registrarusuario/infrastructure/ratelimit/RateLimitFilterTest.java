@@ -0,0 +1,110 @@
+package com.example.registrarusuario.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitProperties.Route route = new RateLimitProperties.Route("/api/users/register", 2, 0.001);
+        RouteRateLimiter limiter = new RouteRateLimiter(route, 100, Duration.ofMinutes(1), meterRegistry);
+        filter = new RateLimitFilter(List.of(limiter), "X-API-Key", Set.of("partner-key"));
+    }
+
+    @Test
+    @DisplayName("Debe permitir solicitudes dentro de la capacidad del bucket")
+    void shouldAllowRequestsWithinCapacity() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        MockHttpServletResponse first = perform("/api/users/register", "10.0.0.1", null, chain);
+        MockHttpServletResponse second = perform("/api/users/register", "10.0.0.1", null, chain);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        verify(chain, times(2)).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe retornar 429 con Retry-After sin invocar la cadena al agotar el bucket")
+    void shouldReturn429WhenBucketIsExhausted() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        perform("/api/users/register", "10.0.0.1", null, chain);
+        perform("/api/users/register", "10.0.0.1", null, chain);
+
+        FilterChain rejectedChain = mock(FilterChain.class);
+        MockHttpServletResponse response = perform("/api/users/register", "10.0.0.1", null, rejectedChain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isNotNull();
+        assertThat(response.getContentAsString()).contains("mensaje");
+        verify(rejectedChain, never()).doFilter(any(), any());
+        assertThat(meterRegistry.get("app.ratelimit.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe usar buckets independientes por IP y por API key")
+    void shouldUseIndependentBucketsPerClient() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        perform("/api/users/register", "10.0.0.1", null, chain);
+        perform("/api/users/register", "10.0.0.1", null, chain);
+
+        assertThat(perform("/api/users/register", "10.0.0.2", null, chain).getStatus()).isEqualTo(200);
+        assertThat(perform("/api/users/register", "10.0.0.1", "partner-key", chain).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Debe limitar por IP una API key no configurada")
+    void shouldFallBackToIpForUnknownApiKeys() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        perform("/api/users/register", "10.0.0.1", "random-1", chain);
+        perform("/api/users/register", "10.0.0.1", "random-2", chain);
+
+        assertThat(perform("/api/users/register", "10.0.0.1", "random-3", chain).getStatus()).isEqualTo(429);
+        assertThat(perform("/api/users/register", "10.0.0.1", null, chain).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Debe ignorar rutas sin límite configurado")
+    void shouldIgnoreRoutesWithoutLimit() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform("/api/users/other", "10.0.0.1", null, chain).getStatus()).isEqualTo(200);
+        }
+        verify(chain, times(5)).doFilter(any(), any());
+    }
+
+    private MockHttpServletResponse perform(String uri, String remoteAddr, String apiKey,
+                                            FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr(remoteAddr);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.registrarusuario.infrastructure.tenant;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TenantFilter Tests")
+class TenantFilterTest {
+
+    private static final Map<String, TenancyProperties.TenantSettings> TENANTS = Map.of(
+            "acme", new TenancyProperties.TenantSettings(null, null, null, null),
+            "globex", new TenancyProperties.TenantSettings(null, null, null, null));
+
+    @Test
+    @DisplayName("Debe fijar el tenant del header solo durante la solicitud")
+    void shouldSetTenantFromHeader() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        FilterChain chain = (request, response) -> seen.set(TenantContext.currentId());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/register");
+        request.addHeader("X-Tenant-ID", "globex");
+
+        filter(null).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(seen).hasValue("globex");
+        assertThat(TenantContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar con 400 un tenant desconocido o ausente sin tenant por defecto")
+    void shouldRejectUnknownOrMissingTenant() throws Exception {
+        FilterChain chain = (request, response) -> {
+            throw new AssertionError("No debe llegar al controller");
+        };
+        MockHttpServletRequest unknown = new MockHttpServletRequest("POST", "/api/users/register");
+        unknown.addHeader("X-Tenant-ID", "initech");
+        MockHttpServletResponse unknownResponse = new MockHttpServletResponse();
+        MockHttpServletResponse missingResponse = new MockHttpServletResponse();
+
+        filter(null).doFilter(unknown, unknownResponse, chain);
+        filter(null).doFilter(new MockHttpServletRequest("POST", "/api/users/register"), missingResponse, chain);
+
+        assertThat(unknownResponse.getStatus()).isEqualTo(400);
+        assertThat(unknownResponse.getContentAsString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"mensaje\":\"Tenant desconocido\"}");
+        assertThat(missingResponse.getStatus()).isEqualTo(400);
+        assertThat(missingResponse.getContentAsString(StandardCharsets.UTF_8)).contains("X-Tenant-ID");
+    }
+
+    @Test
+    @DisplayName("Debe usar el tenant por defecto cuando falta el header")
+    void shouldFallBackToDefaultTenant() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter("acme").doFilter(new MockHttpServletRequest("POST", "/api/users/register"),
+                new MockHttpServletResponse(), (request, response) -> seen.set(TenantContext.currentId()));
+
+        assertThat(seen).hasValue("acme");
+    }
+
+    private static TenantFilter filter(String defaultTenant) {
+        TenantRegistry registry = new TenantRegistry(new TenancyProperties(true, "X-Tenant-ID", defaultTenant, 4,
+                Duration.ofSeconds(2), 1000, true, TENANTS));
+        return new TenantFilter(registry, "X-Tenant-ID");
+    }
+}
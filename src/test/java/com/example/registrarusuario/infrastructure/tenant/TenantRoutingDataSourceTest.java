@@ -0,0 +1,138 @@
+package com.example.registrarusuario.infrastructure.tenant;
+
+import com.example.registrarusuario.domain.exception.ServiceOverloadedException;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TenantRoutingDataSource Tests")
+class TenantRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantRegistry tenantRegistry;
+    private TenantRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:tenants-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate admin = new JdbcTemplate(h2);
+        for (String schema : new String[]{"PUBLIC", "T_ACME", "T_GLOBEX"}) {
+            admin.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+            admin.execute("CREATE TABLE " + schema + ".marker (name VARCHAR(20))");
+            admin.update("INSERT INTO " + schema + ".marker VALUES (?)", schema);
+        }
+
+        tenantRegistry = new TenantRegistry(new TenancyProperties(true, "X-Tenant-ID", null, 1,
+                Duration.ofMillis(50), 1000, true, Map.of(
+                        "acme", new TenancyProperties.TenantSettings(null, null, null, null),
+                        "globex", new TenancyProperties.TenantSettings("T_GLOBEX", null, null, null))));
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new TenantRoutingDataSource(h2, tenantRegistry, 1, Duration.ofMillis(50), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Debe apuntar cada conexión al esquema del tenant en curso")
+    void shouldRouteToTenantSchema() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM marker", String.class)).isEqualTo("PUBLIC");
+        assertThat(TenantContext.call(tenant("acme"),
+                () -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class))).isEqualTo("T_ACME");
+        assertThat(TenantContext.call(tenant("globex"),
+                () -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class))).isEqualTo("T_GLOBEX");
+    }
+
+    @Test
+    @DisplayName("Debe negar conexiones por encima del máximo del tenant sin afectar a los demás")
+    void shouldEnforceConnectionBudgetPerTenant() throws Exception {
+        try (TenantContext.Scope ignored = TenantContext.open(tenant("acme"))) {
+            Connection first = dataSource.getConnection();
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class)
+                    .hasCauseInstanceOf(ServiceOverloadedException.class);
+            assertThat(meterRegistry.counter("app.tenancy.connection.rejected").count()).isEqualTo(1.0);
+
+            // Otro tenant tiene su propio cupo
+            TenantContext.run(tenant("globex"), () -> {
+                try (Connection other = dataSource.getConnection()) {
+                    assertThat(other.getSchema()).isEqualTo("T_GLOBEX");
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+            });
+
+            // Cerrar dos veces devuelve un solo permiso
+            first.close();
+            first.close();
+            Connection second = dataSource.getConnection();
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+            second.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe devolver la conexión al pool con el esquema por defecto")
+    void shouldRestoreDefaultSchemaOnReturnToPool() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:tenant-pool-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(1);
+        try (HikariDataSource pool = new HikariDataSource(config)) {
+            JdbcTemplate admin = new JdbcTemplate(pool);
+            for (String schema : new String[]{"PUBLIC", "T_ACME"}) {
+                admin.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+                admin.execute("CREATE TABLE " + schema + ".marker (name VARCHAR(20))");
+                admin.update("INSERT INTO " + schema + ".marker VALUES (?)", schema);
+            }
+            TenantRoutingDataSource pooled = new TenantRoutingDataSource(pool, tenantRegistry, 1,
+                    Duration.ofMillis(50), meterRegistry);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(pooled);
+
+            // Con una sola conexión en el pool, la solicitud sin tenant recibe la que usó acme
+            assertThat(TenantContext.call(tenant("acme"),
+                    () -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class))).isEqualTo("T_ACME");
+            assertThat(jdbcTemplate.queryForObject("SELECT name FROM marker", String.class)).isEqualTo("PUBLIC");
+            try (Connection connection = pooled.getConnection()) {
+                assertThat(connection.getSchema()).isEqualTo("PUBLIC");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar ids de tenant inválidos y esquemas repetidos")
+    void shouldValidateTenantConfiguration() {
+        assertThatThrownBy(() -> registry(Map.of("Acme", new TenancyProperties.TenantSettings(null, null, null, null))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> registry(Map.of(
+                "acme", new TenancyProperties.TenantSettings("T_X", null, null, null),
+                "globex", new TenancyProperties.TenantSettings("T_X", null, null, null))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("T_X");
+        assertThat(registry(Map.of("acme-sur", new TenancyProperties.TenantSettings(null, null, null, null)))
+                .find("acme-sur")).hasValueSatisfying(tenant -> assertThat(tenant.schema()).isEqualTo("T_ACME_SUR"));
+    }
+
+    private Tenant tenant(String id) {
+        return tenantRegistry.find(id).orElseThrow();
+    }
+
+    private static TenantRegistry registry(Map<String, TenancyProperties.TenantSettings> tenants) {
+        return new TenantRegistry(new TenancyProperties(true, "X-Tenant-ID", null, 4, Duration.ofSeconds(2),
+                1000, true, tenants));
+    }
+}
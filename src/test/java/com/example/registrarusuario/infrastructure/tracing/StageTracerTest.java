@@ -0,0 +1,135 @@
+package com.example.registrarusuario.infrastructure.tracing;
+
+import com.example.registrarusuario.domain.port.out.UserRepositoryPort;
+import com.example.registrarusuario.infrastructure.profiling.RequestStageEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.FilterChain;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("StageTracer Tests")
+class StageTracerTest {
+
+    private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+    private ObservationRegistry registry;
+    private StageTracer stageTracer;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        stageTracer = new StageTracer(registry, true);
+    }
+
+    @Test
+    @DisplayName("Debe registrar cada llamada a un puerto como una observación con su etapa")
+    void shouldObservePortCalls() {
+        UserRepositoryPort repository = mock(UserRepositoryPort.class);
+        when(repository.existsByEmail("juan@rodriguez.org")).thenReturn(true);
+
+        boolean exists = new TracedUserRepositoryPort(repository, stageTracer).existsByEmail("juan@rodriguez.org");
+
+        assertThat(exists).isTrue();
+        assertThat(stopped).singleElement().satisfies(context -> {
+            assertThat(context.getName()).isEqualTo(StageTracer.OBSERVATION_NAME);
+            assertThat(context.getContextualName()).isEqualTo("exists-by-email");
+            assertThat(context.getLowCardinalityKeyValue("stage").getValue()).isEqualTo("exists-by-email");
+        });
+    }
+
+    @Test
+    @DisplayName("Debe propagar la excepción de la etapa y registrarla en la observación")
+    void shouldRecordStageErrors() {
+        assertThatThrownBy(() -> stageTracer.trace("save", () -> {
+            throw new IllegalStateException("fallo");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(stopped).singleElement()
+                .satisfies(context -> assertThat(context.getError()).hasMessage("fallo"));
+    }
+
+    @Test
+    @DisplayName("Debe emitir el evento JFR de la etapa aunque las observaciones estén deshabilitadas")
+    void shouldEmitJfrEventWithoutObservations() throws Exception {
+        StageTracer jfrOnly = new StageTracer(registry, false);
+        Path dump = tempDir.resolve("stages.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(RequestStageEvent.NAME);
+            recording.start();
+            assertThat(jfrOnly.trace("save", () -> "ok")).isEqualTo("ok");
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        assertThat(stopped).isEmpty();
+        assertThat(RecordingFile.readAllEvents(dump))
+                .filteredOn(event -> event.getEventType().getName().equals(RequestStageEvent.NAME))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("stage")).isEqualTo("save");
+                    assertThat(event.getBoolean("failed")).isFalse();
+                });
+    }
+
+    @Test
+    @DisplayName("Debe agregar Server-Timing con las etapas medidas antes del cuerpo")
+    void shouldWriteServerTimingHeader() throws Exception {
+        FilterChain chain = (request, response) -> {
+            stageTracer.trace("exists-by-email", () -> true);
+            stageTracer.trace("validation-port", () -> true);
+            stageTracer.trace("validation-port", () -> true);
+            response.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter().doFilter(new MockHttpServletRequest("POST", "/api/users/register"), response, chain);
+
+        assertThat(response.getHeader(ServerTimingFilter.HEADER))
+                .matches("exists-by-email;dur=\\d+\\.\\d{3}, validation-port;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}");
+    }
+
+    @Test
+    @DisplayName("No debe acumular tiempos fuera de una solicitud con Server-Timing")
+    void shouldIgnoreTimingsOutsideFilter() {
+        stageTracer.trace("save", () -> true);
+
+        ServerTimings timings = ServerTimings.begin();
+        try {
+            assertThat(timings.headerValue()).startsWith("total;dur=");
+        } finally {
+            ServerTimings.end();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.registrarusuario.infrastructure.warmup;
+
+import com.example.registrarusuario.infrastructure.persistence.shard.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.warmup.iterations=20",
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].name=shard-0",
+        "app.sharding.shards[0].url=jdbc:h2:mem:warmup-shard0;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[0].password=",
+        "app.sharding.shards[1].name=shard-1",
+        "app.sharding.shards[1].url=jdbc:h2:mem:warmup-shard1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[1].password="
+})
+@DisplayName("StartupWarmup con sharding")
+class ShardedStartupWarmupTest {
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("No debe dejar usuarios sintéticos en ningún shard")
+    void shouldNotLeaveSyntheticUsersInShards() {
+        assertThat(meterRegistry.get("app.warmup").timer().count()).isEqualTo(1);
+
+        assertThat(shardRouter.shards()).allSatisfy(shard -> {
+            assertThat(shard.jdbc().queryForObject("SELECT COUNT(*) FROM users", Integer.class)).isZero();
+            assertThat(shard.jdbc().queryForObject("SELECT COUNT(*) FROM phones", Integer.class)).isZero();
+        });
+    }
+}